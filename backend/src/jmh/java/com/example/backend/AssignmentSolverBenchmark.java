@@ -0,0 +1,63 @@
+package com.example.backend;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Latency of a progress report with and without the assignment search, on a
+ * sample transcript behind a synthetic transfer history of
+ * {@code transferCourses} courses. Sampled, so the output includes p99. A
+ * {@code budgetMillis} of 0 is the plain in-order matching.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="AssignmentSolverBenchmark"
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssignmentSolverBenchmark {
+
+    private static final String[] TRANSFER_DEPARTMENTS = { "CSC", "MTH", "ECO", "ENG", "HIS", "BIO", "PHY", "ART", "PSY", "SOC" };
+
+    @Param({ "0", "200", "1000" })
+    public int transferCourses;
+
+    @Param({ "0", "20" })
+    public int budgetMillis;
+
+    private Student student;
+
+    @Setup
+    public void load() throws Exception {
+        RequirementsCatalog catalog = RequirementsCatalog.load("src/main/resources/Major-Requirements.xlsx",
+                "src/main/resources/Minor-Requirements.xlsx");
+        ArrayList<Concentration> majors = new ArrayList<>(List.of(new Concentration(false, "Computer Science", catalog),
+                new Concentration(false, "Managerial Economics", catalog)));
+        ArrayList<Concentration> minors = new ArrayList<>(List.of(new Concentration(true, "Mathematics", catalog)));
+
+        List<Course> courses = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < transferCourses; i++) {
+            String code = TRANSFER_DEPARTMENTS[random.nextInt(TRANSFER_DEPARTMENTS.length)] + "-" + (100 + random.nextInt(400));
+            courses.add(new Course(null, null, code, "Transfer " + i, new ArrayList<>(), 4, "T"));
+        }
+        try (InputStream pdf = new FileInputStream(LineClassifierBenchmark.SAMPLE_TRANSCRIPTS[0])) {
+            courses.addAll(PDFParser.parseTranscript(pdf));
+        }
+        student = Driver.generatePlanner(courses, majors, minors);
+        student.setAssignmentBudget(Duration.ofMillis(budgetMillis));
+    }
+
+    @Benchmark
+    public String progressString() {
+        return student.getProgressString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.backend;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Inputs shared by the stage benchmarks: the transcripts and requirement
+ * workbooks bundled in src/main/resources, and synthetic ones generated at a
+ * given size. Synthetic transcripts come from {@link SyntheticData} with a
+ * fixed seed, so every run measures the same input; synthetic catalogs repeat
+ * the real requirement rows under new concentration names. Generated files
+ * are written to temporary files that are deleted when the JVM exits.
+ */
+final class BenchmarkFixtures {
+
+    static final String RESOURCES = "src/main/resources/";
+    static final String MAJOR_REQUIREMENTS = RESOURCES + "Major-Requirements.xlsx";
+    static final String MINOR_REQUIREMENTS = RESOURCES + "Minor-Requirements.xlsx";
+    static final String FULL_TRANSCRIPT = RESOURCES + "Full Transcript.xlsx";
+    static final String EMPTY_TRANSCRIPT = RESOURCES + "Empty Transcript.xlsx";
+
+    // The concentrations every evaluation benchmark uses: a double major and a minor
+    static final List<String> MAJORS = List.of("Computer Science", "Managerial Economics");
+    static final List<String> MINORS = List.of("Mathematics");
+
+    private static final long SEED = 42;
+    private static final String SAMPLE = "sample-";
+    private static final String SYNTHETIC = "synthetic-";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Returns the path of a transcript workbook: "full" and "empty" are the
+     * bundled ones, and "synthetic-N" is generated with N random courses.
+     */
+    static String transcript(String name) throws IOException {
+        return switch (name) {
+            case "full" -> FULL_TRANSCRIPT;
+            case "empty" -> EMPTY_TRANSCRIPT;
+            default -> writeTranscript(syntheticCourses(syntheticSize(name)));
+        };
+    }
+
+    /**
+     * Returns the path of a transcript PDF: "sample-N" is the Nth bundled
+     * sample, and "synthetic-N" is generated with N courses.
+     */
+    static String transcriptPdf(String name) throws IOException {
+        if (name.startsWith(SAMPLE)) {
+            return LineClassifierBenchmark.SAMPLE_TRANSCRIPTS[Integer.parseInt(name.substring(SAMPLE.length()))];
+        }
+        SyntheticData data = new SyntheticData(SEED);
+        File file = File.createTempFile("transcript", ".pdf");
+        file.deleteOnExit();
+        Files.write(file.toPath(), data.transcriptPdf(data.transcript(syntheticSize(name))));
+        return file.getPath();
+    }
+
+    /**
+     * Returns {@code count} courses from {@link SyntheticData#transcript}:
+     * transfer credit and four courses a term, with random grades and types.
+     */
+    static List<Course> syntheticCourses(int count) {
+        return new SyntheticData(SEED).transcript(count);
+    }
+
+    /**
+     * Writes courses to a temporary transcript workbook in the layout
+     * {@link Driver#readCourses} reads, and returns its path.
+     */
+    static String writeTranscript(List<Course> courses) throws IOException {
+        return write(PDFParser.createWorkbook(courses), "transcript");
+    }
+
+    /**
+     * Writes a requirements workbook holding {@code copies} copies of every
+     * requirement row in {@code sourcePath}, and returns its path. The first
+     * copy keeps the real concentration names, so the same majors and minors
+     * can be looked up at every size; later copies get " (n)" appended.
+     */
+    static String syntheticRequirements(String sourcePath, int copies) throws IOException {
+        Sheet source = new SheetGenerator(sourcePath).getSheet();
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("requirements");
+        copyRow(source.getRow(0), sheet.createRow(0), null);
+        int rowNum = 1;
+        for (int copy = 0; copy < copies; copy++) {
+            String suffix = copy == 0 ? null : " (" + copy + ")";
+            for (Row row : source) {
+                if (row.getRowNum() > 0 && row.getCell(0) != null) {
+                    copyRow(row, sheet.createRow(rowNum++), suffix);
+                }
+            }
+        }
+        return write(workbook, "requirements");
+    }
+
+    static ArrayList<Concentration> majors(RequirementsCatalog catalog) {
+        ArrayList<Concentration> majors = new ArrayList<>();
+        for (String name : MAJORS) {
+            majors.add(new Concentration(false, name, catalog));
+        }
+        return majors;
+    }
+
+    static ArrayList<Concentration> minors(RequirementsCatalog catalog) {
+        ArrayList<Concentration> minors = new ArrayList<>();
+        for (String name : MINORS) {
+            minors.add(new Concentration(true, name, catalog));
+        }
+        return minors;
+    }
+
+    private static int syntheticSize(String name) {
+        if (!name.startsWith(SYNTHETIC)) {
+            throw new IllegalArgumentException("Unknown transcript " + name);
+        }
+        return Integer.parseInt(name.substring(SYNTHETIC.length()));
+    }
+
+    private static void copyRow(Row from, Row to, String nameSuffix) {
+        for (Cell cell : from) {
+            Cell copy = to.createCell(cell.getColumnIndex());
+            switch (cell.getCellType()) {
+                case NUMERIC -> copy.setCellValue(cell.getNumericCellValue());
+                case BOOLEAN -> copy.setCellValue(cell.getBooleanCellValue());
+                case STRING -> copy.setCellValue(cell.getColumnIndex() == 0 && nameSuffix != null
+                        ? cell.getStringCellValue().trim() + nameSuffix
+                        : cell.getStringCellValue());
+                default -> copy.setBlank();
+            }
+        }
+    }
+
+    private static String write(Workbook workbook, String prefix) throws IOException {
+        File file = File.createTempFile(prefix, ".xlsx");
+        file.deleteOnExit();
+        try (workbook; FileOutputStream out = new FileOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file.getPath();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Loading the requirements catalog and looking up concentrations in it. The
+ * catalog workbooks are the bundled ones repeated {@code copies} times under
+ * new concentration names, so a copies of 1 is the real catalog and larger
+ * values show how loading scales with the number of concentrations. Reports
+ * throughput and sampled latency percentiles; the gc profiler the benchmark
+ * profile runs with adds the allocation rate.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="CatalogLoadingBenchmark"
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogLoadingBenchmark {
+
+    @Param({ "1", "20" })
+    public int copies;
+
+    private String majorRequirements;
+    private String minorRequirements;
+    private RequirementsCatalog catalog;
+
+    @Setup
+    public void load() throws Exception {
+        majorRequirements = BenchmarkFixtures.syntheticRequirements(BenchmarkFixtures.MAJOR_REQUIREMENTS, copies);
+        minorRequirements = BenchmarkFixtures.syntheticRequirements(BenchmarkFixtures.MINOR_REQUIREMENTS, copies);
+        catalog = RequirementsCatalog.load(majorRequirements, minorRequirements);
+    }
+
+    @Benchmark
+    public RequirementsCatalog loadCatalog() {
+        return RequirementsCatalog.load(majorRequirements, minorRequirements);
+    }
+
+    /**
+     * Building the double major and minor from a loaded catalog.
+     */
+    @Benchmark
+    public void createConcentrations(Blackhole blackhole) {
+        ArrayList<Concentration> majors = BenchmarkFixtures.majors(catalog);
+        ArrayList<Concentration> minors = BenchmarkFixtures.minors(catalog);
+        blackhole.consume(majors);
+        blackhole.consume(minors);
+    }
+}
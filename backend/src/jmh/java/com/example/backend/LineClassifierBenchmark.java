@@ -0,0 +1,121 @@
+package com.example.backend;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lines per second for transcript line classification, comparing the old
+ * String.matches checks against {@link PDFParser#classify}. The corpus is
+ * every column line of the sample transcripts in src/main/resources.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="LineClassifierBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LineClassifierBenchmark {
+
+    static final String[] SAMPLE_TRANSCRIPTS = {
+        "src/main/resources/Secrist_Liam_2686252_2_14_2025.pdf",
+        "src/main/resources/Cavalluzzi_Annie_2687199_2_24_2025.pdf"
+    };
+
+    private static final int CORPUS_SIZE = 1024;
+
+    // The patterns PDFParser matched with String.matches before the classifier
+    private static final String COURSE_LINE_REGEX = "^[A-Z]{3} \\d{3}[A-Z]? .*";
+    private static final String TERM_HEADER_REGEX = ".*Term \\d{4}.*";
+    private static final String COURSE_TYPE_REGEX = "^[A-Z-]{3,6}$";
+
+    private String[] corpus;
+    private List<String> corpusList;
+
+    @Setup
+    public void loadCorpus() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (String path : SAMPLE_TRANSCRIPTS) {
+            try (PDDocument document = PDDocument.load(new File(path))) {
+                String text = new PDFTextStripper().getText(document);
+                PDFParser.reorderColumns(text, lines, lines);
+            }
+        }
+        corpus = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            corpus[i] = lines.get(i % lines.size());
+        }
+        corpusList = List.of(corpus);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void regexMatches(Blackhole bh) {
+        for (String line : corpus) {
+            bh.consume(line.trim().matches(COURSE_LINE_REGEX) || line.trim().matches(TERM_HEADER_REGEX)
+                    || line.trim().matches(COURSE_TYPE_REGEX));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public void classifier(Blackhole bh) {
+        for (String line : corpus) {
+            bh.consume(PDFParser.classify(line));
+        }
+    }
+
+    /**
+     * The old filterNecessaryLines and associateCourseTypes passes, which
+     * matched each kept line against the patterns again.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public List<String> regexPipeline() {
+        List<String> necessaryLines = new ArrayList<>();
+        for (String line : corpusList) {
+            if (line.trim().matches(COURSE_LINE_REGEX) || line.trim().matches(TERM_HEADER_REGEX)
+                    || line.trim().matches(COURSE_TYPE_REGEX)) {
+                necessaryLines.add(line);
+            }
+        }
+
+        List<String> structuredLines = new ArrayList<>();
+        String lastCourse = null;
+        for (String line : necessaryLines) {
+            if (line.trim().matches(COURSE_LINE_REGEX)) {
+                if (lastCourse != null) {
+                    structuredLines.add(lastCourse);
+                }
+                lastCourse = line.trim();
+            } else if (line.trim().matches(COURSE_TYPE_REGEX)) {
+                if (lastCourse != null) {
+                    lastCourse += " " + line.trim();
+                }
+            } else {
+                if (lastCourse != null) {
+                    structuredLines.add(lastCourse);
+                    lastCourse = null;
+                }
+                structuredLines.add(line.trim());
+            }
+        }
+        if (lastCourse != null) {
+            structuredLines.add(lastCourse);
+        }
+        return structuredLines;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CORPUS_SIZE)
+    public List<TranscriptLine> classifierPipeline() {
+        return PDFParser.associateCourseTypes(PDFParser.classifyLines(corpusList));
+    }
+}
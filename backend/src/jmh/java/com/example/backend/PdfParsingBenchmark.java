@@ -0,0 +1,67 @@
+package com.example.backend;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parsing each sample transcript PDF and a generated one of 200 courses:
+ * straight into courses, as uploads are, and through
+ * {@link PDFParser#processPDF} into a transcript workbook on disk. Reports throughput and sampled latency percentiles; the gc profiler
+ * the benchmark profile runs with adds the allocation rate.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="PdfParsingBenchmark"
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PdfParsingBenchmark {
+
+    @Param({ "sample-0", "sample-1", "synthetic-200" })
+    public String transcript;
+
+    private String path;
+    private byte[] pdf;
+    private String outputPath;
+    private PrintStream stdout;
+
+    @Setup
+    public void load() throws Exception {
+        path = BenchmarkFixtures.transcriptPdf(transcript);
+        pdf = Files.readAllBytes(Paths.get(path));
+        File output = File.createTempFile("transcript", ".xlsx");
+        output.deleteOnExit();
+        outputPath = output.getPath();
+
+        // processPDF reports every sheet it writes on System.out
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void restoreOutput() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public List<Course> parseTranscript() throws Exception {
+        return PDFParser.parseTranscript(new ByteArrayInputStream(pdf));
+    }
+
+    /**
+     * The transcript read from disk and written back out as a workbook.
+     */
+    @Benchmark
+    public void processPDF() {
+        PDFParser.processPDF(path, outputPath);
+    }
+}
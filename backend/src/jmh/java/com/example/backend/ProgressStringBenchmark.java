@@ -0,0 +1,51 @@
+package com.example.backend;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One full progress report for each sample transcript in src/main/resources,
+ * against a Computer Science and Managerial Economics double major with a
+ * Mathematics minor. Run it with the gc profiler to see what a report
+ * allocates; grade checks sit in the innermost matching loops, so they show
+ * up there first.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="ProgressStringBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProgressStringBenchmark {
+
+    @Param({ "0", "1" })
+    public int transcript;
+
+    private Student student;
+
+    @Setup
+    public void load() throws Exception {
+        RequirementsCatalog catalog = RequirementsCatalog.load("src/main/resources/Major-Requirements.xlsx",
+                "src/main/resources/Minor-Requirements.xlsx");
+        ArrayList<Concentration> majors = new ArrayList<>(List.of(new Concentration(false, "Computer Science", catalog),
+                new Concentration(false, "Managerial Economics", catalog)));
+        ArrayList<Concentration> minors = new ArrayList<>(List.of(new Concentration(true, "Mathematics", catalog)));
+
+        List<Course> courses;
+        try (InputStream pdf = new FileInputStream(LineClassifierBenchmark.SAMPLE_TRANSCRIPTS[transcript])) {
+            courses = PDFParser.parseTranscript(pdf);
+        }
+        student = Driver.generatePlanner(courses, majors, minors);
+    }
+
+    @Benchmark
+    public String progressString() {
+        return student.getProgressString();
+    }
+}
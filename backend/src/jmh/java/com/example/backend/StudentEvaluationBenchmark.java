@@ -0,0 +1,70 @@
+package com.example.backend;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Time to evaluate a double major and a minor for one student, from building
+ * the Student to rendering its progress. The transcript is a sample PDF with
+ * a synthetic transfer history of {@code transferCourses} courses in front of
+ * it, to show how evaluation scales with transcript length. {@code evaluate}
+ * includes indexing the student's courses; {@code reevaluate} reuses them.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="StudentEvaluationBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentEvaluationBenchmark {
+
+    private static final String[] TRANSFER_DEPARTMENTS = { "CSC", "MTH", "ECO", "ENG", "HIS", "BIO", "PHY", "ART", "PSY", "SOC" };
+
+    @Param({ "0", "200", "1000" })
+    public int transferCourses;
+
+    private List<Course> courses;
+    private ArrayList<Concentration> majors;
+    private ArrayList<Concentration> minors;
+    private Student student;
+
+    @Setup
+    public void load() throws Exception {
+        RequirementsCatalog catalog = RequirementsCatalog.load("src/main/resources/Major-Requirements.xlsx",
+                "src/main/resources/Minor-Requirements.xlsx");
+        majors = new ArrayList<>(List.of(new Concentration(false, "Computer Science", catalog),
+                new Concentration(false, "Managerial Economics", catalog)));
+        minors = new ArrayList<>(List.of(new Concentration(true, "Mathematics", catalog)));
+
+        courses = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < transferCourses; i++) {
+            String code = TRANSFER_DEPARTMENTS[random.nextInt(TRANSFER_DEPARTMENTS.length)] + "-" + (100 + random.nextInt(400));
+            courses.add(new Course(null, null, code, "Transfer " + i, new ArrayList<>(), 4, "T"));
+        }
+        try (InputStream pdf = new FileInputStream(LineClassifierBenchmark.SAMPLE_TRANSCRIPTS[0])) {
+            courses.addAll(PDFParser.parseTranscript(pdf));
+        }
+        student = Driver.generatePlanner(courses, majors, minors);
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return Driver.generatePlanner(courses, majors, minors).getProgressString();
+    }
+
+    /**
+     * Requirement matching alone, for a student evaluated before.
+     */
+    @Benchmark
+    public String reevaluate() {
+        return student.getProgressString();
+    }
+}
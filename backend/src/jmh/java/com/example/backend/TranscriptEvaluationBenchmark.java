@@ -0,0 +1,67 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The stages from a transcript workbook to a progress report, for the bundled
+ * full and empty transcripts and for synthetic ones of 500 and 5000 courses:
+ * reading the workbook, building the Student with
+ * {@link Driver#generatePlanner}, and evaluating and rendering its progress
+ * with {@link Student#getProgressString}. Each stage is measured on its own,
+ * against a Computer Science and Managerial Economics double major with a
+ * Mathematics minor. Reports throughput and sampled latency percentiles; the
+ * gc profiler the benchmark profile runs with adds the allocation rate.
+ *
+ * <p>Run with: mvn -P benchmark test-compile exec:exec -Djmh.args="TranscriptEvaluationBenchmark"
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranscriptEvaluationBenchmark {
+
+    @Param({ "full", "empty", "synthetic-500", "synthetic-5000" })
+    public String transcript;
+
+    private String path;
+    private List<Course> courses;
+    private ArrayList<Concentration> majors;
+    private ArrayList<Concentration> minors;
+
+    @Setup
+    public void load() throws Exception {
+        RequirementsCatalog catalog = RequirementsCatalog.load(BenchmarkFixtures.MAJOR_REQUIREMENTS,
+                BenchmarkFixtures.MINOR_REQUIREMENTS);
+        majors = BenchmarkFixtures.majors(catalog);
+        minors = BenchmarkFixtures.minors(catalog);
+        path = BenchmarkFixtures.transcript(transcript);
+        courses = Driver.readCourses(path);
+    }
+
+    @Benchmark
+    public List<Course> readCourses() {
+        return Driver.readCourses(path);
+    }
+
+    /**
+     * Reading the workbook and building the Student, without evaluating it.
+     */
+    @Benchmark
+    public Student generatePlanner() {
+        return Driver.generatePlanner(path, majors, minors);
+    }
+
+    /**
+     * Evaluating and rendering a fresh Student, so nothing from an earlier
+     * evaluation is reused.
+     */
+    @Benchmark
+    public String progressString() {
+        return Driver.generatePlanner(courses, majors, minors).getProgressString();
+    }
+}
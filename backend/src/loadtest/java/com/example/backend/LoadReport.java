@@ -0,0 +1,211 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Latencies and errors recorded by a load test, per endpoint, and the SLO
+ * thresholds they are checked against. Each worker records into its own
+ * report and the reports are merged at the end, so recording takes no locks.
+ */
+final class LoadReport {
+
+    /**
+     * A threshold on one endpoint, such as "student-progress.p99<=250ms" or
+     * "*.errors<=1%". The endpoint "*" applies it to every endpoint.
+     */
+    record Slo(String endpoint, String metric, double limit) {
+
+        static List<Slo> parseAll(String spec) {
+            List<Slo> slos = new ArrayList<>();
+            for (String part : spec.split(",")) {
+                if (!part.isBlank()) {
+                    slos.add(parse(part.trim()));
+                }
+            }
+            return slos;
+        }
+
+        static Slo parse(String spec) {
+            int le = spec.indexOf("<=");
+            int dot = le < 0 ? -1 : spec.lastIndexOf('.', le);
+            if (dot < 0) {
+                throw new IllegalArgumentException("SLO must look like endpoint.metric<=limit: " + spec);
+            }
+            String endpoint = spec.substring(0, dot);
+            String metric = spec.substring(dot + 1, le);
+            String limit = spec.substring(le + 2).trim();
+            if (metric.equals("errors")) {
+                return new Slo(endpoint, metric, limit.endsWith("%")
+                        ? Double.parseDouble(limit.substring(0, limit.length() - 1)) / 100
+                        : Double.parseDouble(limit));
+            }
+            if (!metric.matches("p50|p95|p99|max")) {
+                throw new IllegalArgumentException("Unknown SLO metric " + metric + " in " + spec);
+            }
+            return new Slo(endpoint, metric, DurationStyle.detectAndParse(limit).toNanos());
+        }
+    }
+
+    /**
+     * The latencies of one endpoint's requests, in nanoseconds, and how many
+     * of them failed.
+     */
+    static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Stats other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        double errorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        /**
+         * Returns the nearest-rank percentile, sorting the latencies first if
+         * they are not already.
+         */
+        long percentile(double p) {
+            if (count == 0) {
+                return 0;
+            }
+            Arrays.sort(latencies, 0, count);
+            int rank = (int) Math.ceil(p / 100 * count);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+
+        double metric(String name) {
+            return switch (name) {
+                case "errors" -> errorRate();
+                case "p50" -> percentile(50);
+                case "p95" -> percentile(95);
+                case "p99" -> percentile(99);
+                case "max" -> percentile(100);
+                default -> throw new IllegalArgumentException("Unknown SLO metric " + name);
+            };
+        }
+    }
+
+    private final Map<LoadTest.Endpoint, Stats> stats = new EnumMap<>(LoadTest.Endpoint.class);
+
+    void record(LoadTest.Endpoint endpoint, long latency, boolean ok) {
+        stats.computeIfAbsent(endpoint, e -> new Stats()).add(latency, ok);
+    }
+
+    void merge(LoadReport other) {
+        other.stats.forEach((endpoint, s) -> stats.computeIfAbsent(endpoint, e -> new Stats()).addAll(s));
+    }
+
+    /**
+     * Checks every SLO and returns the ones that failed. An SLO on an
+     * endpoint that saw no requests is skipped.
+     */
+    List<String> check(List<Slo> slos, StringBuilder out) {
+        List<String> failures = new ArrayList<>();
+        for (Slo slo : slos) {
+            for (Map.Entry<LoadTest.Endpoint, Stats> entry : stats.entrySet()) {
+                String name = entry.getKey().label();
+                if (!slo.endpoint().equals("*") && !slo.endpoint().equals(name)) {
+                    continue;
+                }
+                double actual = entry.getValue().metric(slo.metric());
+                boolean pass = actual <= slo.limit();
+                String line = String.format(Locale.ROOT, "%s  %s.%s <= %s (actual %s)", pass ? "PASS" : "FAIL", name,
+                        slo.metric(), format(slo.metric(), slo.limit()), format(slo.metric(), actual));
+                out.append(line).append('\n');
+                if (!pass) {
+                    failures.add(line);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Renders one row per endpoint: requests, error rate, throughput over the
+     * measured duration and latency percentiles.
+     */
+    String table(Duration duration) {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-18s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50", "p95", "p99", "max"));
+        stats.forEach((endpoint, s) -> out.append(String.format(Locale.ROOT, "%-18s %9d %7s %9.1f %9s %9s %9s %9s%n",
+                endpoint.label(), s.count(), percent(s.errorRate()), s.count() / seconds(duration),
+                millis(s.percentile(50)), millis(s.percentile(95)), millis(s.percentile(99)), millis(s.percentile(100)))));
+        return out.toString();
+    }
+
+    /**
+     * Writes the same figures as {@link #table} as JSON, latencies in
+     * milliseconds, so runs can be compared.
+     */
+    void writeJson(Path path, Map<String, Object> settings, Duration duration, List<String> failures) throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, s) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("requests", s.count());
+            row.put("errorRate", s.errorRate());
+            row.put("throughput", s.count() / seconds(duration));
+            row.put("p50", s.percentile(50) / 1e6);
+            row.put("p95", s.percentile(95) / 1e6);
+            row.put("p99", s.percentile(99) / 1e6);
+            row.put("max", s.percentile(100) / 1e6);
+            endpoints.put(endpoint.label(), row);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("endpoints", endpoints);
+        report.put("sloFailures", failures);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    private static String format(String metric, double value) {
+        return metric.equals("errors") ? percent(value) : millis((long) value);
+    }
+
+    private static String percent(double rate) {
+        return String.format(Locale.ROOT, "%.1f%%", rate * 100);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1e6);
+    }
+}
@@ -0,0 +1,454 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Replays a mix of advising traffic against the /api endpoints and reports
+ * throughput, error rate and p50/p95/p99 latency per endpoint, failing if any
+ * SLO threshold is crossed.
+ *
+ * <p>Each of {@code concurrency} simulated users loops for the warmup and
+ * then the measured duration, picking its next request by the weights in
+ * {@code mix}. Requests that need earlier steps do them first, the way the
+ * frontend does: progress needs submitted selections, and selections need
+ * an uploaded transcript. Uploads are timed twice: "upload" is the POST
+ * itself and "upload-job" is the time until the queued job has parsed the
+ * transcript, followed on /api/jobs/{id}/events. Transcripts are the sample
+ * PDFs in src/main/resources plus {@code synthetic} generated ones of
+ * {@code synthetic-courses} courses each.
+ *
+ * <p>With no {@code target} the application is started in this JVM on a
+ * random port; otherwise requests go to the instance at that URL.
+ *
+ * <p>Run with: mvn -P load-test test-compile exec:exec -Dload.args="concurrency=16 duration=2m"
+ *
+ * <p>Settings, as name=value arguments: target, concurrency (8), warmup
+ * (10s), duration (60s), think (0ms), mix
+ * (dropdown-options:4,upload:1,submit-selections:2,student-progress:6),
+ * synthetic (10), synthetic-courses (60), seed (42), slo (see
+ * {@link #DEFAULT_SLO}) and report (target/load-test.json).
+ */
+public final class LoadTest {
+
+    /**
+     * What the report is broken down by: the four replayed endpoints and the
+     * parse job behind each upload.
+     */
+    enum Endpoint {
+        DROPDOWN_OPTIONS("dropdown-options"),
+        UPLOAD("upload"),
+        UPLOAD_JOB("upload-job"),
+        SUBMIT_SELECTIONS("submit-selections"),
+        STUDENT_PROGRESS("student-progress");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+
+        static Endpoint fromLabel(String label) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.label.equals(label)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + label);
+        }
+    }
+
+    static final String DEFAULT_MIX = "dropdown-options:4,upload:1,submit-selections:2,student-progress:6";
+    static final String DEFAULT_SLO = "*.errors<=1%,dropdown-options.p99<=100ms,upload.p95<=500ms,"
+            + "upload-job.p95<=3s,submit-selections.p95<=1s,student-progress.p99<=250ms";
+
+    private static final String SESSION_HEADER = "X-Session-Id";
+    private static final String RESOURCES = "src/main/resources";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<String, String> settings;
+    private final URI base;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<byte[]> transcripts = new ArrayList<>();
+    private final List<String> majors = new ArrayList<>();
+    private final List<String> minors = new ArrayList<>();
+    private final Endpoint[] mix;
+
+    private LoadTest(Map<String, String> settings, URI base) {
+        this.settings = settings;
+        this.base = base;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.mix = parseMix(settings.get("mix"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("target", "");
+        settings.put("concurrency", "8");
+        settings.put("warmup", "10s");
+        settings.put("duration", "60s");
+        settings.put("think", "0ms");
+        settings.put("mix", DEFAULT_MIX);
+        settings.put("synthetic", "10");
+        settings.put("synthetic-courses", "60");
+        settings.put("seed", "42");
+        settings.put("slo", DEFAULT_SLO);
+        settings.put("report", "target/load-test.json");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0 || !settings.containsKey(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Unknown setting " + arg + "; expected one of " + settings.keySet());
+            }
+            settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        List<LoadReport.Slo> slos = LoadReport.Slo.parseAll(settings.get("slo"));
+
+        // The application's own logging would bury the report, so it is
+        // silenced while an in-process server runs
+        PrintStream stdout = System.out;
+        ConfigurableApplicationContext context = null;
+        URI base;
+        if (settings.get("target").isBlank()) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            context = new SpringApplication(BackendApplication.class).run("--server.port=0",
+                    "--spring.main.banner-mode=off", "--logging.level.root=WARN");
+            base = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+        } else {
+            base = URI.create(settings.get("target"));
+        }
+
+        List<String> failures;
+        try {
+            LoadTest test = new LoadTest(settings, base);
+            test.prepare();
+            Duration duration = DurationStyle.detectAndParse(settings.get("duration"));
+            LoadReport report = test.run(DurationStyle.detectAndParse(settings.get("warmup")), duration);
+
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("%nLoad test against %s: %s users, %s measured after %s warmup%n%n", base,
+                    settings.get("concurrency"), settings.get("duration"), settings.get("warmup")));
+            out.append(report.table(duration)).append('\n');
+            failures = report.check(slos, out);
+            report.writeJson(Paths.get(settings.get("report")), new LinkedHashMap<>(settings), duration, failures);
+            stdout.print(out);
+            stdout.println(failures.isEmpty() ? "\nAll SLOs met" : "\n" + failures.size() + " SLO(s) failed");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            System.setOut(stdout);
+        }
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the sample transcripts, generates the synthetic ones and fetches
+     * the major and minor names users pick from.
+     */
+    private void prepare() throws Exception {
+        try (DirectoryStream<Path> pdfs = Files.newDirectoryStream(Paths.get(RESOURCES), "*.pdf")) {
+            for (Path pdf : pdfs) {
+                transcripts.add(Files.readAllBytes(pdf));
+            }
+        }
+        SyntheticData data = new SyntheticData(Long.parseLong(settings.get("seed")));
+        int courses = Integer.parseInt(settings.get("synthetic-courses"));
+        for (int i = Integer.parseInt(settings.get("synthetic")); i > 0; i--) {
+            transcripts.add(data.transcriptPdf(data.transcript(courses)));
+        }
+        if (transcripts.isEmpty()) {
+            throw new IllegalStateException("No transcripts to upload");
+        }
+
+        HttpResponse<String> options = send(get("/api/dropdown-options").build());
+        if (options.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/dropdown-options returned " + options.statusCode());
+        }
+        JsonNode names = mapper.readTree(options.body());
+        names.get("dropdown1").forEach(name -> majors.add(name.asText()));
+        names.get("dropdown2").forEach(name -> minors.add(name.asText()));
+    }
+
+    private LoadReport run(Duration warmup, Duration duration) throws Exception {
+        int concurrency = Integer.parseInt(settings.get("concurrency"));
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long seed = Long.parseLong(settings.get("seed"));
+
+        List<Future<LoadReport>> users = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                User user = new User(new Random(seed + i), measureFrom);
+                users.add(executor.submit(() -> user.run(end)));
+            }
+        }
+        LoadReport report = new LoadReport();
+        for (Future<LoadReport> user : users) {
+            report.merge(user.get());
+        }
+        return report;
+    }
+
+    /**
+     * One simulated student, with its own session and its own report.
+     */
+    private final class User {
+        private final Random random;
+        private final long measureFrom;
+        private final LoadReport report = new LoadReport();
+        private final long think;
+        private String sessionId;
+        private boolean submitted;
+        private String eTag;
+
+        User(Random random, long measureFrom) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.think = DurationStyle.detectAndParse(settings.get("think")).toMillis();
+        }
+
+        LoadReport run(long end) throws InterruptedException {
+            while (System.nanoTime() < end) {
+                switch (mix[random.nextInt(mix.length)]) {
+                    case DROPDOWN_OPTIONS -> dropdownOptions();
+                    case UPLOAD -> upload();
+                    case SUBMIT_SELECTIONS -> {
+                        if (sessionId != null || upload()) {
+                            submitSelections();
+                        }
+                    }
+                    default -> {
+                        if ((sessionId != null || upload()) && (submitted || submitSelections())) {
+                            studentProgress();
+                        }
+                    }
+                }
+                if (think > 0) {
+                    Thread.sleep(think);
+                }
+            }
+            return report;
+        }
+
+        private void dropdownOptions() {
+            // Browsers revalidate their copy, and get a 304 until the catalog changes
+            HttpRequest.Builder request = get("/api/dropdown-options");
+            if (eTag != null) {
+                request.header("If-None-Match", eTag);
+            }
+            timed(Endpoint.DROPDOWN_OPTIONS, request.build(), response -> {
+                if (response.statusCode() == 200) {
+                    eTag = response.headers().firstValue("ETag").orElse(null);
+                }
+                return response.statusCode() == 200 || response.statusCode() == 304;
+            });
+        }
+
+        private boolean upload() {
+            String boundary = "load-test-" + Long.toHexString(random.nextLong());
+            byte[] pdf = transcripts.get(random.nextInt(transcripts.size()));
+            HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/upload"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, pdf)))
+                    .build();
+            String[] jobId = new String[1];
+            long started = System.nanoTime();
+            timed(Endpoint.UPLOAD, request, response -> {
+                if (response.statusCode() != 202) {
+                    return false;
+                }
+                jobId[0] = mapper.readTree(response.body()).path("jobId").asText(null);
+                return jobId[0] != null;
+            });
+            if (jobId[0] == null) {
+                return false;
+            }
+
+            // The events stream sends the job's status on every change and closes once it is finished
+            String[] session = new String[1];
+            HttpRequest events = get("/api/jobs/" + jobId[0] + "/events").timeout(REQUEST_TIMEOUT).build();
+            recordSince(Endpoint.UPLOAD_JOB, started, () -> {
+                HttpResponse<Stream<String>> response = client.send(events, HttpResponse.BodyHandlers.ofLines());
+                try (Stream<String> lines = response.body()) {
+                    Iterator<String> it = lines.iterator();
+                    while (it.hasNext()) {
+                        String line = it.next();
+                        if (line.startsWith("data:")) {
+                            JsonNode status = mapper.readTree(line.substring("data:".length()));
+                            if (status.path("finished").asBoolean()) {
+                                session[0] = status.path("sessionId").asText(null);
+                            }
+                        }
+                    }
+                }
+                return session[0] != null;
+            });
+            if (session[0] == null) {
+                return false;
+            }
+            sessionId = session[0];
+            submitted = false;
+            return true;
+        }
+
+        private boolean submitSelections() {
+            Map<String, List<String>> selections = new LinkedHashMap<>();
+            List<String> picked = new ArrayList<>(List.of(pick(majors)));
+            if (random.nextInt(5) == 0) {
+                picked.add(pick(majors));
+            }
+            selections.put("dropdown1", picked);
+            selections.put("dropdown2", random.nextBoolean() ? List.of(pick(minors)) : List.of());
+            HttpRequest request;
+            try {
+                request = HttpRequest.newBuilder(base.resolve("/api/submit-selections"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .header(SESSION_HEADER, sessionId)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(selections)))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            submitted = timed(Endpoint.SUBMIT_SELECTIONS, request, response -> {
+                if (response.statusCode() == 404) {
+                    // The session was evicted; start over with a new upload
+                    sessionId = null;
+                }
+                return response.statusCode() == 200;
+            });
+            return submitted;
+        }
+
+        private void studentProgress() {
+            HttpRequest request = get("/api/student-progress").header(SESSION_HEADER, sessionId).build();
+            timed(Endpoint.STUDENT_PROGRESS, request, response -> {
+                if (response.statusCode() == 404) {
+                    // The session was evicted; start over with a new upload
+                    sessionId = null;
+                }
+                return response.statusCode() == 200;
+            });
+        }
+
+        private String pick(List<String> names) {
+            return names.get(random.nextInt(names.size()));
+        }
+
+        private boolean timed(Endpoint endpoint, HttpRequest request, ResponseCheck check) {
+            return recordSince(endpoint, System.nanoTime(),
+                    () -> check.ok(client.send(request, HttpResponse.BodyHandlers.ofString())));
+        }
+
+        /**
+         * Runs a request and records its latency from {@code started}, unless
+         * it started during the warmup. A request that throws counts as an
+         * error.
+         */
+        private boolean recordSince(Endpoint endpoint, long started, Exchange exchange) {
+            boolean ok;
+            try {
+                ok = exchange.run();
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ok = false;
+            }
+            if (started >= measureFrom) {
+                report.record(endpoint, System.nanoTime() - started, ok);
+            }
+            return ok;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseCheck {
+        boolean ok(HttpResponse<String> response) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Exchange {
+        boolean run() throws IOException, InterruptedException;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] multipart(String boundary, byte[] pdf) {
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"transcript.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[head.length + pdf.length + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        System.arraycopy(pdf, 0, body, head.length, pdf.length);
+        System.arraycopy(tail, 0, body, head.length + pdf.length, tail.length);
+        return body;
+    }
+
+    /**
+     * Expands "name:weight" pairs into a table to pick from uniformly.
+     */
+    private static Endpoint[] parseMix(String spec) {
+        List<Endpoint> table = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            Endpoint endpoint = Endpoint.fromLabel(pair[0]);
+            if (endpoint == Endpoint.UPLOAD_JOB) {
+                throw new IllegalArgumentException("upload-job follows every upload and has no weight of its own");
+            }
+            for (int i = pair.length > 1 ? Integer.parseInt(pair[1]) : 1; i > 0; i--) {
+                table.add(endpoint);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix " + spec);
+        }
+        return table.toArray(Endpoint[]::new);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational views of the server's in-memory state, for whoever runs it
+ * rather than for students.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final EvaluationCache evaluationCache;
+    private final EvaluationProfiler evaluationProfiler;
+
+    public AdminController(EvaluationCache evaluationCache, EvaluationProfiler evaluationProfiler) {
+        this.evaluationCache = evaluationCache;
+        this.evaluationProfiler = evaluationProfiler;
+    }
+
+    /**
+     * Returns the evaluation cache's size and hit and miss counts.
+     */
+    @GetMapping("/evaluation-cache")
+    public ResponseEntity<EvaluationCache.Stats> getEvaluationCacheStats() {
+        return ResponseEntity.ok(evaluationCache.getStats());
+    }
+
+    /**
+     * Returns the concentrations and requirements that have cost the most to
+     * evaluate since profiling was last reset. Cached reports aren't
+     * evaluated again, so only cache misses are counted.
+     */
+    @GetMapping("/evaluation-profile")
+    public ResponseEntity<EvaluationProfiler.Profile> getEvaluationProfile(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(evaluationProfiler.getProfile(Math.max(limit, 0)));
+    }
+
+    /**
+     * Turns evaluation profiling on or off, keeping what was recorded.
+     */
+    @PutMapping("/evaluation-profile")
+    public ResponseEntity<EvaluationProfiler.Profile> setEvaluationProfiling(@RequestParam boolean enabled) {
+        evaluationProfiler.setEnabled(enabled);
+        return ResponseEntity.ok(evaluationProfiler.getProfile(0));
+    }
+
+    /**
+     * Drops everything profiling has recorded.
+     */
+    @DeleteMapping("/evaluation-profile")
+    public ResponseEntity<Void> resetEvaluationProfile() {
+        evaluationProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
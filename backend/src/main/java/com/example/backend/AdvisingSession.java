@@ -0,0 +1,73 @@
+package com.example.backend;
+
+import java.util.List;
+
+/**
+ * One student's advising state: the courses parsed from their uploaded
+ * transcript and, once selections are submitted, the evaluated Student.
+ * Sessions are immutable; updates go through {@link SessionStore#update} so
+ * the store can keep its memory accounting current.
+ */
+public class AdvisingSession {
+
+    // Rough per-object costs used for memory accounting, in bytes
+    private static final int SESSION_OVERHEAD = 256;
+    private static final int COURSE_OVERHEAD = 120;
+    private static final int CONCENTRATION_OVERHEAD = 96;
+
+    private final String id;
+    private final List<Course> courses;
+    private final Student student;
+    private final long estimatedBytes;
+
+    public AdvisingSession(String id, List<Course> courses) {
+        this(id, List.copyOf(courses), null);
+    }
+
+    private AdvisingSession(String id, List<Course> courses, Student student) {
+        this.id = id;
+        this.courses = courses;
+        this.student = student;
+        this.estimatedBytes = estimateBytes();
+    }
+
+    public AdvisingSession withStudent(Student student) {
+        return new AdvisingSession(id, courses, student);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Returns the evaluated student, or null if no selections were submitted yet.
+     */
+    public Student getStudent() {
+        return student;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private long estimateBytes() {
+        long bytes = SESSION_OVERHEAD + 2L * id.length();
+        for (Course course : courses) {
+            bytes += COURSE_OVERHEAD + 2L * (length(course.getCode()) + length(course.getTitle()) + length(course.getGrade())
+                    + length(course.getTerm()) + length(course.getYear()));
+        }
+        if (student != null) {
+            // The student shares this session's courses and the catalog's requirements
+            bytes += (long) CONCENTRATION_OVERHEAD * (student.getMajors().size() + student.getMinors().size());
+        }
+        return bytes;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
@@ -0,0 +1,448 @@
+package com.example.backend;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Works out which requirement of one concentration each course should be
+ * kept for. Requirement matching in {@link Student} is greedy: requirements
+ * are filled in sheet order and each takes the first courses that fit, so an
+ * early requirement can use up a course that a later one had no substitute
+ * for. This solver models the concentration as a flow network, with a unit
+ * of flow from each course to a slot of a requirement it can fill, and finds
+ * a maximum flow. The courses that carry flow to a requirement are reserved
+ * for it.
+ *
+ * <p>The network is an approximation of the rules in {@link Student}: number
+ * requirements become slots for courses at or above each level, type
+ * requirements become slots for courses of that type, and a sequence
+ * requirement contributes the sequences of one choice from
+ * {@link #sequenceChoices()}. Callers evaluate each reservation with the
+ * usual matching and keep whichever result is best, so the greedy result is
+ * never made worse.
+ *
+ * <p>All work stops at the deadline given to the constructor; after that
+ * {@link #reserve} returns null.
+ */
+public class AssignmentSolver {
+
+    /**
+     * How long a progress report may spend looking for a better assignment
+     * than the greedy one.
+     */
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofMillis(20);
+
+    // Combinations of sequence choices tried, across all sequence requirements
+    private static final int MAX_SEQUENCE_CHOICES = 64;
+
+    static final int UNRESERVED = -1;
+
+    private static final int SOURCE = 0;
+    private static final int SINK = 1;
+    private static final int FIRST_COURSE_NODE = 2;
+
+    /**
+     * Slots of one requirement that a set of courses can fill. For a
+     * sequence requirement, {@code sequence} is the sub-requirement the slots
+     * belong to; otherwise it is -1.
+     */
+    private record SlotGroup(int capacity, int[] positions, int sequence) {
+    }
+
+    private final CourseIndex index;
+    private final List<Requirement> reqs;
+    private final long deadline;
+    private final List<List<SlotGroup>> slotGroups;
+    private final boolean[] completable;
+    private final int completableCount;
+
+    public AssignmentSolver(CourseIndex index, List<Requirement> reqs, long deadlineNanos) {
+        this.index = index;
+        this.reqs = reqs;
+        this.deadline = deadlineNanos;
+        this.slotGroups = new ArrayList<>(reqs.size());
+        for (Requirement req : reqs) {
+            slotGroups.add(req.isSeq() ? sequenceSlots(req) : slots(req));
+        }
+
+        this.completable = new boolean[reqs.size()];
+        int count = 0;
+        for (int r = 0; r < reqs.size(); r++) {
+            completable[r] = reqs.get(r).isSeq() ? completableSequences(r) >= reqs.get(r).getNumNeeded()
+                    : acceptablePositions(reqs.get(r)).length >= reqs.get(r).getNumNeeded();
+            count += completable[r] ? 1 : 0;
+        }
+        this.completableCount = count;
+    }
+
+    /**
+     * Returns whether there are enough courses the requirement would accept
+     * that it could be completed if it had them all to itself. No assignment
+     * completes the others.
+     */
+    public boolean isCompletable(int requirement) {
+        return completable[requirement];
+    }
+
+    /**
+     * Returns how many requirements could each be completed on their own,
+     * which bounds how many any assignment completes.
+     */
+    public int getCompletableCount() {
+        return completableCount;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Returns the ways of choosing which sequences each sequence requirement
+     * is satisfied with, as one bitmask of chosen sub-requirements per
+     * requirement (0 for requirements without sequences). Only the first
+     * {@value #MAX_SEQUENCE_CHOICES} combinations are returned.
+     */
+    public List<int[]> sequenceChoices() {
+        List<int[]> choices = new ArrayList<>();
+        choices.add(new int[reqs.size()]);
+        for (int r = 0; r < reqs.size(); r++) {
+            Requirement req = reqs.get(r);
+            if (!req.isSeq()) {
+                continue;
+            }
+            // Only choose among sequences the courses could complete, if there are enough
+            int allowed = (1 << req.getSequences().size()) - 1;
+            if (completable[r]) {
+                allowed = 0;
+                for (SlotGroup group : slotGroups.get(r)) {
+                    if (group.positions().length >= group.capacity()) {
+                        allowed |= 1 << group.sequence();
+                    }
+                }
+            }
+            List<Integer> masks = subsets(allowed, Math.min(req.getNumNeeded(), req.getSequences().size()));
+            List<int[]> next = new ArrayList<>();
+            for (int[] choice : choices) {
+                for (int mask : masks) {
+                    if (next.size() == MAX_SEQUENCE_CHOICES) {
+                        break;
+                    }
+                    int[] extended = choice.clone();
+                    extended[r] = mask;
+                    next.add(extended);
+                }
+            }
+            choices = next;
+        }
+        return choices;
+    }
+
+    /**
+     * Returns, for every course position, the requirement that a maximum
+     * assignment keeps the course for, or {@link #UNRESERVED}. Requirements
+     * marked as excluded get no slots, which frees their courses for the
+     * others. Returns null if the deadline passed first.
+     */
+    public int[] reserve(int[] sequenceChoice, boolean[] excluded) {
+        FlowNetwork network = new FlowNetwork(FIRST_COURSE_NODE + index.size());
+        List<Integer> slotOwners = new ArrayList<>();
+        boolean[] eligible = new boolean[index.size()];
+
+        for (int r = 0; r < reqs.size(); r++) {
+            if (excluded[r]) {
+                continue;
+            }
+            for (SlotGroup group : slotGroups.get(r)) {
+                if (group.sequence() >= 0 && (sequenceChoice[r] & (1 << group.sequence())) == 0) {
+                    continue;
+                }
+                int node = network.addNode();
+                slotOwners.add(r);
+                network.addEdge(node, SINK, group.capacity());
+                for (int position : group.positions()) {
+                    network.addEdge(FIRST_COURSE_NODE + position, node, 1);
+                    eligible[position] = true;
+                }
+            }
+        }
+        for (int position = 0; position < eligible.length; position++) {
+            if (eligible[position]) {
+                network.addEdge(SOURCE, FIRST_COURSE_NODE + position, 1);
+            }
+        }
+
+        if (!network.maximize(SOURCE, SINK, deadline)) {
+            return null;
+        }
+
+        int firstSlotNode = FIRST_COURSE_NODE + index.size();
+        int[] reservations = new int[index.size()];
+        Arrays.fill(reservations, UNRESERVED);
+        for (int position = 0; position < eligible.length; position++) {
+            if (eligible[position]) {
+                int slot = network.flowTarget(FIRST_COURSE_NODE + position);
+                if (slot >= firstSlotNode) {
+                    reservations[position] = slotOwners.get(slot - firstSlotNode);
+                }
+            }
+        }
+        return reservations;
+    }
+
+    private int completableSequences(int requirement) {
+        int count = 0;
+        for (SlotGroup group : slotGroups.get(requirement)) {
+            if (group.positions().length >= group.capacity()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits a requirement's slots by what fills them. With number
+     * requirements such as "4 (>= 200), 2 (>= 300)", two slots need 300-level
+     * courses and two more need 200-level ones; type requirements get slots
+     * of their own, taken from the highest level when there are number
+     * requirements too. Any slots left over take any matching course.
+     */
+    private List<SlotGroup> slots(Requirement req) {
+        int[] matching = matchingPositions(req);
+        List<SlotGroup> groups = new ArrayList<>();
+        int assigned = 0;
+
+        int[] typeCounts = req.copyTypeCounts();
+        int types = Arrays.stream(typeCounts).sum();
+
+        int[] levels = new int[req.getNumberRequirementCount()];
+        int[] counts = req.copyNumberCounts();
+        Integer[] byLevel = new Integer[levels.length];
+        for (int n = 0; n < levels.length; n++) {
+            levels[n] = req.getNumberLevel(n);
+            byLevel[n] = n;
+        }
+        // Highest level first, so each count only adds what the higher levels don't cover
+        Arrays.sort(byLevel, (a, b) -> Integer.compare(levels[b], levels[a]));
+        int topLevel = byLevel.length > 0 ? levels[byLevel[0]] : Integer.MIN_VALUE;
+
+        int covered = 0;
+        for (int i = 0; i < byLevel.length; i++) {
+            int n = byLevel[i];
+            int capacity = Math.min(counts[n], req.getNumNeeded()) - covered;
+            covered = Math.max(covered, Math.min(counts[n], req.getNumNeeded()));
+            if (i == 0) {
+                // The type slots come out of the highest level
+                capacity -= Math.min(types, capacity);
+            }
+            if (capacity > 0) {
+                groups.add(new SlotGroup(capacity, atLeastLevel(matching, levels[n]), -1));
+                assigned += capacity;
+            }
+        }
+
+        for (int t = 0; t < typeCounts.length; t++) {
+            int capacity = Math.min(typeCounts[t], req.getNumNeeded() - assigned);
+            if (capacity > 0) {
+                groups.add(new SlotGroup(capacity, ofType(atLeastLevel(matching, topLevel), req.getTypeMask(t)), -1));
+                assigned += capacity;
+            }
+        }
+
+        if (req.getNumNeeded() > assigned) {
+            groups.add(new SlotGroup(req.getNumNeeded() - assigned, matching, -1));
+        }
+        return groups;
+    }
+
+    private List<SlotGroup> sequenceSlots(Requirement req) {
+        List<SlotGroup> groups = new ArrayList<>();
+        List<Requirement> sequences = req.getSequences();
+        for (int s = 0; s < sequences.size(); s++) {
+            Requirement sequence = sequences.get(s);
+            List<Integer> positions = new ArrayList<>();
+            for (String code : sequence.getCourseGroups()) {
+                for (int position : index.withCode(code)) {
+                    if (index.get(position).getGradeRank() >= sequence.getMinimumGradeRank()) {
+                        positions.add(position);
+                    }
+                }
+            }
+            groups.add(new SlotGroup(sequence.getNumNeeded(), toSortedArray(positions), s));
+        }
+        return groups;
+    }
+
+    // Courses the requirement's groups accept, with a passing grade and not withdrawn
+    private int[] matchingPositions(Requirement req) {
+        List<Integer> positions = new ArrayList<>();
+        for (int g = 0; g < req.getCourseGroups().size(); g++) {
+            for (int position : index.candidates(req, g)) {
+                Course course = index.get(position);
+                if (course.getGradeRank() >= req.getMinimumGradeRank() && !"W".equals(course.getGrade())) {
+                    positions.add(position);
+                }
+            }
+        }
+        return toSortedArray(positions);
+    }
+
+    /**
+     * Returns the matching courses that requirement matching in
+     * {@link Student} could ever count: with number requirements, courses at
+     * the lowest level or above, and with type requirements, courses of one
+     * of the types. With both, either will do.
+     */
+    private int[] acceptablePositions(Requirement req) {
+        int[] matching = matchingPositions(req);
+        if (!req.hasNumberRequirements() && !req.hasTypeRequirements()) {
+            return matching;
+        }
+        int lowestLevel = Integer.MAX_VALUE;
+        for (int n = 0; n < req.getNumberRequirementCount(); n++) {
+            lowestLevel = Math.min(lowestLevel, req.getNumberLevel(n));
+        }
+        int typeMask = 0;
+        for (int t = 0; t < req.getTypeRequirementCount(); t++) {
+            typeMask |= req.getTypeMask(t);
+        }
+        int level = lowestLevel;
+        int types = typeMask;
+        return Arrays.stream(matching)
+                .filter(position -> index.isAtLeastLevel(position, level) || (index.get(position).getTypeMask() & types) != 0)
+                .toArray();
+    }
+
+    private int[] atLeastLevel(int[] positions, int level) {
+        if (level == Integer.MIN_VALUE) {
+            return positions;
+        }
+        return Arrays.stream(positions).filter(position -> index.isAtLeastLevel(position, level)).toArray();
+    }
+
+    private int[] ofType(int[] positions, int typeMask) {
+        return Arrays.stream(positions).filter(position -> (index.get(position).getTypeMask() & typeMask) != 0).toArray();
+    }
+
+    private static int[] toSortedArray(List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+
+    // Every subset of the allowed bits with exactly k bits set, in increasing order
+    private static List<Integer> subsets(int allowed, int k) {
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 0; mask <= allowed && masks.size() < MAX_SEQUENCE_CHOICES; mask++) {
+            if ((mask & ~allowed) == 0 && Integer.bitCount(mask) == k) {
+                masks.add(mask);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * A flow network with integer capacities, maximized with shortest
+     * augmenting paths. Each node's edges are searched in the order they were
+     * added, so earlier courses and earlier requirements are preferred when
+     * there is a choice.
+     */
+    private static class FlowNetwork {
+
+        private int nodes;
+        private int[] head;
+        private int[] tail;
+        private int[] next = new int[64];
+        private int[] to = new int[64];
+        private int[] capacity = new int[64];
+        private int edges;
+
+        FlowNetwork(int nodes) {
+            this.nodes = nodes;
+            this.head = new int[Math.max(16, nodes * 2)];
+            this.tail = new int[head.length];
+            Arrays.fill(head, -1);
+        }
+
+        int addNode() {
+            if (nodes == head.length) {
+                int oldLength = head.length;
+                head = Arrays.copyOf(head, oldLength * 2);
+                tail = Arrays.copyOf(tail, oldLength * 2);
+                Arrays.fill(head, oldLength, head.length, -1);
+            }
+            return nodes++;
+        }
+
+        void addEdge(int from, int target, int edgeCapacity) {
+            if (edges + 2 > to.length) {
+                next = Arrays.copyOf(next, to.length * 2);
+                capacity = Arrays.copyOf(capacity, to.length * 2);
+                to = Arrays.copyOf(to, to.length * 2);
+            }
+            // Edge e and its residual e ^ 1 are stored next to each other
+            link(from, target, edgeCapacity);
+            link(target, from, 0);
+        }
+
+        private void link(int from, int target, int edgeCapacity) {
+            to[edges] = target;
+            capacity[edges] = edgeCapacity;
+            next[edges] = -1;
+            if (head[from] < 0) {
+                head[from] = edges;
+            } else {
+                next[tail[from]] = edges;
+            }
+            tail[from] = edges++;
+        }
+
+        /**
+         * Pushes as much flow as possible from source to sink. Returns false
+         * if the deadline passed first.
+         */
+        boolean maximize(int source, int sink, long deadline) {
+            int[] via = new int[nodes];
+            int[] queue = new int[nodes];
+            while (true) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                Arrays.fill(via, -1);
+                int read = 0;
+                int write = 0;
+                queue[write++] = source;
+                while (read < write && via[sink] < 0) {
+                    int node = queue[read++];
+                    for (int e = head[node]; e >= 0; e = next[e]) {
+                        int target = to[e];
+                        if (capacity[e] > 0 && target != source && via[target] < 0) {
+                            via[target] = e;
+                            queue[write++] = target;
+                        }
+                    }
+                }
+                if (via[sink] < 0) {
+                    return true;
+                }
+                for (int node = sink; node != source; node = to[via[node] ^ 1]) {
+                    capacity[via[node]]--;
+                    capacity[via[node] ^ 1]++;
+                }
+            }
+        }
+
+        /**
+         * Returns the node the flow out of this unit-capacity node goes to,
+         * or -1 if none does.
+         */
+        int flowTarget(int node) {
+            for (int e = head[node]; e >= 0; e = next[e]) {
+                // A forward edge out of the node that carries flow has used its capacity
+                if ((e & 1) == 0 && capacity[e] == 0) {
+                    return to[e];
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.backend;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes the current {@link RequirementsCatalog}. A background watcher
+ * rebuilds the catalog whenever one of its workbooks changes on disk and
+ * swaps it in atomically; requests simply read whatever catalog is current
+ * and never wait on a rebuild. A request that takes one snapshot keeps a
+ * consistent view for as long as it holds it.
+ */
+@Service
+public class CatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogService.class);
+
+    // Editors save in several steps, so wait for the burst of events to settle
+    private static final long RELOAD_DELAY_MS = 500;
+
+    private final String majorRequirementsPath;
+    private final String minorRequirementsPath;
+    private final String majorListPath;
+    private final String minorListPath;
+    private final boolean watch;
+
+    private final AtomicReference<RequirementsCatalog> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "catalog-reload");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> pendingReload;
+    private WatchService watchService;
+
+    public CatalogService(@Value("${catalog.major-requirements}") String majorRequirementsPath,
+            @Value("${catalog.minor-requirements}") String minorRequirementsPath,
+            @Value("${catalog.major-list}") String majorListPath,
+            @Value("${catalog.minor-list}") String minorListPath,
+            @Value("${catalog.watch:true}") boolean watch) {
+        this.majorRequirementsPath = majorRequirementsPath;
+        this.minorRequirementsPath = minorRequirementsPath;
+        this.majorListPath = majorListPath;
+        this.minorListPath = minorListPath;
+        this.watch = watch;
+        current.set(build());
+    }
+
+    /**
+     * Returns the catalog currently published. Callers should fetch it once per
+     * request and use that instance throughout.
+     */
+    public RequirementsCatalog current() {
+        return current.get();
+    }
+
+    /**
+     * Rebuilds the catalog from disk and publishes it. If any workbook cannot be
+     * read the previous catalog stays in place.
+     */
+    public void reload() {
+        try {
+            RequirementsCatalog catalog = build();
+            current.set(catalog);
+            log.info("Published requirements catalog version {}", catalog.getVersion());
+        } catch (RuntimeException e) {
+            log.warn("Keeping catalog version {}; rebuild failed: {}", current().getVersion(), e.getMessage());
+        }
+    }
+
+    private RequirementsCatalog build() {
+        return RequirementsCatalog.load(majorRequirementsPath, minorRequirementsPath, majorListPath, minorListPath,
+                versions.incrementAndGet());
+    }
+
+    @PostConstruct
+    void startWatching() throws IOException {
+        if (!watch) {
+            return;
+        }
+
+        Map<Path, Set<Path>> filesByDir = new HashMap<>();
+        for (String file : new String[] { majorRequirementsPath, minorRequirementsPath, majorListPath, minorListPath }) {
+            Path path = Paths.get(file).toAbsolutePath().normalize();
+            filesByDir.computeIfAbsent(path.getParent(), dir -> new HashSet<>()).add(path.getFileName());
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        Map<WatchKey, Set<Path>> watched = new HashMap<>();
+        for (Map.Entry<Path, Set<Path>> entry : filesByDir.entrySet()) {
+            WatchKey key = entry.getKey().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watched.put(key, entry.getValue());
+        }
+
+        Thread watcher = new Thread(() -> watch(watched), "catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch(Map<WatchKey, Set<Path>> watched) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> files = watched.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (files != null && event.context() instanceof Path changed && files.contains(changed)) {
+                        scheduleReload();
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = reloader.schedule(this::reload, RELOAD_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stopWatching() throws IOException {
+        reloader.shutdownNow();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+}
@@ -6,20 +6,22 @@ public class Course {
     private String year;
     private String code;
     private String title;
-    private ArrayList<String> types;
+    private int types;
     private int credits;
     private boolean isAP;
     private String grade;
+    private byte gradeRank;
 
     public Course(String term, String year, String code, String title, ArrayList<String> types, int credits, String grade){
         this.term = term;
         this.year = year;
         this.code = code;
         this.title = title;
-        this.types = types;
+        this.types = CourseType.mask(types);
         this.credits = credits;
         this.isAP = false;
         this.grade = grade;
+        this.gradeRank = Grade.fromTranscript(grade).getRank();
     }
 
     public Course(String code, int credits){
@@ -48,9 +50,20 @@ public class Course {
     }
 
     public ArrayList<String> getTypes(){
+        return CourseType.codes(types);
+    }
+
+    /**
+     * Returns this course's types as a bitmask of {@link CourseType#bit()} values.
+     */
+    public int getTypeMask(){
         return types;
     }
 
+    public boolean hasType(CourseType type){
+        return (types & type.bit()) != 0;
+    }
+
     public int getCredits(){
         return credits;
     }
@@ -63,7 +76,14 @@ public class Course {
         return grade;
     }
 
+    /**
+     * Returns the {@link Grade#getRank() rank} of this course's grade.
+     */
+    public byte getGradeRank(){
+        return gradeRank;
+    }
+
     public String toString(){
-        return code + "; " + title + "; " + types + "; " + term + "; " + year + "; " + credits;
+        return code + "; " + title + "; " + getTypes() + "; " + term + "; " + year + "; " + credits;
     }
 }
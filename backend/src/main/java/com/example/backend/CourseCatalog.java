@@ -0,0 +1,154 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.*;
+
+/**
+ * Every course the college has offered, from the course list workbook, for
+ * planning future terms. The workbook has a row per section offered: the
+ * term, the course code, its title, its attributes and its course units.
+ * Rows for the same code are merged, so a course is offered in every season
+ * any of its rows was, carries every attribute any of them listed, and is
+ * worth the most units any of them was.
+ */
+public class CourseCatalog {
+
+    // Course list attribute names for the type codes transcripts use
+    private static final Map<String, CourseType> TYPES_BY_NAME = new HashMap<>();
+
+    static {
+        TYPES_BY_NAME.put("Writing Across Curriculum", CourseType.WAC);
+        TYPES_BY_NAME.put("Writing Across Curriculum (Research)", CourseType.WAC_R);
+        TYPES_BY_NAME.put("Senior Writing", CourseType.WS);
+        TYPES_BY_NAME.put("Arts & Humanities", CourseType.HUM);
+        TYPES_BY_NAME.put("Literature", CourseType.HUL);
+        TYPES_BY_NAME.put("Languages & Cultures", CourseType.LCC);
+        TYPES_BY_NAME.put("Science w/Lab", CourseType.SCLB);
+        TYPES_BY_NAME.put("Quant & Math Reasoning", CourseType.QMR);
+        TYPES_BY_NAME.put("Science, Engineering Tech", CourseType.SET);
+        TYPES_BY_NAME.put("Social Science", CourseType.SOCS);
+        String[][] areas = {
+            { "Creative Works/Arts & Design", "CAD" },
+            { "Cultural & Historical Foundations", "CHF" },
+            { "Data & Quantitative Reasoning", "DQR" },
+            { "Engineering, Technology & Society", "ETS" },
+            { "Literatures", "LIT" },
+            { "Natural & Physical Sciences", "NPS" },
+            { "Social Analysis, Politics & Ethics", "SPE" },
+            { "World Languages", "WOL" },
+        };
+        for (String[] area : areas) {
+            TYPES_BY_NAME.put("Justice, Equity, Identity, Difference - " + area[0], CourseType.fromCode("J" + area[1]));
+            TYPES_BY_NAME.put("Global Challenges - " + area[0], CourseType.fromCode("G" + area[1]));
+        }
+    }
+
+    /**
+     * A course as the catalog lists it. {@code seasons} is a bitmask of the
+     * {@link Term.Season#bit()}s it has been offered in, and {@code typeMask}
+     * one of {@link CourseType#bit()}s.
+     */
+    public record Entry(String code, String title, double units, int typeMask, int seasons) {
+
+        public boolean isOfferedIn(Term.Season season) {
+            return (seasons & season.bit()) != 0;
+        }
+    }
+
+    private final Map<String, Entry> byCode;
+    private final Map<String, List<Entry>> byDepartment;
+
+    private CourseCatalog(Map<String, Entry> byCode) {
+        this.byCode = byCode;
+        Map<String, List<Entry>> departments = new HashMap<>();
+        for (Entry entry : byCode.values()) {
+            departments.computeIfAbsent(CourseIndex.wildcardPrefix(entry.code()), k -> new ArrayList<>()).add(entry);
+        }
+        departments.replaceAll((department, entries) -> List.copyOf(entries));
+        this.byDepartment = departments;
+    }
+
+    /**
+     * Loads the course list workbook.
+     *
+     * @throws IllegalStateException if the workbook can't be read
+     */
+    public static CourseCatalog load(String filePath) {
+        Sheet sheet = new SheetGenerator(filePath).getSheet();
+        if (sheet == null) {
+            throw new IllegalStateException("Could not read course list " + filePath);
+        }
+        return fromSheet(sheet);
+    }
+
+    static CourseCatalog fromSheet(Sheet sheet) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (Row row : sheet) {
+            String code = text(row.getCell(1));
+            if (!code.contains("-")) {
+                continue;
+            }
+            String[] term = text(row.getCell(0)).split("\\s+");
+            Term.Season season = term.length > 0 ? Term.Season.fromLabel(term[0]) : null;
+            int seasons = season != null ? season.bit() : 0;
+
+            int typeMask = 0;
+            for (String name : text(row.getCell(3)).split(";")) {
+                CourseType type = TYPES_BY_NAME.get(name.trim());
+                if (type != null) {
+                    typeMask |= type.bit();
+                }
+            }
+
+            double units = 0;
+            Cell unitsCell = row.getCell(4);
+            if (unitsCell != null && unitsCell.getCellType() == CellType.NUMERIC) {
+                units = unitsCell.getNumericCellValue();
+            }
+
+            Entry entry = new Entry(code, text(row.getCell(2)), units, typeMask, seasons);
+            entries.merge(code, entry, (a, b) -> new Entry(code, a.title(), Math.max(a.units(), b.units()),
+                    a.typeMask() | b.typeMask(), a.seasons() | b.seasons()));
+        }
+        return new CourseCatalog(entries);
+    }
+
+    /**
+     * Returns the course with exactly this code, or null if it is not in the
+     * catalog.
+     */
+    public Entry get(String code) {
+        return byCode.get(code);
+    }
+
+    /**
+     * Returns the courses a course group could be filled with: every course
+     * in the department for a wildcard group such as "CSC-XXX", other than
+     * honors work, or else the course with exactly that code.
+     */
+    public List<Entry> candidates(String courseGroup) {
+        if (CourseIndex.isWildcard(courseGroup)) {
+            List<Entry> candidates = new ArrayList<>();
+            for (Entry entry : byDepartment.getOrDefault(CourseIndex.wildcardPrefix(courseGroup), List.of())) {
+                if (!CourseIndex.isWildcardExclusion(entry.code())) {
+                    candidates.add(entry);
+                }
+            }
+            return candidates;
+        }
+        Entry entry = byCode.get(courseGroup);
+        return entry == null ? List.of() : List.of(entry);
+    }
+
+    public int size() {
+        return byCode.size();
+    }
+
+    private static String text(Cell cell) {
+        return cell == null ? "" : cell.toString().trim();
+    }
+}
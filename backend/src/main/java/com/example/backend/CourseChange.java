@@ -0,0 +1,65 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One hypothetical change to a student's courses, as sent to /api/what-if:
+ * taking a course, dropping one, or getting a different grade in one. A
+ * removal or grade change applies to the most recent attempt at the course.
+ * The title, types and credits are only used when adding a course, and may
+ * be left out.
+ */
+public record CourseChange(Action action, String code, String grade, String title, List<String> types, int credits) {
+
+    public enum Action {
+        ADD,
+        REMOVE,
+        CHANGE_GRADE
+    }
+
+    /**
+     * Applies this change to a list of courses. {@code origins} runs parallel
+     * to the courses and holds each one's position in the original
+     * transcript, or -1 for a course added since; it is updated to match.
+     *
+     * @throws IllegalArgumentException if the change is incomplete, or names
+     *         a course the student hasn't taken
+     */
+    void applyTo(List<Course> courses, List<Integer> origins) {
+        if (action == null || code == null || code.isBlank()) {
+            throw new IllegalArgumentException("A course change needs an action and a course code");
+        }
+        if (action == Action.ADD) {
+            courses.add(new Course(null, null, code, title != null ? title : code,
+                    types != null ? new ArrayList<>(types) : new ArrayList<>(), credits, grade != null ? grade : "CIP"));
+            origins.add(-1);
+            return;
+        }
+
+        int position = lastAttempt(courses);
+        if (position < 0) {
+            throw new IllegalArgumentException("No attempt at " + code + " to " + (action == Action.REMOVE ? "remove" : "regrade"));
+        }
+        if (action == Action.REMOVE) {
+            courses.remove(position);
+            origins.remove(position);
+        } else {
+            if (grade == null) {
+                throw new IllegalArgumentException("A grade change needs a grade");
+            }
+            Course course = courses.get(position);
+            courses.set(position, new Course(course.getTerm(), course.getYear(), course.getCode(), course.getTitle(),
+                    course.getTypes(), course.getCredits(), grade));
+        }
+    }
+
+    private int lastAttempt(List<Course> courses) {
+        for (int i = courses.size() - 1; i >= 0; i--) {
+            if (courses.get(i).getCode().equals(code)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
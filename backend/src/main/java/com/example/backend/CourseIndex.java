@@ -0,0 +1,180 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup tables over one student's courses, built once so that requirement
+ * evaluation finds its candidate courses without scanning the transcript.
+ * Courses are identified by their position in the transcript, and every
+ * lookup returns positions in ascending order, which is the order the
+ * greedy matching in {@link Student} has always consumed them in. Callers
+ * track the courses they have used in a {@link java.util.BitSet} of
+ * positions.
+ *
+ * <p>Exact codes and course numbers are indexed up front. Wildcard groups
+ * only ever name a handful of departments, so each department's courses are
+ * collected the first time a requirement asks for them and kept from then on.
+ */
+public class CourseIndex {
+
+    private static final int[] NONE = new int[0];
+
+    // Wildcard groups such as "CSC-XXX" match on their department prefix
+    private static final String WILDCARD = "XXX";
+    private static final int PREFIX_LENGTH = 3;
+    private static final String[] WILDCARD_EXCLUSIONS = { "295H", "296H", "297H" };
+
+    // Course numbers are the three digits after the department, as in "CSC-105"
+    private static final int LEVEL_START = 4;
+    private static final int LEVEL_END = 7;
+    private static final int NO_LEVEL = Integer.MIN_VALUE;
+
+    private final List<Course> courses;
+    private final Map<String, int[]> byCode;
+    private final Map<String, int[]> byPrefix = new ConcurrentHashMap<>();
+    private final int[] levels;
+
+    public CourseIndex(List<Course> courses) {
+        this.courses = List.copyOf(courses);
+        this.levels = new int[this.courses.size()];
+
+        Map<String, List<Integer>> codes = new HashMap<>();
+        for (int i = 0; i < this.courses.size(); i++) {
+            String code = this.courses.get(i).getCode();
+            codes.computeIfAbsent(code, k -> new ArrayList<>()).add(i);
+            levels[i] = parseLevel(code);
+        }
+
+        this.byCode = new HashMap<>(codes.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : codes.entrySet()) {
+            byCode.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public Course get(int position) {
+        return courses.get(position);
+    }
+
+    /**
+     * Returns the positions of the courses that can fill the given course
+     * group: every course in the group's department for a wildcard group such
+     * as "CSC-XXX" (other than 295H-297H honors work), or else every course
+     * with exactly the group's code.
+     */
+    public int[] candidates(String courseGroup) {
+        if (isWildcard(courseGroup)) {
+            return withPrefix(wildcardPrefix(courseGroup));
+        }
+        return withCode(courseGroup);
+    }
+
+    /**
+     * Returns the candidates for one of a requirement's course groups, using
+     * the lookup key compiled into the requirement.
+     */
+    public int[] candidates(Requirement requirement, int group) {
+        if (requirement.isWildcardGroup(group)) {
+            return withPrefix(requirement.getGroupKey(group));
+        }
+        return withCode(requirement.getGroupKey(group));
+    }
+
+    /**
+     * Returns the positions of the courses with exactly this code.
+     */
+    public int[] withCode(String code) {
+        return byCode.getOrDefault(code, NONE);
+    }
+
+    /**
+     * Returns the course number of the course at this position, e.g. 105 for
+     * "CSC-105".
+     *
+     * @throws NumberFormatException if the code has no course number
+     */
+    public int getLevel(int position) {
+        int level = levels[position];
+        if (level == NO_LEVEL) {
+            // Fails the same way the unparsed code would
+            return Integer.parseInt(courses.get(position).getCode().substring(LEVEL_START, LEVEL_END));
+        }
+        return level;
+    }
+
+    /**
+     * Returns whether the code of the course at this position has a course
+     * number, so that {@link #getLevel} can read it.
+     */
+    public boolean hasLevel(int position) {
+        return levels[position] != NO_LEVEL;
+    }
+
+    /**
+     * Returns whether the course at this position has a course number of at
+     * least this level. Unlike {@link #getLevel}, a code with no course
+     * number is simply not at the level.
+     */
+    public boolean isAtLeastLevel(int position, int level) {
+        return levels[position] != NO_LEVEL && levels[position] >= level;
+    }
+
+    /**
+     * Returns the positions of the courses a wildcard with this prefix
+     * matches: any code containing the prefix, which for a well-formed code
+     * means its department.
+     */
+    public int[] withPrefix(String prefix) {
+        return byPrefix.computeIfAbsent(prefix, this::findWithPrefix);
+    }
+
+    private int[] findWithPrefix(String prefix) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < courses.size(); i++) {
+            String code = courses.get(i).getCode();
+            if (code.contains(prefix) && !isWildcardExclusion(code)) {
+                positions.add(i);
+            }
+        }
+        return positions.isEmpty() ? NONE : positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static boolean isWildcard(String courseGroup) {
+        return courseGroup.contains(WILDCARD);
+    }
+
+    public static String wildcardPrefix(String courseGroup) {
+        return courseGroup.substring(0, PREFIX_LENGTH);
+    }
+
+    static boolean isWildcardExclusion(String code) {
+        for (String exclusion : WILDCARD_EXCLUSIONS) {
+            if (code.contains(exclusion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the course number in a code, or {@link Integer#MIN_VALUE},
+     * which is below every level, if it has none.
+     */
+    static int parseLevel(String code) {
+        if (code.length() < LEVEL_END) {
+            return NO_LEVEL;
+        }
+        try {
+            return Integer.parseInt(code.substring(LEVEL_START, LEVEL_END));
+        } catch (NumberFormatException e) {
+            return NO_LEVEL;
+        }
+    }
+}
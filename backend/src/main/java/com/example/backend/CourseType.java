@@ -0,0 +1,124 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The attribute codes a transcript lists against a course, such as "WAC" or
+ * "JDQR", in the order the transcript sheet gives them a column each. A
+ * {@link Course} keeps its types as a bitmask of {@link #bit()} values, so
+ * checking a course against a type requirement is a single AND.
+ */
+public enum CourseType {
+    WAC,
+    WAC_R("WAC-R"),
+    WS,
+    JCAD,
+    GCAD,
+    JDQR,
+    GDQR,
+    JLIT,
+    GLIT,
+    JSPE,
+    GSPE,
+    JCHF,
+    GCHF,
+    JETS,
+    GETS,
+    JNPS,
+    GNPS,
+    JWOL,
+    GWOL,
+    HUL,
+    HUM,
+    LCC,
+    SCLB,
+    QMR,
+    SET,
+    SOCS;
+
+    private static final CourseType[] TYPES = values();
+    private static final Map<String, CourseType> BY_CODE = new HashMap<>();
+
+    static {
+        for (CourseType type : TYPES) {
+            BY_CODE.put(type.code, type);
+        }
+    }
+
+    private final String code;
+
+    CourseType() {
+        this.code = name();
+    }
+
+    CourseType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Returns the type with exactly this code, or null if there is none.
+     */
+    public static CourseType fromCode(String code) {
+        return BY_CODE.get(code);
+    }
+
+    /**
+     * Returns the type a code on a transcript line stands for. Transcripts
+     * print some types with a variant suffix, such as "LCCS" for a Spanish
+     * "LCC" course, so a code with no exact match falls back to the longest
+     * type code it starts with. Returns null if there is none.
+     */
+    public static CourseType fromTranscriptCode(String code) {
+        CourseType type = fromCode(code);
+        if (type != null) {
+            return type;
+        }
+        for (CourseType candidate : TYPES) {
+            if (code.startsWith(candidate.code) && (type == null || candidate.code.length() > type.code.length())) {
+                type = candidate;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Returns the bitmask of the given codes. Codes that aren't course types
+     * are ignored.
+     */
+    public static int mask(Collection<String> codes) {
+        int mask = 0;
+        if (codes != null) {
+            for (String code : codes) {
+                CourseType type = fromCode(code);
+                if (type != null) {
+                    mask |= type.bit();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the codes in a bitmask, in column order.
+     */
+    public static ArrayList<String> codes(int mask) {
+        ArrayList<String> codes = new ArrayList<>(Integer.bitCount(mask));
+        for (CourseType type : TYPES) {
+            if ((mask & type.bit()) != 0) {
+                codes.add(type.code);
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.backend;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed pool of platform threads for the CPU-heavy stages: PDF text
+ * extraction and requirement evaluation. Requests are served on virtual
+ * threads, which are cheap to block but give no bound on how much CPU work
+ * runs at once, so those stages are handed off here and the request thread
+ * waits for them. A burst of slow uploads then queues for the pool instead
+ * of starving cheap endpoints such as /api/dropdown-options.
+ *
+ * <p>When the queue is full, submitting blocks until there is room rather
+ * than running the task on the caller's thread. Work that should be turned
+ * away instead, such as a transcript upload that can be retried, is queued
+ * with {@link #trySubmit}.
+ */
+@Component
+public class CpuWorkPool {
+
+    private final ThreadPoolExecutor executor;
+
+    public CpuWorkPool(@Value("${executor.cpu-threads:0}") int threads,
+            @Value("${executor.cpu-queue-capacity:256}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "cpu-worker-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, CpuWorkPool::waitForRoom);
+    }
+
+    /**
+     * Runs the task on the pool and waits for its result. Exceptions thrown by
+     * the task are rethrown as they are.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        }
+    }
+
+    /**
+     * Queues the task on the pool, waiting for room if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Queues the task on the pool if there is room, without waiting.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public <T> CompletableFuture<T> trySubmit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(new NoWait(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
+
+    public int getParallelism() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveTasks() {
+        return executor.getActiveCount();
+    }
+
+    // A task queued by trySubmit, which is rejected rather than waiting for room
+    private record NoWait(Runnable task) implements Runnable {
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("CPU work pool is shut down");
+        }
+        if (task instanceof NoWait) {
+            throw new RejectedExecutionException("CPU work pool queue is full");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the CPU work pool", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
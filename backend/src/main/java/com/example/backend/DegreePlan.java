@@ -0,0 +1,26 @@
+package com.example.backend;
+
+import java.util.List;
+
+/**
+ * One way for a student to finish their programs: the courses to take in
+ * each term up to graduation. {@code completed} is how many of the student's
+ * {@code requirements} the plan would complete, found by evaluating the
+ * student with the planned courses added, and {@code unmet} names the rest,
+ * e.g. "Major: Computer Science - Core".
+ */
+public record DegreePlan(List<PlannedTerm> terms, int courses, double units, int completed, int requirements,
+        List<String> unmet) {
+
+    /**
+     * The courses planned for one term, e.g. "Fall 2025", and their units.
+     */
+    public record PlannedTerm(String term, double units, List<PlannedCourse> courses) {
+    }
+
+    /**
+     * A course to take, with the requirements it would count toward.
+     */
+    public record PlannedCourse(String code, String title, double units, List<String> types, List<String> requirements) {
+    }
+}
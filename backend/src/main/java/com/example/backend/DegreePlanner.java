@@ -0,0 +1,665 @@
+package com.example.backend;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Searches for term-by-term plans that finish a student's unmet requirements
+ * by graduation. Each unmet requirement becomes a goal with a list of
+ * options, each the catalog courses that would fill one more of its course
+ * groups or sequences, and the search picks options for one goal after
+ * another, depth first. A course picked for one program is preferred by the
+ * others, since it can count toward each of them once. Every complete pick
+ * is scheduled into terms and checked by evaluating the student with the
+ * planned courses added, so a plan reports what the progress page would
+ * actually show for it.
+ *
+ * <p>The search keeps it from blowing up in three ways. It only branches over
+ * a goal's best few options, ranked by the number and type constraints they
+ * meet. It abandons a branch whose courses no longer fit in the remaining
+ * terms, or that can't use fewer courses than the worst plan kept. And it
+ * remembers the partial picks it has seen, so reaching the same courses,
+ * counted toward the same programs, in another order is only searched once.
+ * That is all the rest of the search depends on, so which order gets there
+ * first, on whichever thread, doesn't change the plans found. It stops when
+ * its time budget runs out and returns the best plans found by then. Part of
+ * the budget is kept back to check those plans again, so the whole call,
+ * from reading the student's progress to the final checks, stays within the
+ * budget.
+ *
+ * <p>The catalog has no prerequisites, so a plan only orders courses by when
+ * they are offered.
+ */
+public class DegreePlanner {
+
+    // How many options beyond the ones it needs each goal branches over
+    private static final int BRANCHING = 3;
+    // How many options each goal keeps, best first, before the search starts
+    private static final int MAX_OPTIONS = 24;
+    // How many branches the parallel search splits into for each worker, so uneven branches even out
+    private static final int BRANCHES_PER_WORKER = 4;
+    // The most of the time budget kept back for checking the plans found again
+    private static final int MAX_RECHECK_SHARE_PERCENT = 25;
+    private static final double UNITS_EPSILON = 1e-9;
+
+    private final CourseCatalog catalog;
+    private final double maxUnitsPerTerm;
+    private final Duration timeBudget;
+    private final int maxPlans;
+    private final EvaluationProfiler profiler;
+
+    /**
+     * Creates a planner whose evaluations of the student, and of the student
+     * with each plan's courses added, are recorded with {@code profiler}
+     * while it is enabled. A null profiler records nothing.
+     */
+    public DegreePlanner(CourseCatalog catalog, double maxUnitsPerTerm, Duration timeBudget, int maxPlans,
+            EvaluationProfiler profiler) {
+        this.catalog = catalog;
+        this.maxUnitsPerTerm = maxUnitsPerTerm;
+        this.timeBudget = timeBudget;
+        this.maxPlans = maxPlans;
+        this.profiler = profiler;
+    }
+
+    /**
+     * The best plans found, best first. {@code unplanned} names the unmet
+     * requirements the catalog has too few courses offered before graduation
+     * to plan for. {@code exhaustive} is false if the time budget ran out
+     * before every branch was searched.
+     */
+    public record Result(String start, String graduation, List<DegreePlan> plans, List<String> unplanned,
+            long statesExplored, boolean exhaustive) {
+    }
+
+    /**
+     * An unmet requirement, the program it belongs to, how many of its
+     * options it still needs and the options themselves.
+     */
+    private record Goal(String label, String program, int needed, List<List<CourseCatalog.Entry>> options) {
+    }
+
+    /**
+     * The courses picked so far, in the order they were picked, and for each
+     * one the goals it was picked for.
+     */
+    private record State(LinkedHashMap<String, CourseCatalog.Entry> courses, Map<String, List<Integer>> targets,
+            double units) {
+
+        static final State EMPTY = new State(new LinkedHashMap<>(), Map.of(), 0);
+
+        State with(List<CourseCatalog.Entry> option, int goal) {
+            LinkedHashMap<String, CourseCatalog.Entry> nextCourses = new LinkedHashMap<>(courses);
+            Map<String, List<Integer>> nextTargets = new HashMap<>(targets);
+            double nextUnits = units;
+            for (CourseCatalog.Entry entry : option) {
+                if (nextCourses.putIfAbsent(entry.code(), entry) == null) {
+                    nextUnits += entry.units();
+                }
+                List<Integer> goals = new ArrayList<>(nextTargets.getOrDefault(entry.code(), List.of()));
+                goals.add(goal);
+                nextTargets.put(entry.code(), goals);
+            }
+            return new State(nextCourses, nextTargets, nextUnits);
+        }
+    }
+
+    /**
+     * The states a parallel search starts its branches from, each with the
+     * first {@code depth} goals picked for.
+     */
+    private record Branches(int depth, List<State> states) {
+    }
+
+    /**
+     * A scheduled plan and what is needed to rank and re-check it.
+     */
+    private record Candidate(State state, List<List<CourseCatalog.Entry>> schedule, DegreePlan plan, int lastTerm,
+            String key) {
+    }
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt((Candidate c) -> -c.plan().completed())
+            .thenComparingInt(c -> c.plan().courses())
+            .thenComparingDouble(c -> c.plan().units())
+            .thenComparingInt(Candidate::lastTerm)
+            .thenComparing(Candidate::key);
+
+    /**
+     * Plans the terms from {@code start} through the spring the student
+     * graduates in.
+     */
+    public Result plan(Student student, Term start, CpuWorkPool pool) throws Exception {
+        return plan(student, start, Term.graduation(student.getGradYr()), pool);
+    }
+
+    /**
+     * Plans the terms from {@code start} through {@code graduation}. With a
+     * pool, all of the work runs on it and the calling thread only waits:
+     * the goals are found, the search is split into branches by the picks
+     * for its first few goals, the branches are searched in parallel and the
+     * plans kept are checked again, so this must not be called from one of
+     * its threads. Without one, the search runs on the calling thread.
+     */
+    public Result plan(Student student, Term start, Term graduation, CpuWorkPool pool) throws Exception {
+        long started = System.nanoTime();
+        List<Term> terms = start.through(graduation);
+        List<String> unplanned = new ArrayList<>();
+        if (pool == null) {
+            Search search = new Search(student, findGoals(student, terms, unplanned), terms, started);
+            search.search(0, State.EMPTY);
+            return new Result(start.toString(), graduation.toString(), search.finish(), unplanned,
+                    search.states.get(), !search.timedOut);
+        }
+
+        Search search = pool.call(() -> new Search(student, findGoals(student, terms, unplanned), terms, started));
+        Branches split = pool.call(() -> search.split(BRANCHES_PER_WORKER * pool.getParallelism()));
+        List<CompletableFuture<Void>> branches = new ArrayList<>(split.states().size());
+        for (State state : split.states()) {
+            branches.add(pool.submit(() -> {
+                search.search(split.depth(), state);
+                return null;
+            }));
+        }
+        for (CompletableFuture<Void> branch : branches) {
+            branch.join();
+        }
+        List<DegreePlan> plans = pool.call(search::finish);
+        return new Result(start.toString(), graduation.toString(), plans, unplanned, search.states.get(),
+                !search.timedOut);
+    }
+
+    /**
+     * Turns each incomplete requirement of the student's programs into a goal.
+     * Among options meeting as many constraints, those whose courses other
+     * goals could use too are ranked first.
+     */
+    private List<Goal> findGoals(Student student, List<Term> terms, List<String> unplanned) {
+        Set<String> taken = new HashSet<>();
+        for (Course course : student.getCourses()) {
+            taken.add(course.getCode());
+        }
+        int seasons = 0;
+        for (Term term : terms) {
+            seasons |= term.season().bit();
+        }
+
+        List<Concentration> concentrations = new ArrayList<>(student.getMajors());
+        concentrations.addAll(student.getMinors());
+        List<ProgressReport.ProgramProgress> programs = student.getProgressReport(profiler).programs();
+
+        List<String> labels = new ArrayList<>();
+        List<String> programLabels = new ArrayList<>();
+        List<RequirementProgress> progresses = new ArrayList<>();
+        List<List<List<CourseCatalog.Entry>>> allOptions = new ArrayList<>();
+        Map<String, Integer> demand = new HashMap<>();
+        for (int p = 0; p < programs.size(); p++) {
+            ProgressReport.ProgramProgress program = programs.get(p);
+            List<Requirement> reqs = concentrations.get(p).getReqs();
+            for (int r = 0; r < program.requirements().size(); r++) {
+                RequirementProgress progress = program.requirements().get(r);
+                if (progress.completed()) {
+                    continue;
+                }
+                String label = program.label() + " - " + progress.title();
+                List<List<CourseCatalog.Entry>> options = reqs.get(r).isSeq()
+                        ? sequenceOptions(progress, taken, seasons)
+                        : courseOptions(progress, taken, seasons);
+                if (options.size() < progress.remaining()) {
+                    unplanned.add(label);
+                    continue;
+                }
+                Set<String> codes = new HashSet<>();
+                for (List<CourseCatalog.Entry> option : options) {
+                    for (CourseCatalog.Entry entry : option) {
+                        codes.add(entry.code());
+                    }
+                }
+                for (String code : codes) {
+                    demand.merge(code, 1, Integer::sum);
+                }
+                labels.add(label);
+                programLabels.add(program.label());
+                progresses.add(progress);
+                allOptions.add(options);
+            }
+        }
+
+        List<Goal> goals = new ArrayList<>(labels.size());
+        for (int g = 0; g < labels.size(); g++) {
+            RequirementProgress progress = progresses.get(g);
+            List<List<CourseCatalog.Entry>> options = new ArrayList<>(allOptions.get(g));
+            options.sort(Comparator
+                    .comparingInt((List<CourseCatalog.Entry> option) -> -constraintsMet(option, progress))
+                    .thenComparingInt(option -> -sharedDemand(option, demand))
+                    .thenComparingInt(option -> -Integer.bitCount(option.get(0).seasons())));
+            goals.add(new Goal(labels.get(g), programLabels.get(g), progress.remaining(),
+                    List.copyOf(options.subList(0, Math.min(options.size(), MAX_OPTIONS)))));
+        }
+        // The goals with the fewest options are the most constrained, so they go first
+        goals.sort(Comparator.comparingInt(goal -> goal.options().size() - goal.needed()));
+        return goals;
+    }
+
+    /**
+     * Returns a single-course option for every catalog course that fills one
+     * of the requirement's remaining course groups, hasn't been taken, is
+     * offered before graduation and meets any number or type constraint every
+     * remaining course has to meet.
+     */
+    private List<List<CourseCatalog.Entry>> courseOptions(RequirementProgress progress, Set<String> taken, int seasons) {
+        List<List<CourseCatalog.Entry>> options = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String group : progress.remainingCourseGroups()) {
+            for (CourseCatalog.Entry entry : catalog.candidates(group)) {
+                if (!taken.contains(entry.code()) && (entry.seasons() & seasons) != 0
+                        && meetsRequiredConstraints(entry, progress) && seen.add(entry.code())) {
+                    options.add(List.of(entry));
+                }
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Returns, for each incomplete sequence, the courses it is missing, as
+     * long as all of them are in the catalog, untaken and offered before
+     * graduation.
+     */
+    private List<List<CourseCatalog.Entry>> sequenceOptions(RequirementProgress progress, Set<String> taken, int seasons) {
+        List<List<CourseCatalog.Entry>> options = new ArrayList<>();
+        for (RequirementProgress.SequenceProgress sequence : progress.sequences()) {
+            if (sequence.completed()) {
+                continue;
+            }
+            List<CourseCatalog.Entry> missing = new ArrayList<>();
+            boolean available = true;
+            for (String group : sequence.courseGroups()) {
+                if (sequence.fulfilledBy().contains(group)) {
+                    continue;
+                }
+                CourseCatalog.Entry entry = catalog.get(group);
+                if (entry == null || taken.contains(group) || (entry.seasons() & seasons) == 0) {
+                    available = false;
+                    break;
+                }
+                missing.add(entry);
+            }
+            if (available && !missing.isEmpty()) {
+                options.add(List.copyOf(missing));
+            }
+        }
+        return options;
+    }
+
+    private static boolean meetsRequiredConstraints(CourseCatalog.Entry entry, RequirementProgress progress) {
+        for (RequirementProgress.NumberConstraint constraint : progress.numberConstraints()) {
+            if (constraint.remaining() > 0 && constraint.remaining() >= progress.remaining()
+                    && CourseIndex.parseLevel(entry.code()) < constraint.level()) {
+                return false;
+            }
+        }
+        for (RequirementProgress.TypeConstraint constraint : progress.typeConstraints()) {
+            CourseType type = CourseType.fromCode(constraint.type());
+            if (type != null && constraint.remaining() > 0 && constraint.remaining() >= progress.remaining()
+                    && (entry.typeMask() & type.bit()) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // How many of the requirement's unmet number and type constraints the option's courses help with
+    private static int constraintsMet(List<CourseCatalog.Entry> option, RequirementProgress progress) {
+        if (progress.sequences() != null) {
+            return 0;
+        }
+        CourseCatalog.Entry entry = option.get(0);
+        int met = 0;
+        for (RequirementProgress.NumberConstraint constraint : progress.numberConstraints()) {
+            if (constraint.remaining() > 0 && CourseIndex.parseLevel(entry.code()) >= constraint.level()) {
+                met++;
+            }
+        }
+        for (RequirementProgress.TypeConstraint constraint : progress.typeConstraints()) {
+            CourseType type = CourseType.fromCode(constraint.type());
+            if (type != null && constraint.remaining() > 0 && (entry.typeMask() & type.bit()) != 0) {
+                met++;
+            }
+        }
+        return met;
+    }
+
+    private static int sharedDemand(List<CourseCatalog.Entry> option, Map<String, Integer> demand) {
+        int shared = 0;
+        for (CourseCatalog.Entry entry : option) {
+            shared += demand.getOrDefault(entry.code(), 0) - 1;
+        }
+        return shared;
+    }
+
+    /**
+     * One run of the search. Branches may run on several threads at once, so
+     * the states seen, the plans kept and the bound are shared between them.
+     */
+    private final class Search {
+
+        final Student student;
+        final List<Goal> goals;
+        final List<Term> terms;
+        final double capacity;
+        // The search stops at the first deadline, leaving the time until the second to check the plans again
+        final long deadline;
+        final long recheckDeadline;
+        final Set<String> visited = ConcurrentHashMap.newKeySet();
+        final AtomicLong states = new AtomicLong();
+        // Guarded by this
+        final List<Candidate> kept = new ArrayList<>();
+        // The course count a branch has to stay within to beat the worst plan kept
+        volatile int bound = Integer.MAX_VALUE;
+        volatile boolean timedOut;
+
+        Search(Student student, List<Goal> goals, List<Term> terms, long started) {
+            this.student = student;
+            this.goals = goals;
+            this.terms = terms;
+            this.capacity = terms.size() * maxUnitsPerTerm;
+            long budget = timeBudget.toNanos();
+            long recheck = Math.min(student.getAssignmentBudget().toNanos() * maxPlans,
+                    budget * MAX_RECHECK_SHARE_PERCENT / 100);
+            this.recheckDeadline = started + budget;
+            this.deadline = recheckDeadline - recheck;
+        }
+
+        /**
+         * Picks for the first goals until there are at least {@code count}
+         * branches to search, or every goal has been picked for.
+         */
+        Branches split(int count) {
+            List<State> states = List.of(State.EMPTY);
+            int depth = 0;
+            while (depth < goals.size() && states.size() < count) {
+                List<State> picks = new ArrayList<>();
+                for (State state : states) {
+                    choose(depth, state, picks::add);
+                }
+                states = picks;
+                depth++;
+            }
+            return new Branches(depth, states);
+        }
+
+        void search(int goal, State state) {
+            if (System.nanoTime() - deadline >= 0) {
+                timedOut = true;
+                return;
+            }
+            if (!visited.add(key(goal, state))) {
+                return;
+            }
+            states.incrementAndGet();
+            if (goal == goals.size()) {
+                offer(state);
+                return;
+            }
+            if (state.courses().size() + lowerBound(goal, state) > bound) {
+                return;
+            }
+            choose(goal, state, picked -> search(goal + 1, picked));
+        }
+
+        /**
+         * Passes every way of picking the goal's remaining options from its
+         * best few to {@code next}, preferring options that need the fewest
+         * courses not already picked.
+         */
+        void choose(int goal, State state, Consumer<State> next) {
+            Goal g = goals.get(goal);
+            List<List<CourseCatalog.Entry>> ranked = new ArrayList<>();
+            for (List<CourseCatalog.Entry> option : g.options()) {
+                if (!conflicts(option, g, state)) {
+                    ranked.add(option);
+                }
+            }
+            // Stable, so options needing as many new courses keep their ranking
+            ranked.sort(Comparator.comparingInt(option -> newCourses(option, state)));
+            pick(goal, ranked.subList(0, Math.min(ranked.size(), g.needed() + BRANCHING)), 0, g.needed(), state, next);
+        }
+
+        private void pick(int goal, List<List<CourseCatalog.Entry>> options, int from, int left, State state,
+                Consumer<State> next) {
+            if (left == 0) {
+                next.accept(state);
+                return;
+            }
+            for (int i = from; i <= options.size() - left && !timedOut; i++) {
+                State picked = state.with(options.get(i), goal);
+                if (picked.units() <= capacity + UNITS_EPSILON) {
+                    pick(goal, options, i + 1, left - 1, picked, next);
+                }
+            }
+        }
+
+        /**
+         * Returns what the search from this goal on depends on: the courses
+         * picked and, since a course can't be picked twice within a program,
+         * the programs each has been picked for. Once every goal has been
+         * picked for, the plan depends on the courses alone.
+         */
+        private String key(int goal, State state) {
+            StringJoiner key = new StringJoiner(",", goal + ":", "");
+            for (String code : new TreeSet<>(state.courses().keySet())) {
+                if (goal == goals.size()) {
+                    key.add(code);
+                    continue;
+                }
+                Set<String> programs = new TreeSet<>();
+                for (int target : state.targets().get(code)) {
+                    programs.add(goals.get(target).program());
+                }
+                key.add(code + programs);
+            }
+            return key.toString();
+        }
+
+        private boolean conflicts(List<CourseCatalog.Entry> option, Goal goal, State state) {
+            for (CourseCatalog.Entry entry : option) {
+                for (int other : state.targets().getOrDefault(entry.code(), List.of())) {
+                    if (goals.get(other).program().equals(goal.program())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static int newCourses(List<CourseCatalog.Entry> option, State state) {
+            int count = 0;
+            for (CourseCatalog.Entry entry : option) {
+                if (!state.courses().containsKey(entry.code())) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Returns the fewest courses the goals from this one on could still
+         * need: each option not already covered by the courses picked needs
+         * at least one more, and the goals may share them.
+         */
+        private int lowerBound(int goal, State state) {
+            int lower = 0;
+            for (int g = goal; g < goals.size(); g++) {
+                Goal remaining = goals.get(g);
+                int covered = 0;
+                for (List<CourseCatalog.Entry> option : remaining.options()) {
+                    if (newCourses(option, state) == 0) {
+                        covered++;
+                    }
+                }
+                lower = Math.max(lower, remaining.needed() - covered);
+            }
+            return lower;
+        }
+
+        private void offer(State state) {
+            List<List<CourseCatalog.Entry>> schedule = schedule(state);
+            if (schedule == null) {
+                return;
+            }
+            Candidate candidate = evaluate(state, schedule, Duration.ZERO);
+            synchronized (this) {
+                kept.add(candidate);
+                kept.sort(RANKING);
+                if (kept.size() > maxPlans) {
+                    kept.remove(kept.size() - 1);
+                }
+                if (kept.size() == maxPlans) {
+                    bound = kept.get(kept.size() - 1).plan().courses();
+                }
+            }
+        }
+
+        /**
+         * Puts each course in the earliest term it is offered in that has
+         * room for it, starting with the courses offered in the fewest terms
+         * and then by code, so the schedule doesn't depend on the order the
+         * courses were picked in. Returns null if some course doesn't fit.
+         */
+        private List<List<CourseCatalog.Entry>> schedule(State state) {
+            List<CourseCatalog.Entry> courses = new ArrayList<>(state.courses().values());
+            courses.sort(Comparator.comparingInt(this::termsOffered).thenComparing(CourseCatalog.Entry::code));
+
+            List<List<CourseCatalog.Entry>> schedule = new ArrayList<>(terms.size());
+            double[] units = new double[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                schedule.add(new ArrayList<>());
+            }
+            for (CourseCatalog.Entry course : courses) {
+                int term = 0;
+                while (term < terms.size() && !(course.isOfferedIn(terms.get(term).season())
+                        && units[term] + course.units() <= maxUnitsPerTerm + UNITS_EPSILON)) {
+                    term++;
+                }
+                if (term == terms.size()) {
+                    return null;
+                }
+                schedule.get(term).add(course);
+                units[term] += course.units();
+            }
+            return schedule;
+        }
+
+        private int termsOffered(CourseCatalog.Entry course) {
+            int offered = 0;
+            for (Term term : terms) {
+                if (course.isOfferedIn(term.season())) {
+                    offered++;
+                }
+            }
+            return offered;
+        }
+
+        /**
+         * Evaluates the student as if they had taken the scheduled courses,
+         * giving the solver {@code budget} to assign them. Each planned
+         * course is listed with the requirements that evaluation counts it
+         * toward.
+         */
+        private Candidate evaluate(State state, List<List<CourseCatalog.Entry>> schedule, Duration budget) {
+            ArrayList<Course> courses = new ArrayList<>(student.getCourses());
+            for (int t = 0; t < schedule.size(); t++) {
+                Term term = terms.get(t);
+                for (CourseCatalog.Entry entry : schedule.get(t)) {
+                    courses.add(new Course(term.toString(), Integer.toString(term.year()), entry.code(), entry.title(),
+                            CourseType.codes(entry.typeMask()), (int) Math.round(entry.units()), "CIP"));
+                }
+            }
+
+            Student planned = new Student(student.getGradYr(), courses, student.getMajors(), student.getMinors());
+            planned.setAssignmentBudget(budget);
+            int completed = 0;
+            int requirements = 0;
+            List<String> unmet = new ArrayList<>();
+            Map<String, List<String>> countedToward = new HashMap<>();
+            for (ProgressReport.ProgramProgress program : planned.getProgressReport(profiler).programs()) {
+                completed += program.completed();
+                requirements += program.requirements().size();
+                for (RequirementProgress requirement : program.requirements()) {
+                    String label = program.label() + " - " + requirement.title();
+                    if (!requirement.completed()) {
+                        unmet.add(label);
+                    }
+                    List<String> fulfilledBy = new ArrayList<>(requirement.fulfilledBy());
+                    if (requirement.sequences() != null) {
+                        for (RequirementProgress.SequenceProgress sequence : requirement.sequences()) {
+                            fulfilledBy.addAll(sequence.fulfilledBy());
+                        }
+                    }
+                    for (String code : fulfilledBy) {
+                        countedToward.computeIfAbsent(code, c -> new ArrayList<>()).add(label);
+                    }
+                }
+            }
+
+            List<DegreePlan.PlannedTerm> plannedTerms = new ArrayList<>();
+            int lastTerm = -1;
+            for (int t = 0; t < schedule.size(); t++) {
+                List<DegreePlan.PlannedCourse> plannedCourses = new ArrayList<>();
+                double units = 0;
+                for (CourseCatalog.Entry entry : schedule.get(t)) {
+                    plannedCourses.add(new DegreePlan.PlannedCourse(entry.code(), entry.title(), entry.units(),
+                            CourseType.codes(entry.typeMask()), countedToward.getOrDefault(entry.code(), List.of())));
+                    units += entry.units();
+                }
+                if (!plannedCourses.isEmpty()) {
+                    plannedTerms.add(new DegreePlan.PlannedTerm(terms.get(t).toString(), units, plannedCourses));
+                    lastTerm = t;
+                }
+            }
+            DegreePlan plan = new DegreePlan(plannedTerms, state.courses().size(), state.units(), completed,
+                    requirements, unmet);
+            return new Candidate(state, schedule, plan, lastTerm, key(goals.size(), state));
+        }
+
+        /**
+         * Returns the plans kept, best first. Plans that fall short were only
+         * checked with requirements filled in order, so they are checked
+         * again with the student's assignment budget, cut down to the time
+         * left before the overall deadline. Once that has passed the rest are
+         * kept as they are.
+         */
+        synchronized List<DegreePlan> finish() {
+            List<Candidate> checked = new ArrayList<>(kept.size());
+            for (Candidate candidate : kept) {
+                DegreePlan plan = candidate.plan();
+                long left = recheckDeadline - System.nanoTime();
+                boolean shortOf = plan.completed() < plan.requirements();
+                checked.add(shortOf && left > 0 && !student.getAssignmentBudget().isZero()
+                        ? evaluate(candidate.state(), candidate.schedule(),
+                                Duration.ofNanos(Math.min(left, student.getAssignmentBudget().toNanos())))
+                        : candidate);
+            }
+            checked.sort(RANKING);
+            List<DegreePlan> plans = new ArrayList<>(checked.size());
+            for (Candidate candidate : checked) {
+                plans.add(candidate.plan());
+            }
+            return plans;
+        }
+    }
+}
@@ -6,18 +6,24 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class Driver {
 
     private static final int COL_TYPE_START = 6;
     private static final int COL_TYPE_END = 31;
+    // Students graduate in the spring of their fourth academic year
+    private static final int YEARS_TO_GRADUATE = 4;
     
     public static void main(String[] args){
 
+        RequirementsCatalog catalog = RequirementsCatalog.load("src\\main\\resources\\Major-Requirements.xlsx", "src\\main\\resources\\Minor-Requirements.xlsx");
+
         ArrayList<Concentration> majors = new ArrayList<>();
-        majors.add(new Concentration(false, "Computer Science"));
+        majors.add(new Concentration(false, "Computer Science", catalog));
 
         ArrayList<Concentration> minors = new ArrayList<>();
 
@@ -25,12 +31,64 @@ public class Driver {
         //generatePlanner("src\\main\\resources\\Empty Transcript.xlsx", majors, minors).printProgress();
         //generatePlanner("src\\main\\resources\\Full Transcript.xlsx", majors, minors).printProgress();
 
-        PDFParser.processPDF("src\\main\\resources\\Secrist_Liam_2686252_2_14_2025.pdf");
-
-        generatePlanner("output\\ParsedTranscript.xlsx", majors, minors).printProgress();
+        try (FileInputStream pdf = new FileInputStream("src\\main\\resources\\Secrist_Liam_2686252_2_14_2025.pdf")) {
+            generatePlanner(PDFParser.parseTranscript(pdf), majors, minors).printProgress();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     public static Student generatePlanner(String filePath, ArrayList<Concentration> majors, ArrayList<Concentration> minors){
+        return generatePlanner(readCourses(filePath), majors, minors);
+    }
+
+    public static Student generatePlanner(List<Course> courses, ArrayList<Concentration> majors, ArrayList<Concentration> minors){
+        return new Student(estimateGradYr(courses, LocalDate.now()), new ArrayList<>(courses), majors, minors);
+    }
+
+    /**
+     * Estimates the year a student graduates in from their transcript: the
+     * spring four academic years after their first term at the college.
+     * Transfer courses have no term and are skipped. A transcript with no
+     * terms is taken to start with the next term after {@code today}.
+     */
+    public static int estimateGradYr(List<Course> courses, LocalDate today) {
+        Term first = null;
+        for (Course course : courses) {
+            Term term = Term.fromTranscript(course.getTerm(), course.getYear());
+            if (term != null && (first == null || term.compareTo(first) < 0)) {
+                first = term;
+            }
+        }
+        if (first == null) {
+            first = Term.after(today);
+        }
+        return first.academicYear() + YEARS_TO_GRADUATE;
+    }
+
+    /**
+     * Evaluates courses against the named majors and minors, building every
+     * concentration from the same catalog snapshot.
+     */
+    public static Student generatePlanner(List<Course> courses, List<String> majorNames, List<String> minorNames, RequirementsCatalog catalog){
+        ArrayList<Concentration> majors = new ArrayList<>();
+        for (String name : majorNames) {
+            majors.add(new Concentration(false, name, catalog));
+        }
+
+        ArrayList<Concentration> minors = new ArrayList<>();
+        for (String name : minorNames) {
+            minors.add(new Concentration(true, name, catalog));
+        }
+
+        return generatePlanner(courses, majors, minors);
+    }
+
+    /**
+     * Reads the courses from a transcript sheet in the layout written by
+     * {@link PDFParser#constructSheet}.
+     */
+    public static ArrayList<Course> readCourses(String filePath){
         
         Sheet transcript = new SheetGenerator(filePath).getSheet();
 
@@ -89,9 +147,7 @@ public class Driver {
                 
         }
 
-        Student student = new Student(2027, courses, majors, minors);
-
-        return student;
+        return courses;
     }
 
 }
@@ -0,0 +1,55 @@
+package com.example.backend;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The /api/dropdown-options response for one catalog version, serialized
+ * ahead of time. The ETag is a hash of the body, so it only changes when the
+ * option lists themselves change.
+ */
+public class DropdownOptions {
+
+    private final long catalogVersion;
+    private final byte[] body;
+    private final String eTag;
+
+    private DropdownOptions(long catalogVersion, byte[] body, String eTag) {
+        this.catalogVersion = catalogVersion;
+        this.body = body;
+        this.eTag = eTag;
+    }
+
+    public static DropdownOptions from(RequirementsCatalog catalog, ObjectMapper mapper) {
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("dropdown1", catalog.getMajorNames());
+        options.put("dropdown2", catalog.getMinorNames());
+
+        try {
+            byte[] body = mapper.writeValueAsBytes(options);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            String eTag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new DropdownOptions(catalog.getVersion(), body, eTag);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not build dropdown options", e);
+        }
+    }
+
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.backend;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress reports keyed by a fingerprint of everything evaluation reads:
+ * the student's courses, their selected majors and minors, the catalog
+ * version and the assignment budget. Students with the same transcript and
+ * selections, including a student who submits the same selections again,
+ * share one evaluation. The cache holds a bounded number of reports and
+ * evicts the least recently used first. A report whose assignment search ran
+ * out of time isn't cached, since it depends on how busy the server was and
+ * a later evaluation may do better. Only evaluations are timed, as the
+ * EVALUATE stage, so cache hits don't count toward it.
+ *
+ * <p>Only the parts of a course evaluation looks at go into the fingerprint:
+ * its code, grade and types, in transcript order, since the order decides
+ * which requirement a course is matched to.
+ */
+@Component
+public class EvaluationCache {
+
+    private final int maxEntries;
+    private final EvaluationProfiler profiler;
+    private final TranscriptMetrics metrics;
+
+    // Access-ordered, so iteration starts at the least recently used report
+    private final LinkedHashMap<String, ProgressReport> reports = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long uncached;
+
+    public EvaluationCache(@Value("${evaluation-cache.max-entries:10000}") int maxEntries,
+            EvaluationProfiler profiler, TranscriptMetrics metrics) {
+        this.maxEntries = maxEntries;
+        this.profiler = profiler;
+        this.metrics = metrics;
+    }
+
+    public record Stats(int size, int maxEntries, long hits, long misses, long evictions, long uncached,
+            double hitRate) {
+    }
+
+    /**
+     * Returns the student's progress report, evaluating the student only if
+     * no report with the same fingerprint is cached.
+     */
+    public ProgressReport getReport(Student student) {
+        String key = fingerprint(student);
+        synchronized (this) {
+            ProgressReport report = reports.get(key);
+            if (report != null) {
+                hits++;
+                return report;
+            }
+            misses++;
+        }
+
+        // Evaluated outside the lock; a concurrent miss on the same key just evaluates twice
+        ProgressReport report = metrics.time(TranscriptMetrics.Stage.EVALUATE, () -> student.getProgressReport(profiler));
+        if (report.assignmentCutShort()) {
+            synchronized (this) {
+                uncached++;
+            }
+            return report;
+        }
+        synchronized (this) {
+            reports.put(key, report);
+            Iterator<ProgressReport> lru = reports.values().iterator();
+            while (reports.size() > maxEntries) {
+                lru.next();
+                lru.remove();
+                evictions++;
+            }
+        }
+        return report;
+    }
+
+    public synchronized Stats getStats() {
+        long lookups = hits + misses;
+        return new Stats(reports.size(), maxEntries, hits, misses, evictions, uncached,
+                lookups == 0 ? 0 : (double) hits / lookups);
+    }
+
+    public synchronized void clear() {
+        reports.clear();
+    }
+
+    /**
+     * Returns a SHA-256 hash, in hex, of everything evaluating the student
+     * depends on.
+     */
+    static String fingerprint(Student student) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        StringBuilder key = new StringBuilder(64 + 16 * student.getCourses().size());
+        key.append(student.getGradYr()).append('|').append(student.getCatalogVersion()).append('|')
+                .append(student.getAssignmentBudget().toNanos()).append('\n');
+        appendNames(key, "Major", student.getMajors());
+        appendNames(key, "Minor", student.getMinors());
+        for (Course course : student.getCourses()) {
+            // Fields are separated by a character that can't appear in them
+            key.append(course.getCode()).append('\0').append(course.getGrade()).append('\0')
+                    .append(course.getTypeMask()).append('\n');
+        }
+        return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void appendNames(StringBuilder key, String kind, List<Concentration> concentrations) {
+        for (Concentration concentration : concentrations) {
+            key.append(kind).append(": ").append(concentration.getName()).append('\n');
+        }
+    }
+}
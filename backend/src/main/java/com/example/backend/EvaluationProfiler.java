@@ -0,0 +1,243 @@
+package com.example.backend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aggregates what evaluating each concentration and requirement costs,
+ * across every student evaluated while profiling is on: how often it was
+ * evaluated, the time it took, the candidate courses it scanned and the
+ * courses it matched. A requirement can be evaluated several times in one
+ * student's evaluation, once for each assignment the solver tries, so its
+ * evaluation count may exceed its concentration's.
+ *
+ * <p>Profiling is off unless {@code evaluation-profiler.enabled} is set,
+ * and can be turned on and off while the server runs. When it is off a
+ * student's evaluation does no extra work beyond one check per
+ * concentration.
+ */
+@Component
+public class EvaluationProfiler {
+
+    private volatile boolean enabled;
+    private volatile Instant since = Instant.now();
+    private final Map<String, ConcentrationStats> concentrations = new ConcurrentHashMap<>();
+
+    public EvaluationProfiler(@Value("${evaluation-profiler.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public record Profile(boolean enabled, Instant since, List<ConcentrationProfile> concentrations,
+            List<RequirementProfile> requirements) {
+    }
+
+    public record ConcentrationProfile(String concentration, int requirements, long evaluations, long passes,
+            double totalMillis, double meanMillis, double maxMillis, long scanned, long matched) {
+    }
+
+    /**
+     * A requirement's cost, with the shape that drives it: how many course
+     * groups (or sequences) it has and how many of them are XXX wildcards.
+     * Its evaluations count every pass over it, and its max is the most time
+     * one student's evaluation spent on it across all of its passes.
+     */
+    public record RequirementProfile(String concentration, int index, String title, boolean sequence, int groups,
+            int wildcards, long evaluations, double totalMillis, double meanMillis, double maxMillis, long scanned,
+            long matched) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Drops everything recorded so far.
+     */
+    public void reset() {
+        concentrations.clear();
+        since = Instant.now();
+    }
+
+    /**
+     * Starts a sample for one evaluation of a concentration, or returns null
+     * if profiling is off.
+     */
+    Sample start(Concentration concentration) {
+        return enabled ? new Sample(concentration) : null;
+    }
+
+    /**
+     * Adds a finished sample to the totals.
+     */
+    void record(Sample sample, long nanos) {
+        String label = (sample.concentration.isMajmin() ? "Minor: " : "Major: ") + sample.concentration.getName();
+        concentrations.computeIfAbsent(label, ConcentrationStats::new).add(sample, nanos);
+    }
+
+    /**
+     * Returns the concentrations and requirements that took the most time in
+     * total, at most {@code limit} of each, most expensive first.
+     */
+    public Profile getProfile(int limit) {
+        List<ConcentrationProfile> concentrationProfiles = new ArrayList<>();
+        List<RequirementProfile> requirementProfiles = new ArrayList<>();
+        for (ConcentrationStats stats : concentrations.values()) {
+            synchronized (stats) {
+                concentrationProfiles.add(stats.toProfile());
+                for (int r = 0; r < stats.requirements.length; r++) {
+                    requirementProfiles.add(stats.toProfile(r));
+                }
+            }
+        }
+        concentrationProfiles.sort(Comparator.comparingDouble(ConcentrationProfile::totalMillis).reversed());
+        requirementProfiles.sort(Comparator.comparingDouble(RequirementProfile::totalMillis).reversed());
+        return new Profile(enabled, since,
+                concentrationProfiles.subList(0, Math.min(limit, concentrationProfiles.size())),
+                requirementProfiles.subList(0, Math.min(limit, requirementProfiles.size())));
+    }
+
+    /**
+     * The counts for one evaluation of a concentration, filled in by
+     * {@link Student} as it goes. Each pass over the requirements adds to
+     * the same per-requirement counts.
+     */
+    static final class Sample {
+        private final Concentration concentration;
+        private final long[] nanos;
+        private final int[] evaluations;
+        private final long[] scanned;
+        private final long[] matched;
+        private int passes;
+        private int current;
+
+        private Sample(Concentration concentration) {
+            this.concentration = concentration;
+            int size = concentration.getReqs().size();
+            this.nanos = new long[size];
+            this.evaluations = new int[size];
+            this.scanned = new long[size];
+            this.matched = new long[size];
+        }
+
+        void startPass() {
+            passes++;
+        }
+
+        /**
+         * Makes requirement {@code r} the one later scans count toward.
+         */
+        void startRequirement(int r) {
+            current = r;
+        }
+
+        void scan() {
+            scanned[current]++;
+        }
+
+        void endRequirement(long elapsed, int matchedCourses) {
+            nanos[current] += elapsed;
+            evaluations[current]++;
+            matched[current] += matchedCourses;
+        }
+    }
+
+    private static final class ConcentrationStats {
+        private final String label;
+        private RequirementStats[] requirements = new RequirementStats[0];
+        private long evaluations;
+        private long passes;
+        private long totalNanos;
+        private long maxNanos;
+        private long scanned;
+        private long matched;
+
+        ConcentrationStats(String label) {
+            this.label = label;
+        }
+
+        synchronized void add(Sample sample, long nanos) {
+            List<Requirement> reqs = sample.concentration.getReqs();
+            if (requirements.length != reqs.size()) {
+                // A reloaded catalog changed this concentration's requirements
+                requirements = Arrays.copyOf(requirements, reqs.size());
+            }
+            evaluations++;
+            passes += sample.passes;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            for (int r = 0; r < reqs.size(); r++) {
+                if (requirements[r] == null || !requirements[r].title.equals(reqs.get(r).getTitle())) {
+                    requirements[r] = new RequirementStats(reqs.get(r));
+                }
+                requirements[r].add(sample, r);
+                scanned += sample.scanned[r];
+                matched += sample.matched[r];
+            }
+        }
+
+        ConcentrationProfile toProfile() {
+            return new ConcentrationProfile(label, requirements.length, evaluations, passes, millis(totalNanos),
+                    millis(totalNanos) / Math.max(evaluations, 1), millis(maxNanos), scanned, matched);
+        }
+
+        RequirementProfile toProfile(int r) {
+            RequirementStats stats = requirements[r];
+            return new RequirementProfile(label, r, stats.title, stats.sequence, stats.groups, stats.wildcards,
+                    stats.evaluations, millis(stats.totalNanos), millis(stats.totalNanos) / Math.max(stats.evaluations, 1),
+                    millis(stats.maxNanos), stats.scanned, stats.matched);
+        }
+    }
+
+    private static final class RequirementStats {
+        private final String title;
+        private final boolean sequence;
+        private final int groups;
+        private final int wildcards;
+        private long evaluations;
+        private long totalNanos;
+        private long maxNanos;
+        private long scanned;
+        private long matched;
+
+        RequirementStats(Requirement req) {
+            this.title = req.getTitle();
+            this.sequence = req.isSeq();
+            if (sequence) {
+                this.groups = req.getSequences().size();
+                this.wildcards = 0;
+            } else {
+                this.groups = req.getCourseGroups().size();
+                int count = 0;
+                for (int group = 0; group < groups; group++) {
+                    if (req.isWildcardGroup(group)) {
+                        count++;
+                    }
+                }
+                this.wildcards = count;
+            }
+        }
+
+        void add(Sample sample, int r) {
+            evaluations += sample.evaluations[r];
+            totalNanos += sample.nanos[r];
+            maxNanos = Math.max(maxNanos, sample.nanos[r]);
+            scanned += sample.scanned[r];
+            matched += sample.matched[r];
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -1,108 +1,349 @@
 package com.example.backend;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import java.io.File;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.HashMap;
 import java.util.Map;
-
-import org.apache.poi.ss.usermodel.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = { FileUploadController.SESSION_HEADER, FileUploadController.CATALOG_VERSION_HEADER,
+        HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER })
 public class FileUploadController {
 
-    private static Student currentStudent;
+    static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+    static final String SESSION_HEADER = "X-Session-Id";
+
+    private static final Logger log = LoggerFactory.getLogger(FileUploadController.class);
 
+    private final CatalogService catalogService;
+    private final SessionStore sessionStore;
+    private final TranscriptBatchService batchService;
+    private final TranscriptJobService jobService;
+    private final CpuWorkPool cpuWorkPool;
+    private final EvaluationCache evaluationCache;
+    private final PlannerService plannerService;
+    private final EvaluationProfiler evaluationProfiler;
+    private final TranscriptMetrics metrics;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<DropdownOptions> dropdownOptions = new AtomicReference<>();
 
+    public FileUploadController(CatalogService catalogService, SessionStore sessionStore,
+            TranscriptBatchService batchService, TranscriptJobService jobService, CpuWorkPool cpuWorkPool,
+            EvaluationCache evaluationCache, PlannerService plannerService, EvaluationProfiler evaluationProfiler,
+            TranscriptMetrics metrics, ObjectMapper objectMapper) {
+        this.catalogService = catalogService;
+        this.sessionStore = sessionStore;
+        this.batchService = batchService;
+        this.jobService = jobService;
+        this.cpuWorkPool = cpuWorkPool;
+        this.evaluationCache = evaluationCache;
+        this.plannerService = plannerService;
+        this.evaluationProfiler = evaluationProfiler;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    public record UploadResult(String jobId, String message) {
+    }
+
+    /**
+     * Queues the uploaded transcript for parsing and returns its job ID at
+     * once. The job's status at /api/jobs/{id} carries the session ID to send
+     * back in the X-Session-Id header once parsing is done. Majors and minors
+     * may be selected with the upload to have the job evaluate them too. If
+     * the queue is full the upload is rejected with 503 and a Retry-After.
+     */
     @PostMapping("/upload")
-    public String handleFileUpload(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<UploadResult> handleFileUpload(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "dropdown1", required = false) List<String> selectedDropdown1,
+            @RequestParam(value = "dropdown2", required = false) List<String> selectedDropdown2) {
+        byte[] pdf;
         try {
+            pdf = metrics.time(TranscriptMetrics.Stage.RECEIVE, file::getBytes);
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new UploadResult(null, "File upload failed: " + e.getMessage()));
+        }
 
-            // Save the file temporarily
-            String uploadDir = System.getProperty("user.dir") + "/uploads/";
-            File dir = new File(uploadDir);
-            if (!dir.exists()) dir.mkdirs(); // Create directory if not exists
-
-            File savedFile = new File(uploadDir + file.getOriginalFilename());
-            file.transferTo(savedFile);
+        TranscriptJob job;
+        try {
+            job = jobService.submit(file.getOriginalFilename(), pdf,
+                    selectedDropdown1 == null ? List.of() : selectedDropdown1,
+                    selectedDropdown2 == null ? List.of() : selectedDropdown2);
+        } catch (RejectedExecutionException e) {
+            long retryAfter = jobService.getRetryAfter().toSeconds();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter))
+                    .body(new UploadResult(null, "Server is busy, please retry in " + retryAfter + " seconds."));
+        }
 
-            // Process the uploaded PDF using PDFParser
-            PDFParser.processPDF(savedFile.getAbsolutePath());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(new UploadResult(job.getId(), "File queued for processing: " + file.getOriginalFilename()));
+    }
 
-            return "File processed successfully: " + file.getOriginalFilename();
+    /**
+     * Parses a cohort of transcripts, given as PDFs and/or zip archives of
+     * PDFs, in parallel. Each transcript gets its own advising session; the
+     * response lists the session ID or error for every transcript along with
+     * throughput for the whole batch.
+     */
+    @PostMapping("/upload-batch")
+    public ResponseEntity<TranscriptBatchService.BatchResult> handleBatchUpload(@RequestParam("files") List<MultipartFile> files) {
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(batchService.ingest(files));
         } catch (IOException e) {
-            return "File upload failed: " + e.getMessage();
-        } catch (Exception e) {
-            return "Error processing file: " + e.getMessage();
+            return ResponseEntity.internalServerError().build();
         }
     }
     
-    @GetMapping("/dropdown-options")
-    public Map<String, List<String>> getDropdownOptions() {
-        Sheet majors = new SheetGenerator("src\\main\\resources\\Major-List.xlsx").getSheet();
-        Sheet minors = new SheetGenerator("src\\main\\resources\\Minor-List.xlsx").getSheet();
-
-        ArrayList<String> majorList = new ArrayList<>();
-
-        for(Row row : majors) {
-            //System.out.println(row.getCell(0).toString());
-            majorList.add(row.getCell(0).toString());
+    /**
+     * Exports the session's parsed transcript as a spreadsheet in the layout
+     * read by {@link Driver#readCourses}.
+     */
+    @GetMapping("/transcript.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportTranscript(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return ResponseEntity.notFound().build();
         }
 
-        ArrayList<String> minorList = new ArrayList<>();
+        StreamingResponseBody body = out -> {
+            metrics.time(TranscriptMetrics.Stage.WORKBOOK, () -> {
+                try (Workbook workbook = PDFParser.createWorkbook(session.getCourses())) {
+                    workbook.write(out);
+                }
+                return null;
+            });
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"ParsedTranscript.xlsx\"")
+                .body(body);
+    }
 
-        for(Row row : minors) {
-            //System.out.println(row.getCell(0).toString());
-            minorList.add(row.getCell(0).toString());
-        }
-    
-        Map<String, List<String>> options = new HashMap<>();
-        options.put("dropdown1", majorList);
-        options.put("dropdown2", minorList);
+    /**
+     * Serves the prebuilt option lists. Browsers revalidate with If-None-Match
+     * and get a 304 until the catalog's lists change.
+     */
+    @GetMapping("/dropdown-options")
+    public ResponseEntity<byte[]> getDropdownOptions() {
+        DropdownOptions options = currentDropdownOptions();
     
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(options.getETag())
+                .header(CATALOG_VERSION_HEADER, Long.toString(options.getCatalogVersion()))
+                .body(options.getBody());
+    }
+
+    private DropdownOptions currentDropdownOptions() {
+        RequirementsCatalog catalog = catalogService.current();
+        DropdownOptions options = dropdownOptions.get();
+        if (options == null || options.getCatalogVersion() != catalog.getVersion()) {
+            options = DropdownOptions.from(catalog, objectMapper);
+            dropdownOptions.set(options);
+        }
         return options;
     }
 
     @PostMapping("/submit-selections")
-    public String handleSelections(@RequestBody Map<String, List<String>> selections) {
+    public ResponseEntity<String> handleSelections(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestBody Map<String, List<String>> selections) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return noSession();
+        }
+
         List<String> selectedDropdown1 = selections.get("dropdown1");
         List<String> selectedDropdown2 = selections.get("dropdown2");
 
-        System.out.println("Received selections:");
-        System.out.println("Dropdown 1: " + selectedDropdown1);
-        System.out.println("Dropdown 2: " + selectedDropdown2);
+        log.debug("Received selections: dropdown1={} dropdown2={}", selectedDropdown1, selectedDropdown2);
 
-        ArrayList<Concentration> majors = new ArrayList<>();
-        for (String str : selectedDropdown1) {
-            majors.add(new Concentration(false, str));
+        // Build every concentration from the same catalog snapshot
+        RequirementsCatalog catalog = catalogService.current();
+
+        // Store the generated Student object with the session. It is only
+        // evaluated once its progress is asked for, on the CPU pool
+        Student student;
+        try {
+            student = Driver.generatePlanner(session.getCourses(), selectedDropdown1, selectedDropdown2, catalog);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error evaluating selections: " + e.getMessage());
+        }
+        if (sessionStore.update(session.getId(), s -> s.withStudent(student)) == null) {
+            return noSession();
         }
 
-        ArrayList<Concentration> minors = new ArrayList<>();
-        for (String str : selectedDropdown2) {
-            minors.add(new Concentration(true, str));
+        return ResponseEntity.ok()
+                .header(SESSION_HEADER, session.getId())
+                .header(CATALOG_VERSION_HEADER, Long.toString(catalog.getVersion()))
+                .body("Selections received successfully!");
+    }
+
+
+    @GetMapping("/student-progress")
+    public ResponseEntity<String> getStudentProgress(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return noSession();
         }
 
-        // Store the generated Student object
-        currentStudent = Driver.generatePlanner("output\\ParsedTranscript.xlsx", majors, minors);
+        // The Student object is created in handleSelections()
+        Student student = session.getStudent();
+        if (student == null) {
+            return noSelections();
+        }
 
-        return "Selections received successfully!";
+        String progress;
+        try {
+            ProgressReport report = getReport(student);
+            progress = metrics.time(TranscriptMetrics.Stage.REPORT, report::toText);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error evaluating progress: " + e.getMessage());
+        }
+        return ResponseEntity.ok()
+                .header(SESSION_HEADER, session.getId())
+                .header(CATALOG_VERSION_HEADER, Long.toString(student.getCatalogVersion()))
+                .body(progress);
     }
 
+    /**
+     * Serves the same progress as /api/student-progress as JSON, one object
+     * per requirement.
+     */
+    @GetMapping("/student-progress.json")
+    public ResponseEntity<?> getStudentProgressReport(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return noSession();
+        }
+        Student student = session.getStudent();
+        if (student == null) {
+            return noSelections();
+        }
+
+        ProgressReport report;
+        byte[] json;
+        try {
+            report = getReport(student);
+            json = metrics.time(TranscriptMetrics.Stage.REPORT, () -> objectMapper.writeValueAsBytes(report));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error evaluating progress: " + e.getMessage());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(SESSION_HEADER, session.getId())
+                .header(CATALOG_VERSION_HEADER, Long.toString(report.catalogVersion()))
+                .body(json);
+    }
 
-    @GetMapping("/student-progress")
-    public String getStudentProgress() {
-        // Assuming the Student object was created in handleSelections()
-        if (currentStudent == null) {
-            return "No student data available. Please submit your selections first.";
+    /**
+     * Shows what adding, dropping or regrading courses would do to the
+     * session's progress, without changing the session. Only the
+     * requirements whose progress would differ are returned.
+     */
+    @PostMapping("/what-if")
+    public ResponseEntity<?> whatIf(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestBody List<CourseChange> changes) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return noSession();
+        }
+        Student student = session.getStudent();
+        if (student == null) {
+            return noSelections();
+        }
+
+        ProgressDelta delta;
+        try {
+            delta = cpuWorkPool.call(() -> student.whatIf(changes, evaluationProfiler));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error evaluating changes: " + e.getMessage());
+        }
+        return ResponseEntity.ok()
+                .header(SESSION_HEADER, session.getId())
+                .header(CATALOG_VERSION_HEADER, Long.toString(student.getCatalogVersion()))
+                .body(delta);
+    }
+
+    /**
+     * Plans the session's remaining terms, from {@code start} (e.g. "Fall
+     * 2025", by default the next term to begin) through the spring of
+     * {@code gradYear} (by default the graduation year estimated from the
+     * transcript), and returns the best plans found within the planner's time
+     * budget.
+     */
+    @GetMapping("/degree-plan")
+    public ResponseEntity<?> getDegreePlan(@RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            @RequestParam(value = "start", required = false) String start,
+            @RequestParam(value = "gradYear", required = false) Integer gradYear,
+            @RequestParam(value = "maxPlans", required = false) Integer maxPlans) {
+        AdvisingSession session = sessionStore.get(sessionId);
+        if (session == null) {
+            return noSession();
+        }
+        Student student = session.getStudent();
+        if (student == null) {
+            return noSelections();
+        }
+
+        DegreePlanner.Result result;
+        try {
+            Term first = start != null ? Term.parse(start) : Term.after(LocalDate.now());
+            Term graduation = Term.graduation(gradYear != null ? gradYear : student.getGradYr());
+            result = plannerService.plan(student, first, graduation,
+                    maxPlans != null ? maxPlans : plannerService.getMaxPlans());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Error planning terms: " + e.getMessage());
         }
+        return ResponseEntity.ok()
+                .header(SESSION_HEADER, session.getId())
+                .header(CATALOG_VERSION_HEADER, Long.toString(student.getCatalogVersion()))
+                .body(result);
+    }
+
+    /**
+     * Returns the student's progress report, evaluating it on the CPU pool
+     * if it isn't cached.
+     */
+    private ProgressReport getReport(Student student) throws Exception {
+        return cpuWorkPool.call(() -> evaluationCache.getReport(student));
+    }
+
+    private static ResponseEntity<String> noSession() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body("No transcript found for this session. Please upload your transcript first.");
+    }
 
-        return currentStudent.getProgressString();
+    private static ResponseEntity<String> noSelections() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Please submit your selections first.");
     }
 
 
@@ -0,0 +1,75 @@
+package com.example.backend;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The grades that count toward a minimum grade requirement, ranked so that
+ * meeting a minimum is a single comparison of ranks. Courses in progress,
+ * transfer credit and AP credit always meet a minimum. Any other grade,
+ * such as "W" or "P", is UNRANKED and meets only a minimum that isn't on
+ * this scale either.
+ */
+public enum Grade {
+    UNRANKED(null, 0),
+    F("F", 1),
+    D_MINUS("D-", 2),
+    D("D", 3),
+    D_PLUS("D+", 4),
+    C_MINUS("C-", 5),
+    C("C", 6),
+    C_PLUS("C+", 7),
+    B_MINUS("B-", 8),
+    B("B", 9),
+    B_PLUS("B+", 10),
+    A_MINUS("A-", 11),
+    A("A", 12),
+    IN_PROGRESS("CIP", 13),
+    NOT_APPLICABLE("N/A", 13),
+    TRANSFER("T", 13);
+
+    private static final Map<String, Grade> BY_CODE = new HashMap<>();
+
+    static {
+        for (Grade grade : values()) {
+            if (grade.code != null) {
+                BY_CODE.put(grade.code, grade);
+            }
+        }
+    }
+
+    private final String code;
+    private final byte rank;
+
+    Grade(String code, int rank) {
+        this.code = code;
+        this.rank = (byte) rank;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public byte getRank() {
+        return rank;
+    }
+
+    public boolean meets(Grade minimum) {
+        return rank >= minimum.rank;
+    }
+
+    /**
+     * Returns the grade for a transcript grade, ignoring surrounding spaces.
+     */
+    public static Grade fromTranscript(String grade) {
+        return grade == null ? UNRANKED : fromCode(grade.trim());
+    }
+
+    /**
+     * Returns the grade for a minimum grade requirement, which is looked up
+     * exactly as written.
+     */
+    public static Grade fromCode(String code) {
+        return BY_CODE.getOrDefault(code, UNRANKED);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.backend;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Status of transcript uploads queued by /api/upload. Clients either poll
+ * /api/jobs/{id} or subscribe to /api/jobs/{id}/events, which sends a
+ * "status" event on every state change and closes once the job is finished.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "*")
+public class JobController {
+
+    private final TranscriptJobService jobService;
+    private final Duration eventsTimeout;
+
+    public JobController(TranscriptJobService jobService, @Value("${jobs.events-timeout:2m}") Duration eventsTimeout) {
+        this.jobService = jobService;
+        this.eventsTimeout = eventsTimeout;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TranscriptJob.Status> getJob(@PathVariable String id) {
+        TranscriptJob job = jobService.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job.getStatus());
+    }
+
+    @GetMapping("/{id}/events")
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable String id) {
+        TranscriptJob job = jobService.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(eventsTimeout.toMillis());
+        job.subscribe(emitter);
+        return ResponseEntity.ok(emitter);
+    }
+}
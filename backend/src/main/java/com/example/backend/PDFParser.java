@@ -2,6 +2,7 @@ package com.example.backend;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Consumer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -10,6 +11,9 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 public class PDFParser {
 
+    // Where processPDF and constructSheet write when no output path is given
+    private static final String DEFAULT_OUTPUT_PATH = "output\\ParsedTranscript.xlsx";
+
     // Magic number constants
     private static final int COLUMN_SPLIT_INDEX = 69;
 
@@ -41,144 +45,157 @@ public class PDFParser {
     private static final int COL_CREDITS = 3;
     private static final int COL_TERM = 4;
     private static final int COL_GRADE = 5;
-    private static final int COL_WAC = 6;
-    private static final int COL_WACR = 7;
-    private static final int COL_WS = 8;
-    private static final int COL_JCAD = 9;
-    private static final int COL_GCAD = 10;
-    private static final int COL_JDQR = 11;
-    private static final int COL_GDQR = 12;
-    private static final int COL_JLIT = 13;
-    private static final int COL_GLIT = 14;
-    private static final int COL_JSPE = 15;
-    private static final int COL_GSPE = 16;
-    private static final int COL_JCHF = 17;
-    private static final int COL_GCHF = 18;
-    private static final int COL_JETS = 19;
-    private static final int COL_GETS = 20;
-    private static final int COL_JNPS = 21;
-    private static final int COL_GNPS = 22;
-    private static final int COL_JWOL = 23;
-    private static final int COL_GWOL = 24;
-    private static final int COL_HUL = 25;
-    private static final int COL_HUM = 26;
-    private static final int COL_LCC = 27;
-    private static final int COL_SCLB = 28;
-    private static final int COL_QMR = 29;
-    private static final int COL_SET = 30;
-    private static final int COL_SOCS = 31;
+    private static final int COL_FIRST_TYPE = 6;
     private static final int FIRST_DATA_ROW_INDEX = 1;
 
+    // Course types, one sheet column each starting at COL_FIRST_TYPE
+    private static final CourseType[] COURSE_TYPES = CourseType.values();
+
     // Constants for term header conversion
     private static final int TERM_HEADER_YEAR_PART_END = 17;
     private static final int TERM_YEAR_SUFFIX_LENGTH = 2;
     private static final int TERM_CODE_END_INDEX = 2;
 
-    // New constants for regex patterns
+    // Constants for line classification. A course line is "^[A-Z]{3} \\d{3}[A-Z]? .*",
+    // a term header ".*Term \\d{4}.*" and a course type "^[A-Z-]{3,6}$"
     private static final int COURSE_LINE_LETTER_COUNT = 3;
     private static final int COURSE_LINE_DIGIT_COUNT = 3;
-    private static final String COURSE_LINE_REGEX =
-        "^[A-Z]{" + COURSE_LINE_LETTER_COUNT + "} \\d{" + COURSE_LINE_DIGIT_COUNT + "}[A-Z]? .*";
 
+    private static final String TERM_HEADER_KEYWORD = "Term ";
     private static final int TERM_YEAR_DIGIT_COUNT = 4;
-    private static final String TERM_HEADER_REGEX =
-        ".*Term \\d{" + TERM_YEAR_DIGIT_COUNT + "}.*";
 
     private static final int COURSE_TYPE_MIN_LENGTH = 3;
     private static final int COURSE_TYPE_MAX_LENGTH = 6;
-    private static final String COURSE_TYPE_REGEX =
-        "^[A-Z-]{" + COURSE_TYPE_MIN_LENGTH + "," + COURSE_TYPE_MAX_LENGTH + "}$";
 
     public static void main(String[] args) {
         processPDF("src\\main\\resources\\Secrist_Liam_2686252_2_14_2025.pdf");
     }
 
+    /**
+     * Parses a transcript PDF and writes its courses to output\ParsedTranscript.xlsx.
+     */
     public static void processPDF(String path) {
-        try {
-            
-            File file = new File(path);
-            PDDocument document = PDDocument.load(file);
-            PDFTextStripper pdfStripper = new PDFTextStripper();
-            String text = pdfStripper.getText(document);
-            document.close();
-
-            // Process text and reorder columns correctly
-            List<String> firstColumnLines = new ArrayList<>();
-            List<String> secondColumnLines = new ArrayList<>();
-            reorderColumns(text, firstColumnLines, secondColumnLines);
-
-            // Keep only necessary lines
-            firstColumnLines = filterNecessaryLines(firstColumnLines);
-            secondColumnLines = filterNecessaryLines(secondColumnLines);
-
-            // Associate standalone course types with their courses
-            firstColumnLines = associateCourseTypes(firstColumnLines);
-            secondColumnLines = associateCourseTypes(secondColumnLines);
-
-            firstColumnLines.addAll(secondColumnLines);
-
-            
-            constructSheet(firstColumnLines);
+        processPDF(path, DEFAULT_OUTPUT_PATH);
+    }
 
+    /**
+     * Parses a transcript PDF and writes its courses to the given sheet. Every
+     * parse keeps its own state, so transcripts can be processed concurrently
+     * as long as each one is given its own output path.
+     */
+    public static void processPDF(String path, String outputPath) {
+        try (PDDocument document = PDDocument.load(new File(path))) {
+            writeSheet(createWorkbook(TranscriptStreamParser.parse(document)), outputPath);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Parses a transcript PDF straight into courses, without writing any
+     * intermediate files. Text is parsed line by line as it is extracted, so
+     * the full document text is never held in memory.
+     */
+    public static List<Course> parseTranscript(InputStream pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf)) {
+            return TranscriptStreamParser.parse(document);
+        }
+    }
+
+    /**
+     * Extracts the term header and course lines from a transcript, with the
+     * second page column following the first. This reads the whole document
+     * text at once; {@link TranscriptStreamParser} gives the same courses
+     * incrementally.
+     */
+    public static List<TranscriptLine> extractLines(PDDocument document) throws IOException {
+        PDFTextStripper pdfStripper = new PDFTextStripper();
+        String text = pdfStripper.getText(document);
+
+        // Process text and reorder columns correctly
+        List<String> firstColumnLines = new ArrayList<>();
+        List<String> secondColumnLines = new ArrayList<>();
+        reorderColumns(text, firstColumnLines, secondColumnLines);
+
+        // Keep only necessary lines, labelling each one
+        List<TranscriptLine> firstColumn = classifyLines(firstColumnLines);
+        List<TranscriptLine> secondColumn = classifyLines(secondColumnLines);
+
+        // Associate standalone course types with their courses
+        firstColumn = associateCourseTypes(firstColumn);
+        secondColumn = associateCourseTypes(secondColumn);
+
+        firstColumn.addAll(secondColumn);
+        return firstColumn;
+    }
+
     public static void reorderColumns(String text, List<String> firstColumn, List<String> secondColumn) {
         String[] lines = text.split("\n");
 
         for (String line : lines) {
-            if (line.length() > COLUMN_SPLIT_INDEX) {  // Split at character index 69 (zero-based 68)
-                String firstPart = line.substring(0, COLUMN_SPLIT_INDEX).trim();
-                String secondPart = line.substring(COLUMN_SPLIT_INDEX).trim();
+            splitColumns(line, firstColumn::add, secondColumn::add);
+        }
+    }
 
-                if (!firstPart.isEmpty()) {
-                    firstColumn.add(firstPart);
-                }
-                if (!secondPart.isEmpty()) {
-                    secondColumn.add(secondPart);
-                }
-            } else {
-                firstColumn.add(line.trim());
+    /**
+     * Splits one line of page text into its first and second column parts.
+     */
+    static void splitColumns(String line, Consumer<String> firstColumn, Consumer<String> secondColumn) {
+        if (line.length() > COLUMN_SPLIT_INDEX) {  // Split at character index 69 (zero-based 68)
+            String firstPart = line.substring(0, COLUMN_SPLIT_INDEX).trim();
+            String secondPart = line.substring(COLUMN_SPLIT_INDEX).trim();
+
+            if (!firstPart.isEmpty()) {
+                firstColumn.accept(firstPart);
+            }
+            if (!secondPart.isEmpty()) {
+                secondColumn.accept(secondPart);
             }
+        } else {
+            firstColumn.accept(line.trim());
         }
     }
 
-    public static List<String> filterNecessaryLines(List<String> lines) {
-        List<String> necessaryLines = new ArrayList<>();
+    /**
+     * Classifies each line once and keeps only the course lines, term headers
+     * and course types.
+     */
+    public static List<TranscriptLine> classifyLines(List<String> lines) {
+        List<TranscriptLine> necessaryLines = new ArrayList<>();
         for (String line : lines) {
-            if (isCourseLine(line) || isTermHeader(line) || isCourseType(line)) {
-                necessaryLines.add(line);
+            String text = line.trim();
+            TranscriptLine.Kind kind = classify(text);
+            if (kind != TranscriptLine.Kind.OTHER) {
+                necessaryLines.add(new TranscriptLine(kind, text));
             }
         }
         return necessaryLines;
     }
 
-    public static List<String> associateCourseTypes(List<String> lines) {
-        List<String> structuredLines = new ArrayList<>();
-        String lastCourse = null;
+    public static List<TranscriptLine> associateCourseTypes(List<TranscriptLine> lines) {
+        List<TranscriptLine> structuredLines = new ArrayList<>();
+        StringBuilder lastCourse = null;
 
-        for (String line : lines) {
-            if (isCourseLine(line)) {
+        for (TranscriptLine line : lines) {
+            if (line.kind() == TranscriptLine.Kind.COURSE) {
                 if (lastCourse != null) {
-                    structuredLines.add(lastCourse);
+                    structuredLines.add(new TranscriptLine(TranscriptLine.Kind.COURSE, lastCourse.toString()));
                 }
-                lastCourse = line.trim();
-            } else if (isCourseType(line)) {
+                lastCourse = new StringBuilder(line.text());
+            } else if (line.kind() == TranscriptLine.Kind.COURSE_TYPE) {
                 if (lastCourse != null) {
-                    lastCourse += " " + line.trim();
+                    lastCourse.append(' ').append(line.text());
                 }
             } else {
                 if (lastCourse != null) {
-                    structuredLines.add(lastCourse);
+                    structuredLines.add(new TranscriptLine(TranscriptLine.Kind.COURSE, lastCourse.toString()));
                     lastCourse = null;
                 }
-                structuredLines.add(line.trim());
+                structuredLines.add(line);
             }
         }
         if (lastCourse != null) {
-            structuredLines.add(lastCourse);
+            structuredLines.add(new TranscriptLine(TranscriptLine.Kind.COURSE, lastCourse.toString()));
         }
         return structuredLines;
     }
@@ -212,158 +229,134 @@ public class PDFParser {
         }
     }
 
-    public static String constructSheet(List<String> lines) {
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("transcript");
-
-        Row row = sheet.createRow(HEADER_ROW_INDEX);
-        row.createCell(COL_COURSE_NAME).setCellValue("Course Name");
-        row.createCell(COL_TITLE).setCellValue("Title");
-        row.createCell(COL_COURSE_STATUS).setCellValue("Course Status");
-        row.createCell(COL_CREDITS).setCellValue("Credits");
-        row.createCell(COL_TERM).setCellValue("Term");
-        row.createCell(COL_GRADE).setCellValue("Grade");
-        row.createCell(COL_WAC).setCellValue("WAC");
-        row.createCell(COL_WACR).setCellValue("WAC-R");
-        row.createCell(COL_WS).setCellValue("WS");
-        row.createCell(COL_JCAD).setCellValue("JCAD");
-        row.createCell(COL_GCAD).setCellValue("GCAD");
-        row.createCell(COL_JDQR).setCellValue("JDQR");
-        row.createCell(COL_GDQR).setCellValue("GDQR");
-        row.createCell(COL_JLIT).setCellValue("JLIT");
-        row.createCell(COL_GLIT).setCellValue("GLIT");
-        row.createCell(COL_JSPE).setCellValue("JSPE");
-        row.createCell(COL_GSPE).setCellValue("GSPE");
-        row.createCell(COL_JCHF).setCellValue("JCHF");
-        row.createCell(COL_GCHF).setCellValue("GCHF");
-        row.createCell(COL_JETS).setCellValue("JETS");
-        row.createCell(COL_GETS).setCellValue("GETS");
-        row.createCell(COL_JNPS).setCellValue("JNPS");
-        row.createCell(COL_GNPS).setCellValue("GNPS");
-        row.createCell(COL_JWOL).setCellValue("JWOL");
-        row.createCell(COL_GWOL).setCellValue("GWOL");
-        row.createCell(COL_HUL).setCellValue("HUL");
-        row.createCell(COL_HUM).setCellValue("HUM");
-        row.createCell(COL_LCC).setCellValue("LCC");
-        row.createCell(COL_SCLB).setCellValue("SCLB");
-        row.createCell(COL_QMR).setCellValue("QMR");
-        row.createCell(COL_SET).setCellValue("SET");
-        row.createCell(COL_SOCS).setCellValue("SOCS");
-
-
-        String currentTerm = null;
+    /**
+     * Builds courses from extracted transcript lines. Courses listed before the
+     * first term header are transfer credit and get a grade of "T".
+     */
+    public static List<Course> parseCourses(List<TranscriptLine> lines) {
+        List<Course> courses = new ArrayList<>();
         String currentTermCode = null;
-        int currentRow = FIRST_DATA_ROW_INDEX;
-
-        for (String line : lines) {
-            row = sheet.createRow(currentRow);
 
-            if (isTermHeader(line)) {
-                currentTerm = line.trim();
-                currentTermCode = convertTermToCode(currentTerm);
-                currentRow--;
-            } else if (isCourseLine(line) && currentTermCode != null) {
-                String courseCode = line.substring(COURSE_WITH_TERM_COURSE_CODE_START, COURSE_WITH_TERM_COURSE_CODE_END).trim().replace(" ", "-");
-                String title = line.substring(COURSE_WITH_TERM_TITLE_START, COURSE_WITH_TERM_TITLE_END).trim();
-                String grade = line.substring(COURSE_WITH_TERM_GRADE_START, COURSE_WITH_TERM_GRADE_END).trim();
-                String credits = line.substring(COURSE_WITH_TERM_CREDITS_START, COURSE_WITH_TERM_CREDITS_END).trim();
-                String types = line.length() > COURSE_WITH_TERM_TYPES_START ? line.substring(COURSE_WITH_TERM_TYPES_START).trim().replace(" ", ", ") : "N/A";
-                types = types.replace("WAC-", "WAC-R");
-                    
-                row.createCell(COL_COURSE_NAME).setCellValue(courseCode);
-                row.createCell(COL_TITLE).setCellValue(title);
-                row.createCell(COL_COURSE_STATUS).setCellValue("N");
-                row.createCell(COL_CREDITS).setCellValue(credits);
-                row.createCell(COL_TERM).setCellValue(currentTermCode);
-                row.createCell(COL_GRADE).setCellValue(grade);
-                row.createCell(COL_WAC).setCellValue(types.contains("WAC"));
-                row.createCell(COL_WACR).setCellValue(types.contains("WAC-R"));
-                row.createCell(COL_WS).setCellValue(types.contains("WS"));
-                row.createCell(COL_JCAD).setCellValue(types.contains("JCAD"));
-                row.createCell(COL_GCAD).setCellValue(types.contains("GCAD"));
-                row.createCell(COL_JDQR).setCellValue(types.contains("JDQR"));
-                row.createCell(COL_GDQR).setCellValue(types.contains("GDQR"));
-                row.createCell(COL_JLIT).setCellValue(types.contains("JLIT"));
-                row.createCell(COL_GLIT).setCellValue(types.contains("GLIT"));
-                row.createCell(COL_JSPE).setCellValue(types.contains("JSPE"));
-                row.createCell(COL_GSPE).setCellValue(types.contains("GSPE"));
-                row.createCell(COL_JCHF).setCellValue(types.contains("JCHF"));
-                row.createCell(COL_GCHF).setCellValue(types.contains("GCHF"));
-                row.createCell(COL_JETS).setCellValue(types.contains("JETS"));
-                row.createCell(COL_GETS).setCellValue(types.contains("GETS"));
-                row.createCell(COL_JNPS).setCellValue(types.contains("JNPS"));
-                row.createCell(COL_GNPS).setCellValue(types.contains("GNPS"));
-                row.createCell(COL_JWOL).setCellValue(types.contains("JWOL"));
-                row.createCell(COL_GWOL).setCellValue(types.contains("GWOL"));
-                row.createCell(COL_HUL).setCellValue(types.contains("HUL"));
-                row.createCell(COL_HUM).setCellValue(types.contains("HUM"));
-                row.createCell(COL_LCC).setCellValue(types.contains("LCC"));
-                row.createCell(COL_SCLB).setCellValue(types.contains("SCLB"));
-                row.createCell(COL_QMR).setCellValue(types.contains("QMR"));
-                row.createCell(COL_SET).setCellValue(types.contains("SET"));
-                row.createCell(COL_SOCS).setCellValue(types.contains("SOCS"));
+        for (TranscriptLine transcriptLine : lines) {
+            if (transcriptLine.kind() == TranscriptLine.Kind.TERM_HEADER) {
+                currentTermCode = convertTermToCode(transcriptLine.text());
+            } else if (transcriptLine.kind() == TranscriptLine.Kind.COURSE) {
+                courses.add(parseCourseLine(transcriptLine.text(), currentTermCode));
+            }
+        }
+        return courses;
+    }
 
+    /**
+     * Builds the course on one course line, with any wrapped course types
+     * already appended. A null term code marks transfer credit.
+     */
+    static Course parseCourseLine(String line, String currentTermCode) {
+        if (currentTermCode != null) {
+            String courseCode = line.substring(COURSE_WITH_TERM_COURSE_CODE_START, COURSE_WITH_TERM_COURSE_CODE_END).trim().replace(" ", "-");
+            String title = line.substring(COURSE_WITH_TERM_TITLE_START, COURSE_WITH_TERM_TITLE_END).trim();
+            String grade = line.substring(COURSE_WITH_TERM_GRADE_START, COURSE_WITH_TERM_GRADE_END).trim();
+            String credits = line.substring(COURSE_WITH_TERM_CREDITS_START, COURSE_WITH_TERM_CREDITS_END).trim();
+            String types = line.length() > COURSE_WITH_TERM_TYPES_START ? line.substring(COURSE_WITH_TERM_TYPES_START).trim().replace(" ", ", ") : "N/A";
+            types = types.replace("WAC-", "WAC-R");
+
+            String year = currentTermCode.substring(0, TERM_YEAR_SUFFIX_LENGTH);
+            String term = currentTermCode.substring(TERM_YEAR_SUFFIX_LENGTH + 1);
+            return new Course(term, year, courseCode, title, parseTypes(types), parseCredits(credits), grade);
+        } else {
+            String courseCode = line.substring(COURSE_WITHOUT_TERM_COURSE_CODE_START, COURSE_WITHOUT_TERM_COURSE_CODE_END).trim().replace(" ", "-");
+            String title = line.substring(COURSE_WITHOUT_TERM_TITLE_START, COURSE_WITHOUT_TERM_TITLE_END).trim();
+            String credits = line.substring(COURSE_WITHOUT_TERM_CREDITS_START, COURSE_WITHOUT_TERM_CREDITS_END).trim();
+            String types = line.length() > COURSE_WITHOUT_TERM_TYPES_START ? line.substring(COURSE_WITHOUT_TERM_TYPES_START).trim().replace(" ", ", ") : "N/A";
+            types = types.replace("WAC-", "WAC-R");
+
+            return new Course(null, null, courseCode, title, parseTypes(types), parseCredits(credits), "T");
+        }
+    }
 
-            } else if (isCourseLine(line) && currentTermCode == null){
-                String courseCode = line.substring(COURSE_WITHOUT_TERM_COURSE_CODE_START, COURSE_WITHOUT_TERM_COURSE_CODE_END).trim().replace(" ", "-");
-                String title = line.substring(COURSE_WITHOUT_TERM_TITLE_START, COURSE_WITHOUT_TERM_TITLE_END).trim();
-                String credits = line.substring(COURSE_WITHOUT_TERM_CREDITS_START, COURSE_WITHOUT_TERM_CREDITS_END).trim();
-                String types = line.length() > COURSE_WITHOUT_TERM_TYPES_START ? line.substring(COURSE_WITHOUT_TERM_TYPES_START).trim().replace(" ", ", ") : "N/A";
-                types = types.replace("WAC-", "WAC-R");
-                    
-                row.createCell(COL_COURSE_NAME).setCellValue(courseCode);
-                row.createCell(COL_TITLE).setCellValue(title);
-                row.createCell(COL_COURSE_STATUS).setCellValue("Non-Course Equivalency");
-                row.createCell(COL_CREDITS).setCellValue(credits);
-                row.createCell(COL_TERM).setCellValue("");
-                row.createCell(COL_GRADE).setCellValue("T");
-                row.createCell(COL_WAC).setCellValue(types.contains("WAC"));
-                row.createCell(COL_WACR).setCellValue(types.contains("WAC-R"));
-                row.createCell(COL_WS).setCellValue(types.contains("WS"));
-                row.createCell(COL_JCAD).setCellValue(types.contains("JCAD"));
-                row.createCell(COL_GCAD).setCellValue(types.contains("GCAD"));
-                row.createCell(COL_JDQR).setCellValue(types.contains("JDQR"));
-                row.createCell(COL_GDQR).setCellValue(types.contains("GDQR"));
-                row.createCell(COL_JLIT).setCellValue(types.contains("JLIT"));
-                row.createCell(COL_GLIT).setCellValue(types.contains("GLIT"));
-                row.createCell(COL_JSPE).setCellValue(types.contains("JSPE"));
-                row.createCell(COL_GSPE).setCellValue(types.contains("GSPE"));
-                row.createCell(COL_JCHF).setCellValue(types.contains("JCHF"));
-                row.createCell(COL_GCHF).setCellValue(types.contains("GCHF"));
-                row.createCell(COL_JETS).setCellValue(types.contains("JETS"));
-                row.createCell(COL_GETS).setCellValue(types.contains("GETS"));
-                row.createCell(COL_JNPS).setCellValue(types.contains("JNPS"));
-                row.createCell(COL_GNPS).setCellValue(types.contains("GNPS"));
-                row.createCell(COL_JWOL).setCellValue(types.contains("JWOL"));
-                row.createCell(COL_GWOL).setCellValue(types.contains("GWOL"));
-                row.createCell(COL_HUL).setCellValue(types.contains("HUL"));
-                row.createCell(COL_HUM).setCellValue(types.contains("HUM"));
-                row.createCell(COL_LCC).setCellValue(types.contains("LCC"));
-                row.createCell(COL_SCLB).setCellValue(types.contains("SCLB"));
-                row.createCell(COL_QMR).setCellValue(types.contains("QMR"));
-                row.createCell(COL_SET).setCellValue(types.contains("SET"));
-                row.createCell(COL_SOCS).setCellValue(types.contains("SOCS"));
+    /**
+     * Picks the course types out of a comma separated list, one entry at a
+     * time, so a "WAC-R" course is not also a "WAC" course. Entries that
+     * aren't course types, such as "N/A", are skipped.
+     */
+    private static ArrayList<String> parseTypes(String types) {
+        ArrayList<String> list = new ArrayList<>();
+        for (String code : types.split(",")) {
+            CourseType type = CourseType.fromTranscriptCode(code.trim());
+            if (type != null) {
+                list.add(type.getCode());
             }
+        }
+        return list;
+    }
 
-            currentRow++;
+    private static int parseCredits(String credits) {
+        try {
+            return (int) Double.parseDouble(credits);
+        } catch (NumberFormatException e) {
+            return 0;
         }
+    }
 
-        String outputDir = System.getProperty("user.dir") + "/output/";
-        File dir = new File(outputDir);
+    public static String constructSheet(List<TranscriptLine> lines) {
+        return constructSheet(lines, DEFAULT_OUTPUT_PATH);
+    }
+
+    public static String constructSheet(List<TranscriptLine> lines, String outputPath) {
+        return writeSheet(createWorkbook(parseCourses(lines)), outputPath);
+    }
+
+    private static String writeSheet(Workbook workbook, String outputPath) {
+        File dir = new File(outputPath).getAbsoluteFile().getParentFile();
         if (!dir.exists()) {
             dir.mkdirs(); // Create directory if it doesn't exist
         }
-        try (FileOutputStream fos = new FileOutputStream("output\\ParsedTranscript.xlsx")) {
+        try (workbook; FileOutputStream fos = new FileOutputStream(outputPath)) {
             workbook.write(fos);
             System.out.println("Excel file written successfully.");
-            workbook.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
 
-        
-        return "output\\ParsedTranscript.xlsx";
-        
+        return outputPath;
+    }
+
+    /**
+     * Lays out courses in the transcript sheet format read by
+     * {@link Driver#readCourses}. Used to export a parsed transcript.
+     */
+    public static Workbook createWorkbook(List<Course> courses) {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("transcript");
+
+        Row row = sheet.createRow(HEADER_ROW_INDEX);
+        row.createCell(COL_COURSE_NAME).setCellValue("Course Name");
+        row.createCell(COL_TITLE).setCellValue("Title");
+        row.createCell(COL_COURSE_STATUS).setCellValue("Course Status");
+        row.createCell(COL_CREDITS).setCellValue("Credits");
+        row.createCell(COL_TERM).setCellValue("Term");
+        row.createCell(COL_GRADE).setCellValue("Grade");
+        for (int i = 0; i < COURSE_TYPES.length; i++) {
+            row.createCell(COL_FIRST_TYPE + i).setCellValue(COURSE_TYPES[i].getCode());
+        }
+
+        int currentRow = FIRST_DATA_ROW_INDEX;
+        for (Course course : courses) {
+            boolean transfer = course.getTerm() == null;
+            row = sheet.createRow(currentRow++);
+
+            row.createCell(COL_COURSE_NAME).setCellValue(course.getCode());
+            row.createCell(COL_TITLE).setCellValue(course.getTitle());
+            row.createCell(COL_COURSE_STATUS).setCellValue(transfer ? "Non-Course Equivalency" : "N");
+            row.createCell(COL_CREDITS).setCellValue(course.getCredits());
+            row.createCell(COL_TERM).setCellValue(transfer ? "" : course.getYear() + "/" + course.getTerm());
+            row.createCell(COL_GRADE).setCellValue(course.getGrade());
+            for (int i = 0; i < COURSE_TYPES.length; i++) {
+                row.createCell(COL_FIRST_TYPE + i).setCellValue(course.hasType(COURSE_TYPES[i]));
+            }
+        }
+
+        return workbook;
     }
 
     public static String convertTermToCode(String termHeader) {
@@ -373,15 +366,89 @@ public class PDFParser {
         return year + "/" + termCode;
     }
 
+    /**
+     * Classifies a trimmed line in a single pass over its characters. A line
+     * that looks like both a course and a term header counts as a course.
+     */
+    public static TranscriptLine.Kind classify(String line) {
+        int end = line.length();
+        if (isCourseLine(line, 0, end)) {
+            return TranscriptLine.Kind.COURSE;
+        }
+        if (isTermHeader(line, 0, end)) {
+            return TranscriptLine.Kind.TERM_HEADER;
+        }
+        if (isCourseType(line, 0, end)) {
+            return TranscriptLine.Kind.COURSE_TYPE;
+        }
+        return TranscriptLine.Kind.OTHER;
+    }
+
     public static boolean isCourseLine(String line) {
-        return line.trim().matches(COURSE_LINE_REGEX);
+        return isCourseLine(line, trimStart(line), trimEnd(line));
     }
     
     public static boolean isTermHeader(String line) {
-        return line.trim().matches(TERM_HEADER_REGEX);
+        return isTermHeader(line, trimStart(line), trimEnd(line));
     }
     
     public static boolean isCourseType(String line) {
-        return line.trim().matches(COURSE_TYPE_REGEX);
+        return isCourseType(line, trimStart(line), trimEnd(line));
+    }
+
+    private static boolean isCourseLine(String line, int start, int end) {
+        int i = start;
+        for (int n = 0; n < COURSE_LINE_LETTER_COUNT; n++, i++) {
+            if (i >= end || !isUpper(line.charAt(i))) return false;
+        }
+        if (i >= end || line.charAt(i++) != ' ') return false;
+        for (int n = 0; n < COURSE_LINE_DIGIT_COUNT; n++, i++) {
+            if (i >= end || !isDigit(line.charAt(i))) return false;
+        }
+        if (i < end && isUpper(line.charAt(i))) i++;
+        return i < end && line.charAt(i) == ' ';
+    }
+
+    private static boolean isTermHeader(String line, int start, int end) {
+        int i = line.indexOf(TERM_HEADER_KEYWORD, start);
+        while (i >= 0 && i + TERM_HEADER_KEYWORD.length() + TERM_YEAR_DIGIT_COUNT <= end) {
+            int digits = i + TERM_HEADER_KEYWORD.length();
+            int n = 0;
+            while (n < TERM_YEAR_DIGIT_COUNT && isDigit(line.charAt(digits + n))) n++;
+            if (n == TERM_YEAR_DIGIT_COUNT) return true;
+            i = line.indexOf(TERM_HEADER_KEYWORD, i + 1);
+        }
+        return false;
+    }
+
+    private static boolean isCourseType(String line, int start, int end) {
+        int length = end - start;
+        if (length < COURSE_TYPE_MIN_LENGTH || length > COURSE_TYPE_MAX_LENGTH) return false;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (!isUpper(c) && c != '-') return false;
+        }
+        return true;
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Same bounds as String.trim(), without allocating the trimmed copy
+    private static int trimStart(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int trimEnd(String line) {
+        int i = line.length();
+        while (i > 0 && line.charAt(i - 1) <= ' ') i--;
+        return i;
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.backend;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Plans students' remaining terms with a {@link DegreePlanner}. The course
+ * list is only read the first time a plan is asked for, since most sessions
+ * never ask for one.
+ */
+@Service
+public class PlannerService {
+
+    private final String courseListPath;
+    private final double maxUnitsPerTerm;
+    private final Duration timeBudget;
+    private final int maxPlans;
+    private final boolean parallel;
+    private final CpuWorkPool cpuWorkPool;
+    private final EvaluationProfiler evaluationProfiler;
+    private volatile CourseCatalog catalog;
+
+    public PlannerService(@Value("${planner.course-list}") String courseListPath,
+            @Value("${planner.max-units-per-term:4}") double maxUnitsPerTerm,
+            @Value("${planner.time-budget:200ms}") Duration timeBudget,
+            @Value("${planner.max-plans:5}") int maxPlans,
+            @Value("${planner.parallel:true}") boolean parallel,
+            CpuWorkPool cpuWorkPool, EvaluationProfiler evaluationProfiler) {
+        this.courseListPath = courseListPath;
+        this.maxUnitsPerTerm = maxUnitsPerTerm;
+        this.timeBudget = timeBudget;
+        this.maxPlans = maxPlans;
+        this.parallel = parallel;
+        this.cpuWorkPool = cpuWorkPool;
+        this.evaluationProfiler = evaluationProfiler;
+    }
+
+    /**
+     * Returns up to {@code maxPlans} plans for the student from {@code start}
+     * through {@code graduation}, never more than the configured number. The search
+     * runs on the CPU pool, its first branches in parallel unless
+     * planner.parallel is false, and gives up searching once the configured
+     * time budget is spent. Its evaluations are profiled along with the rest.
+     */
+    public DegreePlanner.Result plan(Student student, Term start, Term graduation, int maxPlans) throws Exception {
+        DegreePlanner planner = new DegreePlanner(getCatalog(), maxUnitsPerTerm, timeBudget,
+                Math.max(1, Math.min(maxPlans, this.maxPlans)), evaluationProfiler);
+        if (parallel) {
+            return planner.plan(student, start, graduation, cpuWorkPool);
+        }
+        return cpuWorkPool.call(() -> planner.plan(student, start, graduation, null));
+    }
+
+    public int getMaxPlans() {
+        return maxPlans;
+    }
+
+    CourseCatalog getCatalog() {
+        CourseCatalog loaded = catalog;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = catalog;
+                if (loaded == null) {
+                    loaded = CourseCatalog.load(courseListPath);
+                    catalog = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+}
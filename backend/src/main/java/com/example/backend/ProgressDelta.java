@@ -0,0 +1,21 @@
+package com.example.backend;
+
+import java.util.List;
+
+/**
+ * What a set of {@link CourseChange}s would do to a student's progress: the
+ * requirements whose progress would differ, before and after, and the shared
+ * courses after the change, which is null if they would stay the same.
+ * {@code reevaluated} lists the programs the changes could affect; the rest
+ * were not evaluated again.
+ */
+public record ProgressDelta(List<RequirementChange> changes, List<ProgressReport.SharedCourse> sharedCourses,
+        List<String> reevaluated) {
+
+    /**
+     * The progress toward the requirement at {@code index} in a program,
+     * e.g. "Major: Computer Science", before and after the change.
+     */
+    public record RequirementChange(String program, int index, RequirementProgress before, RequirementProgress after) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend;
+
+import java.util.List;
+
+/**
+ * A student's progress toward each of their majors and minors, as served by
+ * /api/student-progress.json. {@link #toText()} renders the same report as
+ * the text shown on the progress page. {@code assignmentCutShort} is set if
+ * the search for a better assignment of courses to requirements ran out of
+ * time, so evaluating again with more time might complete more of them.
+ */
+public record ProgressReport(int gradYr, long catalogVersion, List<ProgramProgress> programs,
+        List<SharedCourse> sharedCourses, boolean assignmentCutShort) {
+
+    /**
+     * The progress toward one major or minor. {@code completed} counts the
+     * completed requirements.
+     */
+    public record ProgramProgress(String kind, String name, int completed, List<RequirementProgress> requirements) {
+
+        /**
+         * Returns the heading for this program, e.g. "Major: Computer Science".
+         */
+        public String label() {
+            return kind + ": " + name;
+        }
+    }
+
+    /**
+     * A course that counts toward more than one of the student's programs,
+     * and the programs it counts toward, e.g. "Major: Computer Science".
+     */
+    public record SharedCourse(String course, List<String> programs) {
+    }
+
+    public String toText() {
+        StringBuilder progress = new StringBuilder();
+        progress.append("\n======== Student Progress ========\n");
+        progress.append("Graduation Year: ").append(gradYr).append("\n");
+        progress.append("==================================\n\n");
+
+        for (ProgramProgress program : programs) {
+            progress.append(program.label()).append("\n");
+            for (RequirementProgress requirement : program.requirements()) {
+                requirement.appendText(progress);
+            }
+        }
+        appendSharedCourses(progress);
+
+        return progress.toString();
+    }
+
+    /**
+     * Lists the shared courses after the programs, if there are any.
+     */
+    void appendSharedCourses(StringBuilder progress) {
+        if (sharedCourses.isEmpty()) {
+            return;
+        }
+        progress.append("Shared Courses:\n");
+        for (SharedCourse course : sharedCourses) {
+            progress.append("   ").append(course.course()).append(": ").append(String.join("; ", course.programs())).append("\n");
+        }
+        progress.append("\n");
+    }
+}
@@ -1,37 +1,93 @@
 package com.example.backend;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+/**
+ * One row of a requirements sheet. The number, type and grade requirements
+ * are kept as written for display, and are also compiled once, when the
+ * requirement is built, into the primitive form evaluation works from.
+ */
 public class Requirement {
     private String title;
-    private ArrayList<String> courseGroups;
-    private ArrayList<Requirement> sequences;
+    private List<String> courseGroups;
+    private List<Requirement> sequences;
     private int numNeeded;
     private String numberRequirements;
     private String typeRequirements;
     private String gradeRequirement;
-    private ArrayList<String> numReqs;
-    private ArrayList<String> typeReqs;
+    private List<String> numReqs;
+    private List<String> typeReqs;
 
-    public static Requirement fromCourseGroups(String title, ArrayList<String> courseGroups, int numNeeded, String numberRequirements, String typeRequirements, String gradeRequirement) {
+    // Compiled form of the above, e.g. "5 (>= 110)" becomes count 5, level 110
+    private boolean[] wildcardGroups;
+    private String[] groupKeys;
+    private int[] numberCounts;
+    private int[] numberLevels;
+    private int[] typeCounts;
+    private String[] typeNames;
+    private int[] typeMasks;
+    private byte minimumGradeRank;
+
+    public static Requirement fromCourseGroups(String title, List<String> courseGroups, int numNeeded, String numberRequirements, String typeRequirements, String gradeRequirement) {
         return new Requirement(title, courseGroups, numNeeded, numberRequirements, typeRequirements, gradeRequirement, null);
     }
     
-    public static Requirement fromSequences(String title, ArrayList<Requirement> sequences, int numNeeded, String gradeRequirement) {
+    public static Requirement fromSequences(String title, List<Requirement> sequences, int numNeeded, String gradeRequirement) {
         return new Requirement(title, null, numNeeded, null, null, gradeRequirement, sequences);
     }
     
-    private Requirement(String title, ArrayList<String> courseGroups, int numNeeded, String numberRequirements, String typeRequirements, String gradeRequirement, ArrayList<Requirement> sequences) {
+    private Requirement(String title, List<String> courseGroups, int numNeeded, String numberRequirements, String typeRequirements, String gradeRequirement, List<Requirement> sequences) {
         this.title = title;
-        this.courseGroups = courseGroups;
+        this.courseGroups = courseGroups != null ? List.copyOf(courseGroups) : null;
         this.numNeeded = numNeeded;
         this.numberRequirements = numberRequirements;
         this.typeRequirements = typeRequirements;
         this.gradeRequirement = gradeRequirement;
         this.numReqs = createNumReqs();
         this.typeReqs = createTypeReqs();
-        this.sequences = sequences;
+        this.sequences = sequences != null ? List.copyOf(sequences) : null;
+        compile();
+    }
+
+    private void compile() {
+        if (courseGroups != null) {
+            wildcardGroups = new boolean[courseGroups.size()];
+            groupKeys = new String[courseGroups.size()];
+            for (int i = 0; i < courseGroups.size(); i++) {
+                String group = courseGroups.get(i);
+                wildcardGroups[i] = CourseIndex.isWildcard(group);
+                groupKeys[i] = wildcardGroups[i] ? CourseIndex.wildcardPrefix(group) : group;
+            }
+        }
+
+        List<String> numberPairs = hasNumberRequirements() ? numReqs : List.of();
+        numberCounts = new int[numberPairs.size()];
+        numberLevels = new int[numberPairs.size()];
+        for (int i = 0; i < numberPairs.size(); i++) {
+            String pair = numberPairs.get(i);
+            numberCounts[i] = parseCount(pair);
+            numberLevels[i] = Integer.parseInt(pair.substring(2).replaceAll("[^0-9]", ""));
+        }
+
+        List<String> typePairs = hasTypeRequirements() ? typeReqs : List.of();
+        typeCounts = new int[typePairs.size()];
+        typeNames = new String[typePairs.size()];
+        typeMasks = new int[typePairs.size()];
+        for (int i = 0; i < typePairs.size(); i++) {
+            String pair = typePairs.get(i);
+            typeCounts[i] = parseCount(pair);
+            typeNames[i] = pair.replaceAll(".*\\((.*?)\\).*", "$1");
+            CourseType type = CourseType.fromCode(typeNames[i]);
+            typeMasks[i] = type != null ? type.bit() : 0;
+        }
+
+        minimumGradeRank = Grade.fromCode(gradeRequirement).getRank();
+    }
+
+    // The count is the number in the first two characters, as in "5 (>= 110)"
+    private static int parseCount(String pair) {
+        return Integer.parseInt(pair.substring(0, 2).replaceAll("[^0-9]", ""));
     }
     
     public boolean isSeq() {
@@ -41,43 +97,41 @@ public class Requirement {
         return title;
     }
 
-    private ArrayList<String> createNumReqs(){
+    private List<String> createNumReqs(){
         if (numberRequirements != null) {
-            ArrayList<String> list = new ArrayList<>(Arrays.asList(numberRequirements.toString().split(",(?![^()]*\\))")));
-            list.replaceAll(String::trim);
+            String[] list = numberRequirements.split(",(?![^()]*\\))");
+            Arrays.setAll(list, i -> list[i].trim());
 
-            
-
-            return list;
+            return List.of(list);
         } else {
             return null;
         }
     }
 
-    private ArrayList<String> createTypeReqs(){
+    private List<String> createTypeReqs(){
         if (typeRequirements != null) {
-            ArrayList<String> list = new ArrayList<>(Arrays.asList(typeRequirements.toString().split(",(?![^()]*\\))")));
-            list.replaceAll(String::trim);
+            String[] list = typeRequirements.split(",(?![^()]*\\))");
+            Arrays.setAll(list, i -> list[i].trim());
 
-            return list;
+            return List.of(list);
         } else {
             return null;
         }
     }
 
-    public ArrayList<String> getNumReqs(){
+    public List<String> getNumReqs(){
         return numReqs;
     }
 
-    public ArrayList<String> getTypeReqs(){
+    public List<String> getTypeReqs(){
         return typeReqs;
     }
 
-    public ArrayList<String> getCourseGroups() {
+    public List<String> getCourseGroups() {
         return courseGroups;
     }
 
-    public ArrayList<Requirement> getSequences() {
+    public List<Requirement> getSequences() {
         return sequences;
     }
 
@@ -97,6 +151,105 @@ public class Requirement {
         return gradeRequirement;
     }
 
+    public boolean hasNumberRequirements() {
+        return numberRequirements != null && !numberRequirements.isEmpty();
+    }
+
+    public boolean hasTypeRequirements() {
+        return typeRequirements != null && !typeRequirements.isEmpty();
+    }
+
+    public boolean hasGradeRequirement() {
+        return gradeRequirement != null && !gradeRequirement.isEmpty();
+    }
+
+    /**
+     * Returns true if the course group at this index is a wildcard such as
+     * "CSC-XXX".
+     */
+    public boolean isWildcardGroup(int group) {
+        return wildcardGroups[group];
+    }
+
+    /**
+     * Returns what the course group at this index is looked up by: the
+     * department prefix of a wildcard, or else the course code itself.
+     */
+    public String getGroupKey(int group) {
+        return groupKeys[group];
+    }
+
+    /**
+     * Returns true if a course with this code could count toward this
+     * requirement, or toward any of its sequences. Wildcards match the way
+     * {@link CourseIndex#withPrefix} does, so honors work they never accept
+     * is still reported as usable.
+     */
+    public boolean canUse(String code) {
+        if (isSeq()) {
+            for (Requirement sequence : sequences) {
+                if (sequence.canUse(code)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int group = 0; group < groupKeys.length; group++) {
+            if (wildcardGroups[group] ? code.contains(groupKeys[group]) : code.equals(groupKeys[group])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getNumberRequirementCount() {
+        return numberLevels.length;
+    }
+
+    public int getNumberLevel(int numberRequirement) {
+        return numberLevels[numberRequirement];
+    }
+
+    /**
+     * Returns a fresh copy of how many courses each number requirement needs,
+     * for evaluation to count down.
+     */
+    public int[] copyNumberCounts() {
+        return numberCounts.clone();
+    }
+
+    public int getTypeRequirementCount() {
+        return typeNames.length;
+    }
+
+    public String getTypeName(int typeRequirement) {
+        return typeNames[typeRequirement];
+    }
+
+    /**
+     * Returns the {@link CourseType} bit a course needs to count toward this
+     * type requirement, or 0 if the type is not one courses can have.
+     */
+    public int getTypeMask(int typeRequirement) {
+        return typeMasks[typeRequirement];
+    }
+
+    /**
+     * Returns a fresh copy of how many courses each type requirement needs,
+     * for evaluation to count down.
+     */
+    public int[] copyTypeCounts() {
+        return typeCounts.clone();
+    }
+
+    /**
+     * Returns the {@link Grade#getRank() rank} a course's grade needs to
+     * reach, which is 0 if there is no minimum grade.
+     */
+    public byte getMinimumGradeRank() {
+        return minimumGradeRank;
+    }
+
     public boolean isElective() {
         return courseGroups.size() == 1 && !courseGroups.get(0).contains("-");
     }
@@ -0,0 +1,249 @@
+package com.example.backend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * How far a student has got with one requirement: the courses that count
+ * toward it and what is still missing. For a requirement made up of
+ * sequences, {@code fulfilled} and {@code remaining} count sequences, and the
+ * sequences tried are listed in order; trying stops once enough of them are
+ * completed. {@code sequences} is null for any other requirement.
+ *
+ * <p>The number and type constraints are listed with how many courses each
+ * still needs, so one that has been met has nothing remaining. Grade
+ * shortfalls are courses that would have counted but for their grade.
+ */
+public record RequirementProgress(String title, Status status, int needed, int fulfilled, int remaining,
+        List<String> fulfilledBy, List<String> remainingCourseGroups, List<NumberConstraint> numberConstraints,
+        List<TypeConstraint> typeConstraints, List<SequenceProgress> sequences, String minimumGrade,
+        List<GradeShortfall> gradeShortfalls) {
+
+    private static final String BULLET = "                    * ";
+
+    public enum Status {
+        COMPLETED("[X]", "Completed"),
+        PARTIALLY_COMPLETED("[~]", "Partially Completed"),
+        NOT_COMPLETED("[ ]", "Not Completed");
+
+        private final String marker;
+        private final String description;
+
+        Status(String marker, String description) {
+            this.marker = marker;
+            this.description = description;
+        }
+
+        static Status of(int fulfilled, int needed) {
+            if (fulfilled >= needed) {
+                return COMPLETED;
+            }
+            return fulfilled > 0 ? PARTIALLY_COMPLETED : NOT_COMPLETED;
+        }
+    }
+
+    /**
+     * Courses numbered at least {@code level}, of which {@code remaining} are
+     * still needed.
+     */
+    public record NumberConstraint(int level, int remaining) {
+    }
+
+    /**
+     * Courses typed {@code type}, of which {@code remaining} are still needed.
+     */
+    public record TypeConstraint(String type, int remaining) {
+    }
+
+    /**
+     * One sequence of a sequence requirement: the course groups it needs, and
+     * the ones the student has taken.
+     */
+    public record SequenceProgress(List<String> courseGroups, List<String> fulfilledBy, boolean completed) {
+    }
+
+    /**
+     * A course that matched the requirement but was graded below its minimum.
+     */
+    public record GradeShortfall(String course, String grade, String minimumGrade) {
+    }
+
+    static RequirementProgress ofCourses(Requirement req, List<String> fulfilledBy, List<String> remainingCourseGroups,
+            int[] numberCounts, int[] typeCounts, List<GradeShortfall> gradeShortfalls) {
+        List<NumberConstraint> numberConstraints = new ArrayList<>(numberCounts.length);
+        for (int n = 0; n < numberCounts.length; n++) {
+            numberConstraints.add(new NumberConstraint(req.getNumberLevel(n), numberCounts[n]));
+        }
+        List<TypeConstraint> typeConstraints = new ArrayList<>(typeCounts.length);
+        for (int t = 0; t < typeCounts.length; t++) {
+            typeConstraints.add(new TypeConstraint(req.getTypeName(t), typeCounts[t]));
+        }
+        int fulfilled = fulfilledBy.size();
+        return new RequirementProgress(req.getTitle(), Status.of(fulfilled, req.getNumNeeded()), req.getNumNeeded(),
+                fulfilled, Math.max(0, req.getNumNeeded() - fulfilled), fulfilledBy, remainingCourseGroups,
+                numberConstraints, typeConstraints, null, minimumGrade(req), gradeShortfalls);
+    }
+
+    static RequirementProgress ofSequences(Requirement req, int sequencesFulfilled, List<SequenceProgress> sequences,
+            List<GradeShortfall> gradeShortfalls) {
+        return new RequirementProgress(req.getTitle(), Status.of(sequencesFulfilled, req.getNumNeeded()), req.getNumNeeded(),
+                sequencesFulfilled, Math.max(0, req.getNumNeeded() - sequencesFulfilled), List.of(), List.of(), List.of(),
+                List.of(), sequences, minimumGrade(req), gradeShortfalls);
+    }
+
+    private static String minimumGrade(Requirement req) {
+        return req.hasGradeRequirement() ? req.getGradeRequirement() : null;
+    }
+
+    /**
+     * Returns whether the requirement has been completed.
+     */
+    public boolean completed() {
+        return status == Status.COMPLETED;
+    }
+
+    /**
+     * Returns the progress as the text shown on the progress page.
+     */
+    public String toText() {
+        StringBuilder result = new StringBuilder();
+        appendText(result);
+        return result.toString();
+    }
+
+    void appendText(StringBuilder result) {
+        result.append(status.marker).append(' ').append(title).append(" (").append(status.description).append(")\n");
+        if (sequences != null) {
+            appendSequenceText(result);
+        } else {
+            appendCourseText(result);
+        }
+        result.append("\n");
+    }
+
+    private void appendCourseText(StringBuilder result) {
+        if (status == Status.COMPLETED) {
+            result.append("   Fulfilled by: ").append(String.join(", ", fulfilledBy)).append("\n");
+            return;
+        }
+        if (status == Status.PARTIALLY_COMPLETED) {
+            result.append("   Completed: ").append(String.join(", ", fulfilledBy)).append("\n");
+        }
+        result.append("   Still Needed: ").append(remaining).append(" of ").append(String.join("; ", remainingCourseGroups));
+        appendConstraints(result);
+        result.append(gradeSuffix()).append("\n");
+    }
+
+    private void appendSequenceText(StringBuilder result) {
+        if (status == Status.COMPLETED) {
+            // The most nearly completed sequences, which are the completed ones
+            String fulfilledStr = sequences.stream()
+                    .sorted(Comparator.comparingDouble(RequirementProgress::completion).reversed())
+                    .limit(needed)
+                    .map(sequence -> String.join(", ", sequence.fulfilledBy()))
+                    .collect(Collectors.joining("; "));
+            result.append("   Fulfilled by: ").append(fulfilledStr).append("\n");
+            return;
+        }
+        if (status == Status.PARTIALLY_COMPLETED) {
+            String completedSequences = sequences.stream()
+                    .filter(sequence -> sequence.fulfilledBy().size() == sequence.courseGroups().size())
+                    .map(sequence -> "(" + String.join(", ", sequence.fulfilledBy()) + ")")
+                    .collect(Collectors.joining("; "));
+            result.append("   Sequences Completed: ").append(completedSequences).append("\n");
+        }
+        String sequencesLeft = sequences.stream()
+                .filter(sequence -> !sequence.completed())
+                .map(sequence -> "(" + String.join(", ", sequence.courseGroups()) + ")")
+                .collect(Collectors.joining("; "));
+        result.append("   Sequences Left: ").append(remaining).append(" of ").append(sequencesLeft);
+        result.append(gradeSuffix()).append("\n");
+    }
+
+    private static double completion(SequenceProgress sequence) {
+        return (double) sequence.fulfilledBy().size() / sequence.courseGroups().size();
+    }
+
+    private String gradeSuffix() {
+        return minimumGrade == null ? "" : " with a minimum grade of " + minimumGrade;
+    }
+
+    /**
+     * Appends the number and type constraints still to be met.
+     */
+    private void appendConstraints(StringBuilder result) {
+        if (numberConstraints.isEmpty() && typeConstraints.isEmpty()) {
+            return;
+        }
+
+        result.append(" consisting of:");
+
+        // First, check for special type requirements (WAC or WAC-R).
+        int specialCount = 0;
+        List<String> specialTypes = new ArrayList<>();
+        for (TypeConstraint constraint : typeConstraints) {
+            if (isSpecial(constraint)) {
+                specialCount += constraint.remaining();
+                if (!specialTypes.contains(constraint.type())) {
+                    specialTypes.add(constraint.type());
+                }
+            }
+        }
+        // Combine special type names if there are more than one.
+        String specialTypeStr = String.join(" or ", specialTypes);
+
+        // Build the number requirements part if applicable.
+        if (!numberConstraints.isEmpty()) {
+            StringBuilder sb = new StringBuilder("\n");
+            for (int i = 0; i < numberConstraints.size(); i++) {
+                int level = numberConstraints.get(i).level();
+                int count = numberConstraints.get(i).remaining();
+                // Adjust count based on the next requirement if available.
+                if (i < numberConstraints.size() - 1) {
+                    count -= numberConstraints.get(i + 1).remaining();
+                }
+                if (count > 0) {
+                    // If the requirement is for courses numbered >=300 and there is a special type req,
+                    // split the requirement into a general and a special part.
+                    if (level >= 300 && specialCount > 0) {
+                        int generalOnlyCount = count - specialCount;
+                        if (generalOnlyCount > 0) {
+                            sb.append(BULLET).append(generalOnlyCount).append(" course(s) numbered >=").append(level).append("\n");
+                        }
+                        sb.append(BULLET).append(specialCount).append(" course(s) numbered >=").append(level)
+                                .append(" and is also a ").append(specialTypeStr).append("\n");
+                    } else {
+                        sb.append(BULLET).append(count).append(" course(s) numbered >=").append(level).append("\n");
+                    }
+                }
+            }
+            // Remove the trailing newline.
+            if (sb.length() > " consisting of:".length()) {
+                sb.setLength(sb.length() - 1);
+                result.append(sb);
+            }
+        }
+
+        // Build the type requirements part if applicable.
+        if (!typeConstraints.isEmpty()) {
+            StringBuilder sb = new StringBuilder("\n");
+            for (TypeConstraint constraint : typeConstraints) {
+                if (!isSpecial(constraint) && constraint.remaining() > 0) {
+                    sb.append(BULLET).append(constraint.remaining()).append(" course(s) must be typed ")
+                            .append(constraint.type()).append(", ");
+                }
+            }
+            // Remove the trailing comma and space.
+            if (sb.length() > 1) {
+                sb.setLength(sb.length() - 2);
+                result.append(sb);
+            }
+        }
+    }
+
+    private static boolean isSpecial(TypeConstraint constraint) {
+        return constraint.type().equals("WAC") || constraint.type().equals("WAC-R");
+    }
+}
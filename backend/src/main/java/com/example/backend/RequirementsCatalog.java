@@ -0,0 +1,177 @@
+package com.example.backend;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.*;
+
+/**
+ * Immutable index of every major and minor requirement list, keyed by
+ * concentration name, along with the major and minor names offered in the
+ * dropdowns. The workbooks are parsed once when the catalog is built, so
+ * creating a {@link Concentration} is just a lookup. Each catalog carries the
+ * version it was published under so results can be traced back to it.
+ */
+public class RequirementsCatalog {
+
+    private final Map<String, List<Requirement>> majors;
+    private final Map<String, List<Requirement>> minors;
+    private final List<String> majorNames;
+    private final List<String> minorNames;
+    private final long version;
+    private final Instant loadedAt;
+
+    private RequirementsCatalog(Map<String, List<Requirement>> majors, Map<String, List<Requirement>> minors,
+            List<String> majorNames, List<String> minorNames, long version) {
+        this.majors = majors;
+        this.minors = minors;
+        this.majorNames = majorNames;
+        this.minorNames = minorNames;
+        this.version = version;
+        this.loadedAt = Instant.now();
+    }
+
+    public static RequirementsCatalog load(String majorRequirementsPath, String minorRequirementsPath) {
+        return new RequirementsCatalog(loadRequirementsFromSheet(majorRequirementsPath), loadRequirementsFromSheet(minorRequirementsPath),
+                List.of(), List.of(), 0);
+    }
+
+    /**
+     * Loads all four catalog workbooks. Unlike the two-argument form this fails
+     * with an {@link IllegalStateException} if any workbook cannot be read, so a
+     * half-written file never replaces a good catalog.
+     */
+    public static RequirementsCatalog load(String majorRequirementsPath, String minorRequirementsPath,
+            String majorListPath, String minorListPath, long version) {
+        return new RequirementsCatalog(loadRequirementsFromSheet(requireSheet(majorRequirementsPath)),
+                loadRequirementsFromSheet(requireSheet(minorRequirementsPath)),
+                loadNames(requireSheet(majorListPath)), loadNames(requireSheet(minorListPath)), version);
+    }
+
+    /**
+     * Returns the requirements for the named concentration, or an empty list
+     * if the catalog has no rows for it. Names are matched ignoring case.
+     */
+    public List<Requirement> getRequirements(boolean majmin, String name) {
+        Map<String, List<Requirement>> index = majmin ? minors : majors;
+        return index.getOrDefault(key(name), List.of());
+    }
+
+    public List<String> getMajorNames() {
+        return majorNames;
+    }
+
+    public List<String> getMinorNames() {
+        return minorNames;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int getMajorCount() {
+        return majors.size();
+    }
+
+    public int getMinorCount() {
+        return minors.size();
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Sheet requireSheet(String filePath) {
+        Sheet sheet = new SheetGenerator(filePath).getSheet();
+        if (sheet == null) {
+            throw new IllegalStateException("Could not read catalog workbook " + filePath);
+        }
+        return sheet;
+    }
+
+    private static List<String> loadNames(Sheet sheet) {
+        List<String> names = new ArrayList<>();
+        for (Row row : sheet) {
+            if (row.getCell(0) != null) {
+                names.add(row.getCell(0).toString());
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    private static Map<String, List<Requirement>> loadRequirementsFromSheet(String filePath) {
+        Sheet reqsSheet = new SheetGenerator(filePath).getSheet();
+        if (reqsSheet == null) {
+            return Collections.emptyMap();
+        }
+        return loadRequirementsFromSheet(reqsSheet);
+    }
+
+    private static Map<String, List<Requirement>> loadRequirementsFromSheet(Sheet reqsSheet) {
+        Map<String, List<Requirement>> requirements = new HashMap<>();
+
+        for (Row row : reqsSheet) {
+            if (row.getRowNum() == 0) continue; // Skip header row
+            if (row.getCell(0) == null) continue;
+
+            String majorName = row.getCell(0).getStringCellValue().trim();
+            if (majorName.isEmpty()) continue; // Skip blank rows at the end of the sheet
+
+            String courses = row.getCell(1).getStringCellValue().trim();
+            int numNeeded = (int) row.getCell(2).getNumericCellValue();
+            String title = row.getCell(3).getStringCellValue().trim();
+            String numberRequirements = row.getCell(4) != null && row.getCell(4).getCellType() != CellType.BLANK ? row.getCell(4).getStringCellValue().trim() : "";
+            String typeRequirements = row.getCell(5) != null && row.getCell(5).getCellType() != CellType.BLANK ? row.getCell(5).getStringCellValue().trim() : "";
+            String gradeRequirement = row.getCell(6) != null && row.getCell(6).getCellType() != CellType.BLANK ? row.getCell(6).getStringCellValue().trim() : "";
+
+            Requirement requirement;
+            if (courses.contains(";")) {
+                requirement = Requirement.fromSequences(title, parseSequences(courses, title, gradeRequirement), numNeeded, gradeRequirement);
+            } else {
+                requirement = Requirement.fromCourseGroups(title, parseCourseList(courses), numNeeded, numberRequirements, typeRequirements, gradeRequirement);
+            }
+            requirements.computeIfAbsent(key(majorName), k -> new ArrayList<>()).add(requirement);
+        }
+
+        requirements.replaceAll((name, reqs) -> List.copyOf(reqs));
+        return Map.copyOf(requirements);
+    }
+
+    private static ArrayList<String> parseCourseList(String courses) {
+        return new ArrayList<>(Arrays.asList(courses.split("\\s*,\\s*")));
+    }
+
+    private static ArrayList<Requirement> parseSequences(String seqs, String title, String gradeRequirement) {
+        ArrayList<Requirement> requirements = new ArrayList<>();
+
+        // Split the input by semicolons to separate different requirement groups
+        String[] groups = seqs.split("\\s*;\\s*");
+
+        for (String group : groups) {
+            // Remove parentheses and trim whitespace
+            group = group.replaceAll("[()]", "").trim();
+
+            // Split into course list and number needed
+            String[] parts = group.split("\\s*\\|\\s*");
+            if (parts.length != 2) continue; // Ensure valid format
+
+            // Extract course list and number of courses needed
+            ArrayList<String> courseList = parseCourseList(parts[0]);
+            int numNeeded = Integer.parseInt(parts[1].trim());
+
+            // Create and add a Requirement object (Title can be adjusted as needed)
+            requirements.add(Requirement.fromCourseGroups(title, courseList, numNeeded, "", "", gradeRequirement));
+        }
+
+        return requirements;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backend;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory store of advising sessions keyed by the session ID returned from
+ * /api/upload. The store is bounded both by session count and by estimated
+ * bytes, evicting the least recently used sessions first, and a sweeper drops
+ * sessions that have been idle longer than the timeout.
+ *
+ * <p>All per-user state lives here, so a scaled-out deployment only needs the
+ * load balancer to route on the session ID header.
+ */
+@Component
+public class SessionStore {
+
+    private final int maxSessions;
+    private final long maxBytes;
+    private final long idleTimeoutNanos;
+
+    // Access-ordered, so iteration starts at the least recently used session
+    private final LinkedHashMap<String, Entry> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long evictions;
+
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "session-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SessionStore(@Value("${session.max-sessions:5000}") int maxSessions,
+            @Value("${session.max-bytes:67108864}") long maxBytes,
+            @Value("${session.idle-timeout:30m}") Duration idleTimeout) {
+        this.maxSessions = maxSessions;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    @PostConstruct
+    void startSweeping() {
+        long sweepMillis = Math.max(1000, TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) / 4);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a session for a freshly parsed transcript and returns it.
+     */
+    public AdvisingSession create(List<Course> courses) {
+        AdvisingSession session = new AdvisingSession(UUID.randomUUID().toString(), courses);
+        synchronized (this) {
+            put(session);
+        }
+        return session;
+    }
+
+    /**
+     * Returns the session and marks it as recently used, or null if the ID is
+     * unknown or the session has been evicted.
+     */
+    public synchronized AdvisingSession get(String id) {
+        if (id == null) {
+            return null;
+        }
+        Entry entry = sessions.get(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessed = System.nanoTime();
+        return entry.session;
+    }
+
+    /**
+     * Replaces a session with the result of applying the update to it, and
+     * returns the new session, or null if the session no longer exists.
+     */
+    public synchronized AdvisingSession update(String id, UnaryOperator<AdvisingSession> update) {
+        AdvisingSession current = get(id);
+        if (current == null) {
+            return null;
+        }
+        AdvisingSession updated = update.apply(current);
+        put(updated);
+        return updated;
+    }
+
+    public synchronized void remove(String id) {
+        Entry removed = sessions.remove(id);
+        if (removed != null) {
+            totalBytes -= removed.session.getEstimatedBytes();
+        }
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private void put(AdvisingSession session) {
+        Entry previous = sessions.put(session.getId(), new Entry(session));
+        if (previous != null) {
+            totalBytes -= previous.session.getEstimatedBytes();
+        }
+        totalBytes += session.getEstimatedBytes();
+
+        Iterator<Entry> lru = sessions.values().iterator();
+        while ((sessions.size() > maxSessions || totalBytes > maxBytes) && sessions.size() > 1) {
+            Entry eldest = lru.next();
+            lru.remove();
+            totalBytes -= eldest.session.getEstimatedBytes();
+            evictions++;
+        }
+    }
+
+    synchronized void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<Entry> lru = sessions.values().iterator();
+        while (lru.hasNext()) {
+            Entry entry = lru.next();
+            if (now - entry.lastAccessed < idleTimeoutNanos) {
+                break;
+            }
+            lru.remove();
+            totalBytes -= entry.session.getEstimatedBytes();
+            evictions++;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    private static class Entry {
+        final AdvisingSession session;
+        long lastAccessed = System.nanoTime();
+
+        Entry(AdvisingSession session) {
+            this.session = session;
+        }
+    }
+}
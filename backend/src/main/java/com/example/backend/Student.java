@@ -1,7 +1,7 @@
 package com.example.backend;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Student {
 
@@ -9,6 +9,59 @@ public class Student {
     private ArrayList<Course> courses;
     private ArrayList<Concentration> majors;
     private ArrayList<Concentration> minors;
+    private CourseIndex courseIndex;
+    private Duration assignmentBudget = AssignmentSolver.DEFAULT_TIME_BUDGET;
+    // The most recent evaluation, kept so a what-if can reuse the programs it doesn't affect
+    private volatile List<ProgramEvaluation> lastEvaluations;
+
+    /**
+     * The progress toward every requirement of a concentration, and the
+     * positions of the courses that count toward them. {@code cutShort} is
+     * set if the assignment search ran out of time before it could tell
+     * whether a better assignment exists.
+     */
+    private record Evaluation(List<RequirementProgress> requirements, int completed, int fulfilled, BitSet counted,
+            boolean cutShort) {
+
+        boolean isBetterThan(Evaluation other) {
+            return completed > other.completed || (completed == other.completed && fulfilled > other.fulfilled);
+        }
+
+        Evaluation markCutShort() {
+            return new Evaluation(requirements, completed, fulfilled, counted, true);
+        }
+    }
+
+    /**
+     * A concentration's evaluation, and whether it is a major or a minor.
+     */
+    private record ProgramEvaluation(String kind, Concentration concentration, Evaluation evaluation) {
+
+        ProgressReport.ProgramProgress toProgress() {
+            return new ProgressReport.ProgramProgress(kind, concentration.getName(), evaluation.completed(),
+                    evaluation.requirements());
+        }
+
+        String label() {
+            return kind + ": " + concentration.getName();
+        }
+
+        /**
+         * Returns this evaluation for a student whose courses have moved
+         * position, as given by {@link CourseChange#applyTo}'s origins.
+         */
+        ProgramEvaluation moved(List<Integer> origins) {
+            BitSet counted = new BitSet(origins.size());
+            for (int position = 0; position < origins.size(); position++) {
+                int origin = origins.get(position);
+                if (origin >= 0 && evaluation.counted().get(origin)) {
+                    counted.set(position);
+                }
+            }
+            return new ProgramEvaluation(kind, concentration, new Evaluation(evaluation.requirements(),
+                    evaluation.completed(), evaluation.fulfilled(), counted, evaluation.cutShort()));
+        }
+    }
 
     public Student(int gradYr, ArrayList<Course> courses, ArrayList<Concentration> majors, ArrayList<Concentration> minors) {
         this.gradYr = gradYr;
@@ -33,211 +86,515 @@ public class Student {
         return minors;
     }
 
+    public Duration getAssignmentBudget() {
+        return assignmentBudget;
+    }
+
+    /**
+     * Sets how long a progress report may spend looking for a better way to
+     * assign courses to requirements than filling them in order. Zero turns
+     * the search off.
+     */
+    public void setAssignmentBudget(Duration assignmentBudget) {
+        this.assignmentBudget = assignmentBudget;
+    }
+
+    /**
+     * Returns the version of the catalog the selected concentrations were taken
+     * from, or 0 if no concentrations were selected.
+     */
+    public long getCatalogVersion() {
+        if (!majors.isEmpty()) {
+            return majors.get(0).getCatalogVersion();
+        }
+        return minors.isEmpty() ? 0 : minors.get(0).getCatalogVersion();
+    }
+
     public void printProgress() {
         System.out.println("\n======== Student Progress ========");
         System.out.println("Graduation Year: " + gradYr);
         System.out.println("==================================\n");
 
-        // Process majors
-        for (Concentration major : majors) {
-            System.out.println("Major: " + major.getName());
-            printConcentrationProgress(major);
+        ProgressReport report = getProgressReport();
+        for (ProgressReport.ProgramProgress program : report.programs()) {
+            System.out.println(program.label());
+            for (RequirementProgress requirement : program.requirements()) {
+                System.out.println(requirement.toText());
+            }
+        }
+        StringBuilder sharedCourses = new StringBuilder();
+        report.appendSharedCourses(sharedCourses);
+        System.out.print(sharedCourses);
+    }
+
+    /**
+     * Evaluates the student's majors and minors and returns the result,
+     * without rendering it as text.
+     */
+    public ProgressReport getProgressReport() {
+        return getProgressReport(null);
+    }
+
+    /**
+     * Returns the progress report as {@link #getProgressReport()} does,
+     * recording the evaluation with {@code profiler} while it is enabled.
+     * A null profiler records nothing.
+     */
+    public ProgressReport getProgressReport(EvaluationProfiler profiler) {
+        List<ProgramEvaluation> evaluations = evaluatePrograms(profiler);
+        List<ProgressReport.ProgramProgress> programs = new ArrayList<>(evaluations.size());
+        boolean cutShort = false;
+        for (ProgramEvaluation evaluation : evaluations) {
+            programs.add(evaluation.toProgress());
+            cutShort |= evaluation.evaluation().cutShort();
         }
+        return new ProgressReport(gradYr, getCatalogVersion(), programs, findSharedCourses(evaluations), cutShort);
+    }
 
-        // Process minors
+    /**
+     * Returns the courses that count toward more than one of the student's
+     * majors and minors, in transcript order. A course matched by a sequence
+     * the student hasn't completed doesn't count toward its program.
+     */
+    public List<ProgressReport.SharedCourse> getSharedCourses() {
+        return getProgressReport().sharedCourses();
+    }
+
+    /**
+     * Evaluates every major and then every minor against the one index of the
+     * student's courses, sharing a single assignment budget between them.
+     * Each program is matched on its own, since requirements only compete
+     * for courses within a program; the courses each one counted are
+     * compared afterwards to find the shared ones.
+     */
+    private List<ProgramEvaluation> evaluatePrograms(EvaluationProfiler profiler) {
+        return evaluatePrograms(profiler, System.nanoTime() + assignmentBudget.toNanos());
+    }
+
+    private List<ProgramEvaluation> evaluatePrograms(EvaluationProfiler profiler, long deadline) {
+        List<ProgramEvaluation> programs = new ArrayList<>(majors.size() + minors.size());
+        for (Concentration major : majors) {
+            programs.add(new ProgramEvaluation("Major", major, evaluateConcentration(major, deadline, profiler)));
+        }
         for (Concentration minor : minors) {
-            System.out.println("Minor: " + minor.getName());
-            printConcentrationProgress(minor);
+            programs.add(new ProgramEvaluation("Minor", minor, evaluateConcentration(minor, deadline, profiler)));
         }
+        lastEvaluations = programs;
+        return programs;
+    }
+
+    /**
+     * Works out what the given changes to the student's courses would do to
+     * their progress, leaving this student as it is. Only the programs with a
+     * requirement that a changed course could count toward are evaluated
+     * again. Within a program every requirement is, since the requirements
+     * compete for the same courses. The student's last evaluation is reused
+     * as the baseline unless its assignment search ran out of time; then the
+     * baseline is evaluated again under the same deadline as the changes, so
+     * the delta shows what the changes did rather than how much further the
+     * search got this time.
+     *
+     * @throws IllegalArgumentException if a change can't be applied
+     */
+    public ProgressDelta whatIf(List<CourseChange> changes) {
+        return whatIf(changes, null);
     }
 
     /**
-     * Processes each requirement for the given concentration.
-     * A copy of the student's courses is made so that each requirement
-     * “consumes” courses as they are used.
+     * Works out a what-if as {@link #whatIf(List)} does, recording the
+     * evaluations it needs with {@code profiler} while it is enabled. A null
+     * profiler records nothing.
+     *
+     * @throws IllegalArgumentException if a change can't be applied
      */
-    private void printConcentrationProgress(Concentration concentration) {
-        List<Course> coursesLeft = new ArrayList<>(courses);
+    public ProgressDelta whatIf(List<CourseChange> changes, EvaluationProfiler profiler) {
+        long deadline = System.nanoTime() + assignmentBudget.toNanos();
+        List<ProgramEvaluation> before = lastEvaluations;
+        if (before == null || anyCutShort(before)) {
+            before = evaluatePrograms(profiler, deadline);
+        }
+
+        ArrayList<Course> changedCourses = new ArrayList<>(courses);
+        List<Integer> origins = new ArrayList<>(courses.size());
+        for (int position = 0; position < courses.size(); position++) {
+            origins.add(position);
+        }
+        Set<String> changedCodes = new HashSet<>();
+        for (CourseChange change : changes) {
+            change.applyTo(changedCourses, origins);
+            changedCodes.add(change.code());
+        }
+        Student changed = new Student(gradYr, changedCourses, majors, minors);
+        changed.assignmentBudget = assignmentBudget;
+
+        List<ProgramEvaluation> after = new ArrayList<>(before.size());
+        List<ProgressDelta.RequirementChange> requirementChanges = new ArrayList<>();
+        List<String> reevaluated = new ArrayList<>();
+        for (ProgramEvaluation program : before) {
+            if (!canUseAny(program.concentration(), changedCodes)) {
+                after.add(program.moved(origins));
+                continue;
+            }
+            Evaluation evaluation = changed.evaluateConcentration(program.concentration(), deadline, profiler);
+            after.add(new ProgramEvaluation(program.kind(), program.concentration(), evaluation));
+            reevaluated.add(program.label());
+            List<RequirementProgress> previous = program.evaluation().requirements();
+            for (int r = 0; r < previous.size(); r++) {
+                if (!previous.get(r).equals(evaluation.requirements().get(r))) {
+                    requirementChanges.add(new ProgressDelta.RequirementChange(program.label(), r, previous.get(r),
+                            evaluation.requirements().get(r)));
+                }
+            }
+        }
+
+        List<ProgressReport.SharedCourse> sharedBefore = findSharedCourses(before);
+        List<ProgressReport.SharedCourse> sharedAfter = changed.findSharedCourses(after);
+        return new ProgressDelta(requirementChanges, sharedAfter.equals(sharedBefore) ? null : sharedAfter, reevaluated);
+    }
+
+    private static boolean anyCutShort(List<ProgramEvaluation> programs) {
+        for (ProgramEvaluation program : programs) {
+            if (program.evaluation().cutShort()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canUseAny(Concentration concentration, Set<String> codes) {
         for (Requirement req : concentration.getReqs()) {
-            if (req.isSeq()) {
-                System.out.println(processSequenceRequirement(req, coursesLeft));
-            } else {
-                System.out.println(processNonSequenceRequirement(req, coursesLeft));
+            for (String code : codes) {
+                if (req.canUse(code)) {
+                    return true;
+                }
             }
         }
+        return false;
     }
 
+    private List<ProgressReport.SharedCourse> findSharedCourses(List<ProgramEvaluation> evaluations) {
+        List<ProgressReport.SharedCourse> shared = new ArrayList<>();
+        if (evaluations.size() < 2) {
+            return shared;
+        }
+        CourseIndex index = getCourseIndex();
+        for (int position = 0; position < index.size(); position++) {
+            List<String> countedToward = new ArrayList<>(2);
+            for (int p = 0; p < evaluations.size(); p++) {
+                if (evaluations.get(p).evaluation().counted().get(position)) {
+                    countedToward.add(evaluations.get(p).label());
+                }
+            }
+            if (countedToward.size() > 1) {
+                shared.add(new ProgressReport.SharedCourse(index.get(position).getCode(), countedToward));
+            }
+        }
+        return shared;
+    }
+
+
     /**
-     * Processes a requirement that is made up of sequences (sub-requirements).
+     * Evaluates each requirement for the given concentration. Requirements
+     * are first filled in order, each “consuming” the courses it uses. If
+     * that leaves any requirement incomplete, and there is time left before
+     * the deadline, the courses are assigned again with some of them kept
+     * back for later requirements, as chosen by {@link AssignmentSolver}. The
+     * best of these evaluations is returned; the in-order one wins ties. It
+     * is marked as cut short if the deadline ended the search while a better
+     * assignment might still have been found. The evaluation is recorded
+     * with the profiler, if there is one and it is enabled.
      */
-    private String processSequenceRequirement(Requirement req, List<Course> coursesLeft) {
-        StringBuilder result = new StringBuilder();
-        int seqsFulfilled = 0;
-        List<String[]> fulfilledCourseLists = new ArrayList<>();
-        List<String[]> sequences = new ArrayList<>();
+    private Evaluation evaluateConcentration(Concentration concentration, long deadline, EvaluationProfiler profiler) {
+        EvaluationProfiler.Sample sample = profiler == null ? null : profiler.start(concentration);
+        if (sample == null) {
+            return evaluateConcentration(concentration, deadline, sample);
+        }
+        long start = System.nanoTime();
+        Evaluation evaluation = evaluateConcentration(concentration, deadline, sample);
+        profiler.record(sample, System.nanoTime() - start);
+        return evaluation;
+    }
 
-        // Build a list of sequence arrays from each sub-requirement.
-        for (Requirement subReq : req.getSequences()) {
-            String[] seq = new String[subReq.getNumNeeded()];
-            for (int j = 0; j < subReq.getNumNeeded(); j++) {
-                seq[j] = subReq.getCourseGroups().get(j);
+    private Evaluation evaluateConcentration(Concentration concentration, long deadline, EvaluationProfiler.Sample sample) {
+        CourseIndex index = getCourseIndex();
+        List<Requirement> reqs = concentration.getReqs();
+        Evaluation best = evaluate(reqs, index, null, sample);
+        if (best.completed() == reqs.size() || assignmentBudget.isZero()) {
+            return best;
+        }
+        if (System.nanoTime() - deadline >= 0) {
+            return best.markCutShort();
+        }
+
+        AssignmentSolver solver = new AssignmentSolver(index, reqs, deadline);
+        if (best.completed() >= solver.getCompletableCount()) {
+            return best;
+        }
+        for (int[] sequenceChoice : solver.sequenceChoices()) {
+            // Requirements that can't be completed anyway get no courses reserved
+            boolean[] excluded = new boolean[reqs.size()];
+            for (int r = 0; r < reqs.size(); r++) {
+                excluded[r] = !solver.isCompletable(r);
+            }
+            int[] reservations = solver.reserve(sequenceChoice, excluded);
+            if (reservations == null) {
+                return best.markCutShort();
+            }
+            Evaluation candidate = evaluate(reqs, index, reservations, sample);
+            // Give up on requirements the assignment still can't complete, one
+            // at a time, so their courses can go to the others
+            for (int r = 0; r < reqs.size() && !solver.isExpired(); r++) {
+                if (excluded[r] || candidate.requirements().get(r).completed()) {
+                    continue;
+                }
+                excluded[r] = true;
+                reservations = solver.reserve(sequenceChoice, excluded);
+                Evaluation without = reservations == null ? null : evaluate(reqs, index, reservations, sample);
+                if (without != null && without.isBetterThan(candidate)) {
+                    candidate = without;
+                } else {
+                    excluded[r] = false;
+                }
+            }
+            if (candidate.isBetterThan(best)) {
+                best = candidate;
+            }
+            if (best.completed() == reqs.size()) {
+                break;
             }
-            sequences.add(seq);
+            if (solver.isExpired()) {
+                return best.markCutShort();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fills the requirements in order. Courses reserved for a requirement
+     * can't be used by any other, and a null reservation array reserves
+     * nothing. A non-null sample records each
+     * requirement's time, scanned candidates and matched courses.
+     */
+    private Evaluation evaluate(List<Requirement> reqs, CourseIndex index, int[] reservations,
+            EvaluationProfiler.Sample sample) {
+        if (sample != null) {
+            sample.startPass();
+        }
+        BitSet used = new BitSet(index.size());
+        BitSet counted = new BitSet(index.size());
+        BitSet[] reservedFor = null;
+        BitSet reserved = null;
+        if (reservations != null) {
+            reservedFor = new BitSet[reqs.size()];
+            reserved = new BitSet(index.size());
+            for (int position = 0; position < reservations.length; position++) {
+                int r = reservations[position];
+                if (r != AssignmentSolver.UNRESERVED) {
+                    if (reservedFor[r] == null) {
+                        reservedFor[r] = new BitSet(index.size());
+                    }
+                    reservedFor[r].set(position);
+                    reserved.set(position);
+                }
+            }
+        }
+
+        List<RequirementProgress> progress = new ArrayList<>(reqs.size());
+        int completed = 0;
+        int fulfilled = 0;
+        for (int r = 0; r < reqs.size(); r++) {
+            Requirement req = reqs.get(r);
+            BitSet available = used;
+            BitSet blocked = null;
+            if (reserved != null) {
+                // Everything reserved for the other requirements is off limits
+                blocked = (BitSet) reserved.clone();
+                if (reservedFor[r] != null) {
+                    blocked.andNot(reservedFor[r]);
+                }
+                available = (BitSet) used.clone();
+                available.or(blocked);
+            }
+
+            RequirementProgress outcome;
+            long start = 0;
+            int matchedBefore = 0;
+            if (sample != null) {
+                sample.startRequirement(r);
+                start = System.nanoTime();
+                matchedBefore = available.cardinality();
+            }
+            outcome = req.isSeq() ? processSequenceRequirement(req, index, available, counted, sample)
+                    : processNonSequenceRequirement(req, index, available, counted, sample);
+            if (sample != null) {
+                sample.endRequirement(System.nanoTime() - start, available.cardinality() - matchedBefore);
+            }
+
+            if (blocked != null) {
+                available.andNot(blocked);
+                used.or(available);
+            }
+            progress.add(outcome);
+            completed += outcome.completed() ? 1 : 0;
+            fulfilled += outcome.fulfilled();
+        }
+        return new Evaluation(progress, completed, fulfilled, counted, false);
+    }
+
+    /**
+     * Returns the index of the student's courses, building it on first use.
+     */
+    private CourseIndex getCourseIndex() {
+        CourseIndex index = courseIndex;
+        if (index == null) {
+            index = new CourseIndex(courses);
+            courseIndex = index;
         }
+        return index;
+    }
+
+    /**
+     * Processes a requirement that is made up of sequences (sub-requirements).
+     * Only the courses of completed sequences are added to {@code counted}.
+     */
+    private RequirementProgress processSequenceRequirement(Requirement req, CourseIndex index, BitSet used, BitSet counted,
+            EvaluationProfiler.Sample sample) {
+        int seqsFulfilled = 0;
+        List<RequirementProgress.SequenceProgress> sequences = new ArrayList<>(req.getSequences().size());
+        GradeShortfalls shortfalls = new GradeShortfalls();
 
-        int counter = 0;
         for (Requirement subReq : req.getSequences()) {
             int numFulfilled = 0;
             String[] fulfilledCourses = new String[subReq.getNumNeeded()];
+            int[] fulfilledPositions = new int[subReq.getNumNeeded()];
+            boolean completed = false;
             for (String course : subReq.getCourseGroups()) {
-                List<Course> usedCourses = new ArrayList<>();
-                for (Course myCourse : coursesLeft) {
-                    if (course.equals(myCourse.getCode())
-                            && (subReq.getGradeRequirement().equals("") || compareGrades(myCourse.getGrade(), subReq.getGradeRequirement()))) {
+                for (int position : index.withCode(course)) {
+                    if (sample != null) {
+                        sample.scan();
+                    }
+                    if (used.get(position)) {
+                        continue;
+                    }
+                    Course myCourse = index.get(position);
+                    if (subReq.hasGradeRequirement() && myCourse.getGradeRank() < subReq.getMinimumGradeRank()) {
+                        if (!myCourse.getGrade().equals("W")) {
+                            shortfalls.add(position, myCourse, subReq);
+                        }
+                    } else {
                         fulfilledCourses[numFulfilled] = course;
-                        usedCourses.add(myCourse);
+                        fulfilledPositions[numFulfilled] = position;
+                        used.set(position);
                         numFulfilled++;
                         if (numFulfilled >= subReq.getNumNeeded()) {
                             seqsFulfilled++;
+                            completed = true;
+                            for (int fulfilledPosition : fulfilledPositions) {
+                                counted.set(fulfilledPosition);
+                            }
                             break;
                         }
                     }
                 }
-                removeUsedCourses(coursesLeft, usedCourses);
                 if (numFulfilled >= subReq.getNumNeeded()) {
-                    // Remove the corresponding sequence since it has been completed
-                    sequences.remove(counter);
-                    counter--; // Adjust counter because of removal
                     break;
                 }
             }
-            fulfilledCourseLists.add(fulfilledCourses);
-            counter++;
+            sequences.add(new RequirementProgress.SequenceProgress(subReq.getCourseGroups().subList(0, subReq.getNumNeeded()),
+                    List.of(Arrays.copyOf(fulfilledCourses, numFulfilled)), completed));
             if (seqsFulfilled >= req.getNumNeeded()) {
                 break;
             }
         }
 
-        // Print out progress based on how many sequences were fulfilled.
-        if (seqsFulfilled >= req.getNumNeeded()) {
-            result.append("[X] " + req.getTitle() + " (Completed)\n");
-            String fulfilledStr = fulfilledCourseLists.stream()
-                    .sorted((a, b) -> Double.compare(
-                            (double) Arrays.stream(b).filter(Objects::nonNull).count() / b.length,
-                            (double) Arrays.stream(a).filter(Objects::nonNull).count() / a.length))
-                    .limit(req.getNumNeeded())
-                    .map(arr -> Arrays.stream(arr).filter(Objects::nonNull).collect(Collectors.joining(", ")))
-                    .collect(Collectors.joining("; "));
-                    result.append("   Fulfilled by: " + fulfilledStr + "\n");
-        } else if (seqsFulfilled > 0) {
-            result.append("[~] " + req.getTitle() + " (Partially Completed)\n");
-            String completedSequences = fulfilledCourseLists.stream()
-                    .filter(arr -> Arrays.stream(arr).noneMatch(Objects::isNull))
-                    .map(arr -> "(" + String.join(", ", arr) + ")")
-                    .collect(Collectors.joining("; "));
-                    result.append("   Sequences Completed: " + completedSequences+ "\n");
-            String sequencesLeftStr = formatSequences(sequences);
-            result.append("   Sequences Left: " + (req.getNumNeeded() - seqsFulfilled)
-                    + " of " + sequencesLeftStr);
-                    result.append(gradeRequirementSuffix(req.getGradeRequirement()) + "\n");
-        } else {
-            result.append("[ ] " + req.getTitle() + " (Not Completed)\n");
-            String sequencesLeftStr = formatSequences(sequences);
-            result.append("   Sequences Left: " + (req.getNumNeeded() - seqsFulfilled)
-                    + " of " + sequencesLeftStr);
-                    result.append(gradeRequirementSuffix(req.getGradeRequirement()) + "\n");
-        }
-        result.append("\n");
-
-        return result.toString();
+        return RequirementProgress.ofSequences(req, seqsFulfilled, sequences, shortfalls.toList());
     }
 
     /**
      * Processes a requirement that is not based on sequences.
      */
-    private String processNonSequenceRequirement(Requirement req, List<Course> coursesLeft) {
-        StringBuilder result = new StringBuilder();
+    private RequirementProgress processNonSequenceRequirement(Requirement req, CourseIndex index, BitSet used, BitSet counted,
+            EvaluationProfiler.Sample sample) {
         int numFulfilled = 0;
+        GradeShortfalls shortfalls = new GradeShortfalls();
         String[] fulfilledCourses = new String[req.getNumNeeded()];
-        ArrayList<int[]> numRequirements = new ArrayList<>();
-        ArrayList<Map.Entry<Integer, String>> typeRequirements = new ArrayList<>();
+        // Counted down as courses are matched
+        int[] numberCounts = req.copyNumberCounts();
+        int[] typeCounts = req.copyTypeCounts();
         ArrayList<String> courseList = new ArrayList<>(req.getCourseGroups());
 
-        if (!req.getNumberRequirements().equals("")) {
-            for (String pair : req.getNumReqs()) {
-                numRequirements.add(new int[]{
-                        Integer.parseInt(pair.substring(0, 2).replaceAll("[^0-9]", "")),
-                        Integer.parseInt(pair.substring(2).replaceAll("[^0-9]", ""))
-                });
-            }
-        }
-
-        if(!req.getTypeRequirements().equals("")) {
-            for (String pair : req.getTypeReqs()) {
-                typeRequirements.add(new AbstractMap.SimpleEntry<>(
-                    Integer.parseInt(pair.substring(0, 2).replaceAll("[^0-9]", "")),
-                    pair.replaceAll(".*\\((.*?)\\).*", "$1")));
-            }
-        }
-
-        for (String course : req.getCourseGroups()) {
-            List<Course> usedCourses = new ArrayList<>();
-            for (Course myCourse : coursesLeft) {
-                if (((course.contains("XXX") && myCourse.getCode().toString().contains(course.substring(0,3)) 
-                        && !myCourse.getCode().contains("295H") && !myCourse.getCode().contains("296H") && !myCourse.getCode().contains("297H")) || 
-                        course.equals(myCourse.getCode())) && 
-                        (req.getGradeRequirement().equals("") || compareGrades(myCourse.getGrade(), req.getGradeRequirement())) &&
+        List<String> courseGroups = req.getCourseGroups();
+        for (int group = 0; group < courseGroups.size(); group++) {
+            String course = courseGroups.get(group);
+            for (int position : index.candidates(req, group)) {
+                if (sample != null) {
+                    sample.scan();
+                }
+                if (used.get(position)) {
+                    continue;
+                }
+                Course myCourse = index.get(position);
+                if (req.hasGradeRequirement() && myCourse.getGradeRank() < req.getMinimumGradeRank()
+                        && !myCourse.getGrade().equals("W")) {
+                    shortfalls.add(position, myCourse, req);
+                }
+                if (req.hasNumberRequirements() && !index.hasLevel(position)) {
+                    // A code with no course number can't count toward a number constraint
+                    continue;
+                }
+                if ((!req.hasGradeRequirement() || myCourse.getGradeRank() >= req.getMinimumGradeRank()) &&
                         !myCourse.getGrade().equals("W")) {
                         
-                            if (req.getNumberRequirements().equals("") && req.getTypeRequirements().equals("")) {
+                            if (!req.hasNumberRequirements() && !req.hasTypeRequirements()) {
                             fulfilledCourses[numFulfilled] = myCourse.getCode();
-                            usedCourses.add(myCourse);
+                            used.set(position);
+                            counted.set(position);
                             numFulfilled++;
-                            if(!course.contains("XXX")) {
+                            if(!req.isWildcardGroup(group)) {
                                 courseList.remove(course);
                             }
                             if (numFulfilled >= req.getNumNeeded()) {
                                 break;
                             }
-                        } else if (req.getTypeRequirements().equals("")){
+                        } else if (!req.hasTypeRequirements()){
                             boolean fulfillsRequirement = false;
-                            for (int[] pair : numRequirements) {
-                                if (Integer.parseInt(myCourse.getCode().substring(4, 7)) >= pair[1]) {
-                                    if (req.getNumNeeded() - numFulfilled >= pair[0]) {
+                            for (int n = 0; n < numberCounts.length; n++) {
+                                if (index.getLevel(position) >= req.getNumberLevel(n)) {
+                                    if (req.getNumNeeded() - numFulfilled >= numberCounts[n]) {
                                         fulfillsRequirement = true;
-                                        if(!course.contains("XXX")) {
+                                        if(!req.isWildcardGroup(group)) {
                                             courseList.remove(course);
                                         }
-                                        if (pair[0] > 0) {
-                                            pair[0] = pair[0] - 1;
+                                        if (numberCounts[n] > 0) {
+                                            numberCounts[n] = numberCounts[n] - 1;
                                         }
                                     }
                                 }
                             }
                             if (fulfillsRequirement) {
                                 fulfilledCourses[numFulfilled] = myCourse.getCode();
-                                usedCourses.add(myCourse);
+                                used.set(position);
+                                counted.set(position);
                                 numFulfilled++;
                             }
                             if (numFulfilled >= req.getNumNeeded()) {
                                 break;
                             }
-                        } else if (req.getNumberRequirements().equals("")) {
+                        } else if (!req.hasNumberRequirements()) {
                             boolean fulfillsRequirement = false;
-                            for (Map.Entry<Integer, String> pair : typeRequirements) {
-                                for(String type : myCourse.getTypes()){
-                                    if (pair.getValue().contains(type)) {
-
-                                        if (req.getNumNeeded() - numFulfilled >= pair.getKey()) {
-                                            fulfillsRequirement = true;
-                                            if(!course.contains("XXX")) {
-                                                courseList.remove(course);
-                                            }
-                                            if (pair.getKey() > 0) {
-                                                for (int i = 0; i < typeRequirements.size(); i++) {
-                                                    if (pair.getValue().equals(typeRequirements.get(i).getValue())){
-                                                        typeRequirements.set(i, Map.entry(pair.getKey() - 1, pair.getValue()));
-                                                    }
+                            for (int t = 0; t < typeCounts.length; t++) {
+                                int typeCount = typeCounts[t];
+                                String typeName = req.getTypeName(t);
+                                if ((myCourse.getTypeMask() & req.getTypeMask(t)) != 0) {
+                                    if (req.getNumNeeded() - numFulfilled >= typeCount) {
+                                        fulfillsRequirement = true;
+                                        if(!req.isWildcardGroup(group)) {
+                                            courseList.remove(course);
+                                        }
+                                        if (typeCount > 0) {
+                                            for (int i = 0; i < typeCounts.length; i++) {
+                                                if (typeName.equals(req.getTypeName(i))){
+                                                    typeCounts[i] = typeCount - 1;
                                                 }
                                             }
                                         }
@@ -246,7 +603,8 @@ public class Student {
                             }
                             if (fulfillsRequirement) {
                                 fulfilledCourses[numFulfilled] = myCourse.getCode();
-                                usedCourses.add(myCourse);
+                                used.set(position);
+                                counted.set(position);
                                 numFulfilled++;
                             }
                             if (numFulfilled >= req.getNumNeeded()) {
@@ -254,48 +612,48 @@ public class Student {
                             }
                         } else {
                             boolean fulfillsRequirement = false;
-                            for (int[] pair : numRequirements) {
-                                if (Integer.parseInt(myCourse.getCode().substring(4, 7)) >= pair[1]) {
-                                    if (req.getNumNeeded() - numFulfilled >= pair[0]) {
+                            for (int n = 0; n < numberCounts.length; n++) {
+                                if (index.getLevel(position) >= req.getNumberLevel(n)) {
+                                    if (req.getNumNeeded() - numFulfilled >= numberCounts[n]) {
                                         fulfillsRequirement = true;
-                                        if (pair[0] > 0) {
-                                            pair[0] = pair[0] - 1;
-                                            for (Map.Entry<Integer, String> pair1 : typeRequirements) {
-                                                for(String type : myCourse.getTypes()){
-                                                    if (pair1.getValue().contains(type)) {
-                                                        if (req.getNumNeeded() - numFulfilled >= pair1.getKey()) {
-                                                            fulfillsRequirement = true;
-                                                            if (pair1.getKey() > 0) {
-                                                                for (int i = 0; i < typeRequirements.size(); i++) {
-                                                                    if (pair1.getValue().equals(typeRequirements.get(i).getValue())){
-                                                                        typeRequirements.set(i, Map.entry(pair1.getKey() - 1, pair1.getValue()));
-                                                                    }
+                                        if (numberCounts[n] > 0) {
+                                            numberCounts[n] = numberCounts[n] - 1;
+                                            for (int t = 0; t < typeCounts.length; t++) {
+                                                int typeCount = typeCounts[t];
+                                                String typeName = req.getTypeName(t);
+                                                if ((myCourse.getTypeMask() & req.getTypeMask(t)) != 0) {
+                                                    if (req.getNumNeeded() - numFulfilled >= typeCount) {
+                                                        fulfillsRequirement = true;
+                                                        if (typeCount > 0) {
+                                                            for (int i = 0; i < typeCounts.length; i++) {
+                                                                if (typeName.equals(req.getTypeName(i))){
+                                                                    typeCounts[i] = typeCount - 1;
                                                                 }
                                                             }
-                                                        } else {
-                                                            fulfillsRequirement = false;
                                                         }
+                                                    } else {
+                                                        fulfillsRequirement = false;
                                                     }
                                                 }
                                             }
                                         }
                                     }
                                 } else {
-                                    for (Map.Entry<Integer, String> pair1 : typeRequirements) {
-                                        for(String type : myCourse.getTypes()){
-                                            if (type.equals(pair1.getValue())) {
-                                                if (req.getNumNeeded() - numFulfilled >= pair1.getKey()) {
-                                                    fulfillsRequirement = true;
-                                                    if (pair1.getKey() > 0) {
-                                                        for (int i = 0; i < typeRequirements.size(); i++) {
-                                                            if (pair1.getValue().equals(typeRequirements.get(i).getValue())){
-                                                                typeRequirements.set(i, Map.entry(pair1.getKey() - 1, pair1.getValue()));
-                                                            }
+                                    for (int t = 0; t < typeCounts.length; t++) {
+                                        int typeCount = typeCounts[t];
+                                        String typeName = req.getTypeName(t);
+                                        if ((myCourse.getTypeMask() & req.getTypeMask(t)) != 0) {
+                                            if (req.getNumNeeded() - numFulfilled >= typeCount) {
+                                                fulfillsRequirement = true;
+                                                if (typeCount > 0) {
+                                                    for (int i = 0; i < typeCounts.length; i++) {
+                                                        if (typeName.equals(req.getTypeName(i))){
+                                                            typeCounts[i] = typeCount - 1;
                                                         }
                                                     }
-                                                } else {
-                                                    fulfillsRequirement = false;
                                                 }
+                                            } else {
+                                                fulfillsRequirement = false;
                                             }
                                         }
                                     }
@@ -303,10 +661,11 @@ public class Student {
                             }
                             if (fulfillsRequirement) {
                                 fulfilledCourses[numFulfilled] = myCourse.getCode();
-                                if(!course.contains("XXX")) {
+                                if(!req.isWildcardGroup(group)) {
                                     courseList.remove(course);
                                 }
-                                usedCourses.add(myCourse);
+                                used.set(position);
+                                counted.set(position);
                                 numFulfilled++;
                             }
                             if (numFulfilled >= req.getNumNeeded()) {
@@ -318,186 +677,42 @@ public class Student {
                     break;
                 }
             }
-            removeUsedCourses(coursesLeft, usedCourses);
             if (numFulfilled >= req.getNumNeeded()) {
                 break;
             }
         }
 
-        // Print out progress for the non-sequence requirement.
-        if (numFulfilled >= req.getNumNeeded()) {
-            result.append("[X] " + req.getTitle() + " (Completed)\n");
-            result.append("   Fulfilled by: " + String.join(", ", fulfilledCourses) + "\n");
-        } else if (numFulfilled > 0) {
-            result.append("[~] " + req.getTitle() + " (Partially Completed)\n");
-            String completed = Arrays.stream(fulfilledCourses)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.joining(", "));
-                    result.append("   Completed: " + completed + "\n");
-                    result.append("   Still Needed: " + (req.getNumNeeded() - numFulfilled)
-                    + " of " + String.join("; ", courseList));
-                    result.append(formatRequirements(numRequirements, req.getNumberRequirements(), typeRequirements, req.getTypeRequirements()));
-                    result.append(gradeRequirementSuffix(req.getGradeRequirement()) + "\n");
-        } else {
-            result.append("[ ] " + req.getTitle() + " (Not Completed)\n");
-            result.append("   Still Needed: " + (req.getNumNeeded() - numFulfilled)
-                    + " of " + String.join("; ", courseList));
-                    result.append(formatRequirements(numRequirements, req.getNumberRequirements(), typeRequirements, req.getTypeRequirements()));
-                    result.append(gradeRequirementSuffix(req.getGradeRequirement()) + "\n");
-        }
-        result.append("\n");
-
-        return result.toString();
-    }
-
-    /**
-     * Returns a suffix string to append when a grade requirement exists.
-     */
-    private String gradeRequirementSuffix(String gradeRequirement) {
-        if (gradeRequirement.equals("")) {
-            return "";
-        }
-        return " with a minimum grade of " + gradeRequirement;
-    }
-
-    /**
-     * Formats a list of sequences (each represented as an array) into a string.
-     */
-    private String formatSequences(List<String[]> sequences) {
-        return sequences.stream()
-                .map(arr -> "(" + String.join(", ", arr) + ")")
-                .collect(Collectors.joining("; "));
+        return RequirementProgress.ofCourses(req, List.of(Arrays.copyOf(fulfilledCourses, numFulfilled)), courseList,
+                numberCounts, typeCounts, shortfalls.toList());
     }
 
     /**
-     * Combines the formatting for both number and type requirements.
+     * Collects the courses a requirement passes over for their grade, each
+     * once however many of the requirement's course groups it matches.
      */
-    private String formatRequirements(ArrayList<int[]> numRequirements, String numberRequirements, 
-            ArrayList<Map.Entry<Integer, String>> typeReqs, String typeRequirements) {
-
-        if (numberRequirements.equals("") && typeRequirements.equals("")){
-            return "";
-        }
+    private static final class GradeShortfalls {
 
-        StringBuilder result = new StringBuilder(" consisting of:");
-
-        // First, check for special type requirements (WAC or WAC-R).
-        int specialCount = 0;
-        ArrayList<String> specialTypes = new ArrayList<>();
-        // Use an iterator to remove special entries from typeReqs.
-        Iterator<Map.Entry<Integer, String>> iter = typeReqs.iterator();
-        while (iter.hasNext()) {
-            Map.Entry<Integer, String> entry = iter.next();
-            String type = entry.getValue();
-            if (type.equals("WAC") || type.equals("WAC-R")) {
-                specialCount += entry.getKey();
-                if (!specialTypes.contains(type)) {
-                    specialTypes.add(type);
-                }
-                iter.remove(); // remove so it doesn't show up in the regular type reqs
-            }
-        }
-        // Combine special type names if there are more than one.
-        String specialTypeStr = "";
-        if (!specialTypes.isEmpty()) {
-            if (specialTypes.size() == 1) {
-                specialTypeStr = specialTypes.get(0);
-            } else {
-                specialTypeStr = String.join(" or ", specialTypes);
-            }
-        }
+        private List<RequirementProgress.GradeShortfall> shortfalls;
+        private BitSet positions;
 
-        // Build the number requirements part if applicable.
-        if (!numberRequirements.equals("")) {
-            StringBuilder sb = new StringBuilder("\n");
-            for (int i = 0; i < numRequirements.size(); i++) {
-                int[] pair = numRequirements.get(i);
-                int count = pair[0];
-                // Adjust count based on the next requirement if available.
-                if (i < numRequirements.size() - 1) {
-                    count -= numRequirements.get(i + 1)[0];
-                }
-                if (count > 0) {
-                    // If the requirement is for courses numbered >=300 and there is a special type req,
-                    // split the requirement into a general and a special part.
-                    if (pair[1] >= 300 && specialCount > 0) {
-                        int generalOnlyCount = count - specialCount;
-                        if (generalOnlyCount > 0) {
-                            sb.append("                    * ")
-                            .append(generalOnlyCount)
-                            .append(" course(s) numbered")
-                            .append(" >=")
-                            .append(pair[1])
-                            .append("\n");
-                        }
-                        sb.append("                    * ")
-                        .append(specialCount)
-                        .append(" course(s) numbered")
-                        .append(" >=")
-                        .append(pair[1])
-                        .append(" and is also a ")
-                        .append(specialTypeStr)
-                        .append("\n");
-                    } else {
-                        sb.append("                    * ")
-                        .append(count)
-                        .append(" course(s) numbered")
-                        .append(" >=")
-                        .append(pair[1])
-                        .append("\n");
-                    }
-                }
+        void add(int position, Course course, Requirement req) {
+            if (shortfalls == null) {
+                shortfalls = new ArrayList<>();
+                positions = new BitSet();
             }
-            // Remove the trailing newline.
-            if (sb.length() > " consisting of:".length()) {
-                sb.setLength(sb.length() - 1);
-                result.append(sb);
+            if (!positions.get(position)) {
+                positions.set(position);
+                shortfalls.add(new RequirementProgress.GradeShortfall(course.getCode(), course.getGrade(), req.getGradeRequirement()));
             }
         }
 
-        // Build the type requirements part if applicable.
-        if (!typeRequirements.equals("")) {
-            StringBuilder sb = new StringBuilder("\n");
-            for (Map.Entry<Integer, String> pair : typeReqs) {
-                if (pair.getKey() > 0) {
-                    sb.append("                    * ")
-                    .append(pair.getKey())
-                    .append(" course(s) must be typed ")
-                    .append(pair.getValue())
-                    .append(", ");
-                }
-            }
-            // Remove the trailing comma and space.
-            if (sb.length() > 1) {
-                sb.setLength(sb.length() - 2);
-                result.append(sb);
-            }
+        List<RequirementProgress.GradeShortfall> toList() {
+            return shortfalls == null ? List.of() : shortfalls;
         }
-
-        return result.toString();
-    }
-
-
-
-
-    /**
-     * Removes all courses from coursesLeft that appear in usedCourses.
-     */
-    private void removeUsedCourses(List<Course> coursesLeft, List<Course> usedCourses) {
-        coursesLeft.removeAll(usedCourses);
     }
 
     public static boolean compareGrades(String grade1, String grade2) {
-        Map<String, Double> gradeScale = new HashMap<>(Map.ofEntries(
-                Map.entry("CIP", 4.3), Map.entry("N/A", 4.3), Map.entry("T", 4.3),
-                Map.entry("A", 4.0), Map.entry("A-", 3.7),
-                Map.entry("B+", 3.3), Map.entry("B", 3.0), Map.entry("B-", 2.7),
-                Map.entry("C+", 2.3), Map.entry("C", 2.0), Map.entry("C-", 1.7),
-                Map.entry("D+", 1.3), Map.entry("D", 1.0), Map.entry("D-", 0.7),
-                Map.entry("F", 0.0)
-        ));
-
-        return gradeScale.getOrDefault(grade1.trim(), -1.0) >= gradeScale.getOrDefault(grade2, -1.0);
+        return Grade.fromTranscript(grade1).meets(Grade.fromCode(grade2));
     }
 
     @Override
@@ -506,39 +721,7 @@ public class Student {
     }
 
     public String getProgressString() {
-        StringBuilder progress = new StringBuilder();
-        progress.append("\n======== Student Progress ========\n");
-        progress.append("Graduation Year: ").append(gradYr).append("\n");
-        progress.append("==================================\n\n");
-    
-        // Process majors
-        for (Concentration major : majors) {
-            progress.append("Major: ").append(major.getName()).append("\n");
-            progress.append(getConcentrationProgress(major));
-        }
-    
-        // Process minors
-        for (Concentration minor : minors) {
-            progress.append("Minor: ").append(minor.getName()).append("\n");
-            progress.append(getConcentrationProgress(minor));
-        }
-    
-        return progress.toString();
-    }
-    
-    private String getConcentrationProgress(Concentration concentration) {
-        StringBuilder result = new StringBuilder();
-        List<Course> coursesLeft = new ArrayList<>(courses);
-    
-        for (Requirement req : concentration.getReqs()) {
-            if (req.isSeq()) {
-                result.append(processSequenceRequirement(req, coursesLeft));
-            } else {
-                result.append(processNonSequenceRequirement(req, coursesLeft));
-            }
-        }
-    
-        return result.toString();
+        return getProgressReport().toText();
     }
-    
+
 }
\ No newline at end of file
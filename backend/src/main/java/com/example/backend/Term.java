@@ -0,0 +1,137 @@
+package com.example.backend;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One term of the academic year, such as "Fall 2025". The year runs Fall,
+ * Winter, Spring, so Fall 2025 is followed by Winter 2026. Summer terms are
+ * listed in the course catalog but are not planned into.
+ */
+public record Term(Season season, int year) implements Comparable<Term> {
+
+    public enum Season {
+        WINTER("Winter"),
+        SPRING("Spring"),
+        SUMMER("Summer"),
+        FALL("Fall");
+
+        private final String label;
+
+        Season(String label) {
+            this.label = label;
+        }
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Returns the season with this label, ignoring case, or null if there
+         * is none.
+         */
+        public static Season fromLabel(String label) {
+            for (Season season : values()) {
+                if (season.label.equalsIgnoreCase(label)) {
+                    return season;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Parses a term such as "Fall 2025".
+     *
+     * @throws IllegalArgumentException if the text is not a season and a year
+     */
+    public static Term parse(String text) {
+        String[] parts = text.trim().split("\\s+");
+        Season season = parts.length == 2 ? Season.fromLabel(parts[0]) : null;
+        if (season == null || !parts[1].matches("\\d{4}")) {
+            throw new IllegalArgumentException("Not a term: " + text);
+        }
+        return new Term(season, Integer.parseInt(parts[1]));
+    }
+
+    /**
+     * Returns the term a transcript's season code and two-digit year stand
+     * for, such as "FA" and "23" for Fall 2023, or null if they aren't one.
+     * Transfer courses have neither.
+     */
+    public static Term fromTranscript(String code, String year) {
+        if (code == null || year == null || code.length() != 2 || !year.matches("\\d{2}")) {
+            return null;
+        }
+        for (Season season : Season.values()) {
+            if (season.label.substring(0, 2).equalsIgnoreCase(code)) {
+                return new Term(season, 2000 + Integer.parseInt(year));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first regular term that starts after this date. Fall
+     * starts in September, Winter in January and Spring in late March.
+     */
+    public static Term after(LocalDate date) {
+        int month = date.getMonthValue();
+        if (month <= 3) {
+            return new Term(Season.SPRING, date.getYear());
+        }
+        if (month <= 8) {
+            return new Term(Season.FALL, date.getYear());
+        }
+        return new Term(Season.WINTER, date.getYear() + 1);
+    }
+
+    /**
+     * Returns the spring term a student graduating in this year finishes with.
+     */
+    public static Term graduation(int gradYr) {
+        return new Term(Season.SPRING, gradYr);
+    }
+
+    /**
+     * Returns the calendar year the academic year this term belongs to starts
+     * in: Fall 2025, Winter 2026, Spring 2026 and Summer 2026 are all 2025.
+     */
+    public int academicYear() {
+        return season == Season.FALL ? year : year - 1;
+    }
+
+    /**
+     * Returns the next regular term, skipping summer.
+     */
+    public Term next() {
+        return switch (season) {
+            case FALL -> new Term(Season.WINTER, year + 1);
+            case WINTER -> new Term(Season.SPRING, year);
+            case SPRING, SUMMER -> new Term(Season.FALL, year);
+        };
+    }
+
+    /**
+     * Returns the regular terms from this one through the last, in order, or
+     * an empty list if the last comes first.
+     */
+    public List<Term> through(Term last) {
+        List<Term> terms = new ArrayList<>();
+        for (Term term = season == Season.SUMMER ? next() : this; term.compareTo(last) <= 0; term = term.next()) {
+            terms.add(term);
+        }
+        return terms;
+    }
+
+    @Override
+    public int compareTo(Term other) {
+        return year != other.year ? Integer.compare(year, other.year) : season.compareTo(other.season);
+    }
+
+    @Override
+    public String toString() {
+        return season.label + " " + year;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Parses a batch of transcripts in parallel, creating one advising session
+ * per transcript. Uploads may be PDFs or zip archives of PDFs. Parsing runs
+ * on the {@link CpuWorkPool}; once its queue is full the request thread waits
+ * before reading the next transcript, which keeps a large zip from being read
+ * into memory faster than it can be parsed. A transcript over
+ * {@code batch.max-file-bytes}, whether uploaded directly or in a zip, is
+ * reported as an error without being read.
+ */
+@Service
+public class TranscriptBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptBatchService.class);
+
+    private final SessionStore sessionStore;
+    private final CpuWorkPool cpuWorkPool;
+    private final TranscriptMetrics metrics;
+    private final int maxFiles;
+    private final long maxFileBytes;
+
+    public TranscriptBatchService(SessionStore sessionStore, CpuWorkPool cpuWorkPool, TranscriptMetrics metrics,
+            @Value("${batch.max-files:500}") int maxFiles,
+            @Value("${batch.max-file-bytes:20971520}") long maxFileBytes) {
+        this.sessionStore = sessionStore;
+        this.cpuWorkPool = cpuWorkPool;
+        this.metrics = metrics;
+        this.maxFiles = maxFiles;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public record FileResult(String fileName, String sessionId, int courseCount, String error) {
+    }
+
+    public record BatchResult(List<FileResult> files, int succeeded, int failed, long totalBytes,
+            long elapsedMillis, double transcriptsPerSecond, int parallelism) {
+    }
+
+    /**
+     * Parses every transcript in the upload and returns one result per
+     * transcript, in upload order. A transcript that fails to parse is
+     * reported in its result and does not affect the others.
+     */
+    public BatchResult ingest(List<MultipartFile> files) throws IOException {
+        long start = System.nanoTime();
+        List<CompletableFuture<FileResult>> results = new ArrayList<>();
+        long totalBytes = 0;
+
+        for (MultipartFile file : files) {
+            if (isZip(file)) {
+                totalBytes += submitZip(file, results);
+            } else if (results.size() >= maxFiles) {
+                results.add(CompletableFuture.completedFuture(tooMany(file.getOriginalFilename())));
+            } else if (file.getSize() > maxFileBytes) {
+                results.add(CompletableFuture.completedFuture(tooLarge(file.getOriginalFilename())));
+            } else {
+                // Read the upload here so the pool threads only do parsing
+                byte[] pdf = file.getBytes();
+                totalBytes += pdf.length;
+                results.add(submit(file.getOriginalFilename(), pdf));
+            }
+        }
+
+        List<FileResult> fileResults = new ArrayList<>(results.size());
+        int succeeded = 0;
+        for (CompletableFuture<FileResult> result : results) {
+            FileResult fileResult = result.join();
+            fileResults.add(fileResult);
+            if (fileResult.error() == null) {
+                succeeded++;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double perSecond = elapsedNanos > 0 ? fileResults.size() / (elapsedNanos / 1e9) : 0;
+        log.info("Parsed {} of {} transcripts in {} ms", succeeded, fileResults.size(), elapsedNanos / 1_000_000);
+        return new BatchResult(fileResults, succeeded, fileResults.size() - succeeded, totalBytes,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), perSecond, cpuWorkPool.getParallelism());
+    }
+
+    private long submitZip(MultipartFile zip, List<CompletableFuture<FileResult>> results) throws IOException {
+        long bytes = 0;
+        try (ZipInputStream in = new ZipInputStream(zip.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (entry.isDirectory() || !entry.getName().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+                    continue;
+                }
+                String name = zip.getOriginalFilename() + "!/" + entry.getName();
+                if (results.size() >= maxFiles) {
+                    results.add(CompletableFuture.completedFuture(tooMany(name)));
+                    continue;
+                }
+
+                byte[] pdf = readEntry(in);
+                if (pdf == null) {
+                    results.add(CompletableFuture.completedFuture(tooLarge(name)));
+                    continue;
+                }
+                bytes += pdf.length;
+                results.add(submit(name, pdf));
+            }
+        }
+        return bytes;
+    }
+
+    private CompletableFuture<FileResult> submit(String name, byte[] pdf) {
+        return cpuWorkPool.submit(() -> parse(name, pdf));
+    }
+
+    private FileResult parse(String name, byte[] pdf) {
+        try {
+            List<Course> courses = metrics.parseTranscript(pdf);
+            AdvisingSession session = sessionStore.create(courses);
+            return new FileResult(name, session.getId(), courses.size(), null);
+        } catch (Exception e) {
+            return new FileResult(name, null, 0, "Error processing file: " + e.getMessage());
+        }
+    }
+
+    private FileResult tooMany(String name) {
+        return new FileResult(name, null, 0, "Batch limit of " + maxFiles + " transcripts reached");
+    }
+
+    private FileResult tooLarge(String name) {
+        return new FileResult(name, null, 0, "File is larger than " + maxFileBytes + " bytes");
+    }
+
+    /**
+     * Reads the current zip entry, or returns null if it is over the size limit.
+     */
+    private byte[] readEntry(ZipInputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > maxFileBytes) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isZip(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        String type = file.getContentType();
+        return (name != null && name.toLowerCase(Locale.ROOT).endsWith(".zip"))
+                || "application/zip".equals(type) || "application/x-zip-compressed".equals(type);
+    }
+
+}
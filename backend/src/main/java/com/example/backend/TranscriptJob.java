@@ -0,0 +1,201 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One queued transcript upload. The job moves from QUEUED to PARSING and
+ * then to PARSED once its advising session exists; if majors or minors were
+ * selected with the upload it goes on to EVALUATED. Any failure ends the job
+ * in FAILED. Subscribers are sent every state change and are completed once
+ * the job is finished. Each subscriber has its own queue of changes, sent in
+ * order on a virtual thread of its own, so a slow subscriber holds up neither
+ * the worker moving the job along, nor anyone reading its status, nor the
+ * other subscribers.
+ */
+public class TranscriptJob {
+
+    public enum State {
+        QUEUED,
+        PARSING,
+        PARSED,
+        EVALUATED,
+        FAILED
+    }
+
+    public record Status(String jobId, String fileName, State state, boolean finished, String sessionId,
+            Integer courseCount, String error) {
+    }
+
+    private final String id;
+    private final String fileName;
+    private final boolean evaluate;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private State state = State.QUEUED;
+    private String sessionId;
+    private Integer courseCount;
+    private String error;
+    private Instant finishedAt;
+
+    TranscriptJob(String id, String fileName, boolean evaluate) {
+        this.id = id;
+        this.fileName = fileName;
+        this.evaluate = evaluate;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public synchronized Status getStatus() {
+        return new Status(id, fileName, state, isFinished(), sessionId, courseCount, error);
+    }
+
+    synchronized Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void parsing() {
+        publish(moveTo(State.PARSING));
+    }
+
+    void parsed(String sessionId, int courseCount) {
+        Status status;
+        synchronized (this) {
+            this.sessionId = sessionId;
+            this.courseCount = courseCount;
+            status = moveTo(State.PARSED);
+        }
+        publish(status);
+    }
+
+    void evaluated() {
+        publish(moveTo(State.EVALUATED));
+    }
+
+    void failed(String error) {
+        Status status;
+        synchronized (this) {
+            this.error = error;
+            status = moveTo(State.FAILED);
+        }
+        publish(status);
+    }
+
+    /**
+     * Sends the current status to the emitter, then every later change until
+     * the job finishes.
+     */
+    void subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        Status status;
+        // Queued under the job's lock, so no change published meanwhile can overtake the current status
+        synchronized (this) {
+            status = getStatus();
+            if (!status.finished()) {
+                subscribers.add(subscriber);
+            }
+            subscriber.enqueue(status);
+        }
+        if (!status.finished()) {
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+        }
+    }
+
+    private boolean isFinished() {
+        return state == State.FAILED || state == State.EVALUATED || (state == State.PARSED && !evaluate);
+    }
+
+    private synchronized Status moveTo(State next) {
+        state = next;
+        if (isFinished()) {
+            finishedAt = Instant.now();
+        }
+        return getStatus();
+    }
+
+    /**
+     * Queues a status for every subscriber. The statuses are queued in the
+     * order the job changed state, since each change is published by the
+     * one thread moving the job along.
+     */
+    private void publish(Status status) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(status);
+        }
+    }
+
+    /**
+     * An emitter and the statuses still to be sent to it. While any are
+     * queued, one virtual thread sends them in order, completing the
+     * emitter after a finished status; it ends once the queue is empty.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Guarded by this
+        private final Queue<Status> queued = new ArrayDeque<>();
+        private boolean sending;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Status status) {
+            synchronized (this) {
+                queued.add(status);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            Thread.ofVirtual().name("job-" + id + "-events").start(this::sendQueued);
+        }
+
+        private void sendQueued() {
+            while (true) {
+                Status status;
+                synchronized (this) {
+                    status = queued.poll();
+                    if (status == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                if (!send(status)) {
+                    synchronized (this) {
+                        queued.clear();
+                        sending = false;
+                    }
+                    return;
+                }
+                if (status.finished()) {
+                    emitter.complete();
+                }
+            }
+        }
+
+        private boolean send(Status status) {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(status));
+                return true;
+            } catch (IOException e) {
+                // The client went away
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            } catch (IllegalStateException e) {
+                // Already completed or timed out
+                subscribers.remove(this);
+                return false;
+            }
+        }
+    }
+}
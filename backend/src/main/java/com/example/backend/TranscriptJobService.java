@@ -0,0 +1,136 @@
+package com.example.backend;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs transcript uploads in the background. Submitting returns a
+ * {@link TranscriptJob} at once and the parse (and optional evaluation) is
+ * queued on the {@link CpuWorkPool}. At most {@code jobs.max-pending} jobs
+ * may be queued or running; beyond that new uploads are rejected so the
+ * client can retry later instead of the server piling up work. They are
+ * rejected too if the pool's queue is full of other work, rather than
+ * waiting for room.
+ */
+@Service
+public class TranscriptJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptJobService.class);
+
+    private final CpuWorkPool cpuWorkPool;
+    private final SessionStore sessionStore;
+    private final CatalogService catalogService;
+    private final EvaluationCache evaluationCache;
+    private final TranscriptMetrics metrics;
+    private final int maxPending;
+    private final Semaphore pending;
+    private final Duration retention;
+    private final Duration retryAfter;
+    private final Map<String, TranscriptJob> jobs = new ConcurrentHashMap<>();
+
+    public TranscriptJobService(CpuWorkPool cpuWorkPool, SessionStore sessionStore, CatalogService catalogService,
+            EvaluationCache evaluationCache, TranscriptMetrics metrics,
+            @Value("${jobs.max-pending:128}") int maxPending,
+            @Value("${jobs.retention:10m}") Duration retention,
+            @Value("${jobs.retry-after:5s}") Duration retryAfter) {
+        this.cpuWorkPool = cpuWorkPool;
+        this.sessionStore = sessionStore;
+        this.catalogService = catalogService;
+        this.evaluationCache = evaluationCache;
+        this.metrics = metrics;
+        this.maxPending = maxPending;
+        this.pending = new Semaphore(maxPending);
+        this.retention = retention;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Queues a transcript for parsing. If majors or minors are given, the
+     * parsed transcript is evaluated against them as part of the same job,
+     * and its progress report cached for the session's first request.
+     *
+     * @throws RejectedExecutionException if the job queue or the CPU pool's
+     *         queue is full
+     */
+    public TranscriptJob submit(String fileName, byte[] pdf, List<String> majors, List<String> minors) {
+        dropExpired();
+        if (!pending.tryAcquire()) {
+            throw new RejectedExecutionException("Transcript queue is full");
+        }
+
+        boolean evaluate = !majors.isEmpty() || !minors.isEmpty();
+        TranscriptJob job = new TranscriptJob(UUID.randomUUID().toString(), fileName, evaluate);
+        jobs.put(job.getId(), job);
+        long submitted = System.nanoTime();
+        try {
+            cpuWorkPool.trySubmit(() -> run(job, pdf, majors, minors, submitted));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            pending.release();
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job, or null if the ID is unknown or the job has expired.
+     */
+    public TranscriptJob get(String id) {
+        return id == null ? null : jobs.get(id);
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns how many jobs are queued or running.
+     */
+    public int getPendingCount() {
+        return maxPending - pending.availablePermits();
+    }
+
+    private Void run(TranscriptJob job, byte[] pdf, List<String> majors, List<String> minors, long submitted) {
+        metrics.record(TranscriptMetrics.Stage.QUEUE, System.nanoTime() - submitted);
+        try {
+            job.parsing();
+            List<Course> courses = metrics.parseTranscript(pdf);
+            AdvisingSession session = sessionStore.create(courses);
+            job.parsed(session.getId(), courses.size());
+
+            if (!majors.isEmpty() || !minors.isEmpty()) {
+                Student student = Driver.generatePlanner(courses, majors, minors, catalogService.current());
+                evaluationCache.getReport(student);
+                if (sessionStore.update(session.getId(), s -> s.withStudent(student)) == null) {
+                    job.failed("Session expired before evaluation finished");
+                    return null;
+                }
+                job.evaluated();
+            }
+        } catch (Exception e) {
+            log.warn("Transcript job {} failed: {}", job.getId(), e.getMessage());
+            job.failed("Error processing file: " + e.getMessage());
+        } finally {
+            pending.release();
+        }
+        return null;
+    }
+
+    private void dropExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            Instant finishedAt = job.getFinishedAt();
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        });
+    }
+}
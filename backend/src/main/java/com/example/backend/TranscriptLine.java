@@ -0,0 +1,16 @@
+package com.example.backend;
+
+/**
+ * A line of transcript text labelled with what it holds. Lines are
+ * classified once when they are extracted and the label is carried through
+ * the rest of the parsing pipeline.
+ */
+public record TranscriptLine(Kind kind, String text) {
+
+    public enum Kind {
+        COURSE,       // "CSC 105  Game Development ..."
+        TERM_HEADER,  // "Fall Term 2023   (09/06/2023 - 11/21/2023)"
+        COURSE_TYPE,  // a type code wrapped onto its own line, e.g. "SOCS"
+        OTHER
+    }
+}
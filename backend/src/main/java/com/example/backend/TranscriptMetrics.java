@@ -0,0 +1,162 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers and counters for each stage a transcript goes through, published
+ * with the rest of the application's metrics at /actuator/prometheus. Every
+ * stage is one {@code transcript.stage} timer tagged with its name, so a
+ * slow upload can be traced to the stage that took the time. Parses also
+ * count the pages, text lines, rejected lines and courses they read.
+ *
+ * <p>With {@code metrics.allocation-tracking} on, the bytes each stage
+ * allocates on its thread are recorded as {@code transcript.stage.allocated}
+ * too. Only platform threads report allocations, so stages run on a
+ * request's virtual thread are timed but not tracked.
+ */
+@Component
+public class TranscriptMetrics {
+
+    public enum Stage {
+        /** Reading the uploaded file out of the multipart request. */
+        RECEIVE,
+        /** Waiting for a CPU pool thread once a job is queued. */
+        QUEUE,
+        /** Loading the PDF document. */
+        LOAD,
+        /** Extracting page text, less the time spent classifying it. */
+        EXTRACT,
+        /** Splitting columns and classifying lines as they are extracted. */
+        CLASSIFY,
+        /** Evaluating a transcript against the selected majors and minors, when its report isn't cached. */
+        EVALUATE,
+        /** Rendering a progress report as text or JSON. */
+        REPORT,
+        /** Building and writing a transcript workbook. */
+        WORKBOOK;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * A stage's work, which may throw a checked exception.
+     */
+    @FunctionalInterface
+    public interface StageTask<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final Map<Stage, DistributionSummary> allocations = new EnumMap<>(Stage.class);
+    private final Counter pages;
+    private final Counter lines;
+    private final Counter rejectedLines;
+    private final Counter courses;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public TranscriptMetrics(MeterRegistry registry,
+            @Value("${metrics.allocation-tracking:false}") boolean trackAllocations) {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("transcript.stage")
+                    .description("Time spent in each stage of the transcript pipeline")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(registry));
+            allocations.put(stage, DistributionSummary.builder("transcript.stage.allocated")
+                    .description("Bytes allocated by each stage of the transcript pipeline")
+                    .baseUnit("bytes")
+                    .tag("stage", stage.tag())
+                    .register(registry));
+        }
+        pages = Counter.builder("transcript.pages").description("Transcript pages parsed").register(registry);
+        lines = Counter.builder("transcript.lines").description("Text lines extracted from transcripts").register(registry);
+        rejectedLines = Counter.builder("transcript.lines.rejected")
+                .description("Column lines that were not a course, course type or term header")
+                .register(registry);
+        courses = Counter.builder("transcript.courses").description("Courses parsed from transcripts").register(registry);
+        this.threads = trackAllocations ? allocationTracker() : null;
+    }
+
+    /**
+     * Runs a stage and records its time, and its allocations if they are
+     * tracked. The time is recorded whether or not the stage throws.
+     */
+    public <T, E extends Exception> T time(Stage stage, StageTask<T, E> task) throws E {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return task.run();
+        } finally {
+            timers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recordAllocated(stage, allocatedBefore);
+        }
+    }
+
+    /**
+     * Records the time of a stage that was measured elsewhere, such as a
+     * job's wait in the queue.
+     */
+    public void record(Stage stage, long nanos) {
+        timers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Parses a transcript PDF as {@link PDFParser#parseTranscript} does,
+     * recording the load, extract and classify stages and what was read.
+     * Allocations during extraction include those of classification.
+     */
+    public List<Course> parseTranscript(byte[] pdf) throws IOException {
+        TranscriptStreamParser.Stats stats = new TranscriptStreamParser.Stats();
+        List<Course> parsed;
+        try (PDDocument document = time(Stage.LOAD, () -> PDDocument.load(pdf))) {
+            long allocatedBefore = allocatedBytes();
+            parsed = TranscriptStreamParser.parse(document, stats);
+            recordAllocated(Stage.EXTRACT, allocatedBefore);
+        }
+        record(Stage.EXTRACT, stats.getExtractNanos());
+        record(Stage.CLASSIFY, stats.getClassifyNanos());
+        pages.increment(stats.getPages());
+        lines.increment(stats.getLines());
+        rejectedLines.increment(stats.getRejectedLines());
+        courses.increment(stats.getCourses());
+        return parsed;
+    }
+
+    private long allocatedBytes() {
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private void recordAllocated(Stage stage, long allocatedBefore) {
+        if (allocatedBefore < 0) {
+            return;
+        }
+        long allocatedAfter = allocatedBytes();
+        if (allocatedAfter >= allocatedBefore) {
+            allocations.get(stage).record(allocatedAfter - allocatedBefore);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTracker() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.backend;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+/**
+ * Parses a transcript into courses while its text is being extracted.
+ * PDFBox writes each page's text into a writer that hands over one line at a
+ * time, and each line goes straight through the column split, classification
+ * and course-type association, so memory is bounded by a single page rather
+ * than the whole document. The courses match
+ * {@code PDFParser.parseCourses(PDFParser.extractLines(document))}.
+ */
+public class TranscriptStreamParser {
+
+    private final Column firstColumn = new Column();
+    private final Column secondColumn = new Column();
+    private final Stats stats;
+
+    private TranscriptStreamParser(Stats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * What one parse went through, for metrics: pages and text lines read,
+     * column lines that were not part of any course, courses found, and the
+     * time spent extracting text and classifying it. Classification runs
+     * inside text extraction, so its time is measured line by line and
+     * taken out of the extraction time.
+     */
+    public static final class Stats {
+        private int pages;
+        private int lines;
+        private int rejectedLines;
+        private int courses;
+        private long extractNanos;
+        private long classifyNanos;
+
+        public int getPages() {
+            return pages;
+        }
+
+        public int getLines() {
+            return lines;
+        }
+
+        public int getRejectedLines() {
+            return rejectedLines;
+        }
+
+        public int getCourses() {
+            return courses;
+        }
+
+        public long getExtractNanos() {
+            return extractNanos;
+        }
+
+        public long getClassifyNanos() {
+            return classifyNanos;
+        }
+    }
+
+    public static List<Course> parse(PDDocument document) throws IOException {
+        return parse(document, null);
+    }
+
+    /**
+     * Parses the document, filling in {@code stats} if it is not null.
+     */
+    public static List<Course> parse(PDDocument document, Stats stats) throws IOException {
+        TranscriptStreamParser parser = new TranscriptStreamParser(stats);
+        long start = System.nanoTime();
+        try (LineWriter lines = parser.new LineWriter()) {
+            new PDFTextStripper().writeText(document, lines);
+        }
+        List<Course> courses = parser.finish();
+        if (stats != null) {
+            stats.pages = document.getNumberOfPages();
+            stats.extractNanos = System.nanoTime() - start - stats.classifyNanos;
+            stats.rejectedLines = parser.firstColumn.rejected + parser.secondColumn.rejected;
+            stats.courses = courses.size();
+        }
+        return courses;
+    }
+
+    private void acceptLine(String line) {
+        if (stats == null) {
+            PDFParser.splitColumns(line, firstColumn::accept, secondColumn::accept);
+            return;
+        }
+        long start = System.nanoTime();
+        PDFParser.splitColumns(line, firstColumn::accept, secondColumn::accept);
+        stats.classifyNanos += System.nanoTime() - start;
+        stats.lines++;
+    }
+
+    private List<Course> finish() {
+        firstColumn.flush();
+        secondColumn.flush();
+
+        // The second column is read after the first, so courses at its top
+        // belong to the last term the first column started
+        List<Course> courses = new ArrayList<>();
+        firstColumn.drainTo(courses, null);
+        secondColumn.drainTo(courses, firstColumn.termCode);
+        return courses;
+    }
+
+    /**
+     * Incremental state for one page column: the course line still waiting for
+     * wrapped course types, the current term, and the parsed courses.
+     */
+    private static class Column {
+        private StringBuilder lastCourse;
+        private String termCode;
+        // Course lines seen before this column's first term header. Their term
+        // depends on the columns before it, so they are parsed at the end.
+        private final List<String> beforeFirstTerm = new ArrayList<>();
+        private final List<Course> courses = new ArrayList<>();
+        private int rejected;
+
+        void accept(String line) {
+            String text = line.trim();
+            switch (PDFParser.classify(text)) {
+                case COURSE -> {
+                    flush();
+                    lastCourse = new StringBuilder(text);
+                }
+                case COURSE_TYPE -> {
+                    if (lastCourse != null) {
+                        lastCourse.append(' ').append(text);
+                    }
+                }
+                case TERM_HEADER -> {
+                    flush();
+                    termCode = PDFParser.convertTermToCode(text);
+                }
+                case OTHER -> {
+                    // Not part of any course
+                    rejected++;
+                }
+            }
+        }
+
+        void flush() {
+            if (lastCourse == null) {
+                return;
+            }
+            if (termCode != null) {
+                courses.add(PDFParser.parseCourseLine(lastCourse.toString(), termCode));
+            } else {
+                beforeFirstTerm.add(lastCourse.toString());
+            }
+            lastCourse = null;
+        }
+
+        void drainTo(List<Course> out, String precedingTermCode) {
+            for (String line : beforeFirstTerm) {
+                out.add(PDFParser.parseCourseLine(line, precedingTermCode));
+            }
+            out.addAll(courses);
+        }
+    }
+
+    /**
+     * Receives extracted text and passes on each complete line, split on
+     * '\n' the same way {@code PDFParser.reorderColumns} splits the full text.
+     */
+    private class LineWriter extends Writer {
+        private final StringBuilder line = new StringBuilder();
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            int end = off + len;
+            for (int i = off; i < end; i++) {
+                char c = cbuf[i];
+                if (c == '\n') {
+                    acceptLine(line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            int end = off + len;
+            for (int i = off; i < end; i++) {
+                char c = str.charAt(i);
+                if (c == '\n') {
+                    acceptLine(line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            if (line.length() > 0) {
+                acceptLine(line.toString());
+                line.setLength(0);
+            }
+        }
+    }
+}
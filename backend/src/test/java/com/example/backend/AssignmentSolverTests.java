@@ -0,0 +1,62 @@
+package com.example.backend;
+
+import static com.example.backend.SyntheticData.course;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AssignmentSolverTests {
+
+	// Filled in order, the elective takes CSC-120 and leaves the core requirement with nothing
+	private final List<Requirement> reqs = List.of(
+			Requirement.fromCourseGroups("Elective", List.of("CSC-XXX"), 1, "", "", ""),
+			Requirement.fromCourseGroups("Core", List.of("CSC-120"), 1, "", "", ""));
+
+	private final CourseIndex index = new CourseIndex(List.of(course("CSC-120", "A"), course("CSC-250", "B")));
+
+	@Test
+	void reservesCoursesSoEveryRequirementCanBeFilled() {
+		AssignmentSolver solver = new AssignmentSolver(index, reqs, deadlineIn(1_000));
+
+		int[] reservations = solver.reserve(new int[reqs.size()], new boolean[reqs.size()]);
+
+		assertArrayEquals(new int[] { 1, 0 }, reservations);
+	}
+
+	@Test
+	void excludedRequirementsReserveNothing() {
+		AssignmentSolver solver = new AssignmentSolver(index, reqs, deadlineIn(1_000));
+
+		int[] reservations = solver.reserve(new int[reqs.size()], new boolean[] { false, true });
+
+		assertArrayEquals(new int[] { 0, AssignmentSolver.UNRESERVED }, reservations);
+	}
+
+	@Test
+	void choosesAmongSequences() {
+		Requirement sequences = Requirement.fromSequences("Sequence", List.of(
+				Requirement.fromCourseGroups("Sequence", List.of("MTH-113", "MTH-115"), 2, "", "", ""),
+				Requirement.fromCourseGroups("Sequence", List.of("PHY-120", "PHY-130"), 2, "", "", ""),
+				Requirement.fromCourseGroups("Sequence", List.of("CHM-101", "CHM-102"), 2, "", "", "")), 2, "");
+		AssignmentSolver solver = new AssignmentSolver(index, List.of(sequences), deadlineIn(1_000));
+
+		List<int[]> choices = solver.sequenceChoices();
+
+		assertEquals(3, choices.size());
+		assertArrayEquals(new int[] { 0b011 }, choices.get(0));
+	}
+
+	@Test
+	void givesUpAtTheDeadline() {
+		AssignmentSolver solver = new AssignmentSolver(index, reqs, System.nanoTime() - 1);
+
+		assertTrue(solver.isExpired());
+		assertNull(solver.reserve(new int[reqs.size()], new boolean[reqs.size()]));
+	}
+
+	private static long deadlineIn(long millis) {
+		return System.nanoTime() + millis * 1_000_000;
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogServiceTests {
+
+	private static final String[] WORKBOOKS = { "Major-Requirements.xlsx", "Minor-Requirements.xlsx",
+			"Major-List.xlsx", "Minor-List.xlsx" };
+
+	@TempDir
+	Path dir;
+
+	private CatalogService service;
+
+	@BeforeEach
+	void copyWorkbooks() throws Exception {
+		for (String workbook : WORKBOOKS) {
+			Files.copy(Paths.get("src/main/resources", workbook), dir.resolve(workbook));
+		}
+		service = new CatalogService(path(0), path(1), path(2), path(3), true);
+		service.startWatching();
+	}
+
+	@AfterEach
+	void stop() throws Exception {
+		service.stopWatching();
+	}
+
+	@Test
+	void publishesNewVersionWhenWorkbookChanges() throws Exception {
+		RequirementsCatalog before = service.current();
+		assertFalse(before.getMajorNames().isEmpty());
+
+		Files.copy(Paths.get("src/main/resources/Major-List.xlsx"), dir.resolve("Major-List.xlsx"),
+				StandardCopyOption.REPLACE_EXISTING);
+
+		RequirementsCatalog after = awaitNewVersion(before);
+		assertEquals(before.getVersion() + 1, after.getVersion());
+		assertEquals(before.getMajorNames(), after.getMajorNames());
+		// The snapshot a caller already holds is left untouched
+		assertEquals(7, before.getRequirements(false, "Computer Science").size());
+	}
+
+	@Test
+	void keepsPreviousCatalogWhenRebuildFails() throws Exception {
+		RequirementsCatalog before = service.current();
+
+		Files.writeString(dir.resolve("Minor-List.xlsx"), "not a workbook");
+		service.reload();
+
+		assertSame(before, service.current());
+	}
+
+	private RequirementsCatalog awaitNewVersion(RequirementsCatalog before) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (System.currentTimeMillis() < deadline) {
+			if (service.current() != before) {
+				return service.current();
+			}
+			Thread.sleep(50);
+		}
+		return fail("Catalog was not reloaded");
+	}
+
+	private String path(int i) {
+		return dir.resolve(WORKBOOKS[i]).toString();
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+class CourseCatalogTests {
+
+	@Test
+	void rowsForTheSameCourseAreMerged() throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet("courses");
+			SyntheticData.addRow(sheet, "Term", "Course", "Title", "Attributes", "Units");
+			SyntheticData.addRow(sheet, "Fall 2023", "CSC-310", "Databases", "Writing Across Curriculum", 1);
+			SyntheticData.addRow(sheet, "Winter 2024", "CSC-310", "Database Systems", "Senior Writing; Unknown", 1.5);
+			SyntheticData.addRow(sheet, "Summer 2024", "CSC-310", "Databases", null, 0.5);
+			SyntheticData.addRow(sheet, "Fall 2023", "CSC-296H", "Honors", null, 1);
+			SyntheticData.addRow(sheet, "Fall 2023", "Not a course", "Heading", null, null);
+
+			CourseCatalog catalog = CourseCatalog.fromSheet(sheet);
+
+			assertEquals(2, catalog.size());
+			CourseCatalog.Entry course = catalog.get("CSC-310");
+			assertEquals("Databases", course.title());
+			assertEquals(1.5, course.units());
+			assertEquals(CourseType.WAC.bit() | CourseType.WS.bit(), course.typeMask());
+			assertTrue(course.isOfferedIn(Term.Season.FALL));
+			assertTrue(course.isOfferedIn(Term.Season.WINTER));
+			assertTrue(course.isOfferedIn(Term.Season.SUMMER));
+			assertFalse(course.isOfferedIn(Term.Season.SPRING));
+
+			// Honors work doesn't fill a wildcard group, but can be named outright
+			assertEquals(List.of(course), catalog.candidates("CSC-XXX"));
+			assertEquals(List.of(catalog.get("CSC-296H")), catalog.candidates("CSC-296H"));
+			assertEquals(List.of(), catalog.candidates("MTH-XXX"));
+			assertNull(catalog.get("MTH-113"));
+		}
+	}
+
+}
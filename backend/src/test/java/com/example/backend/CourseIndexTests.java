@@ -0,0 +1,40 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CourseIndexTests {
+
+	private final CourseIndex index = new CourseIndex(List.of(
+			course("CSC-105"), course("MTH-110P"), course("CSC-295H"), course("CSC-332"), course("CSC-105"), course("ECO-101")));
+
+	@Test
+	void exactCodesListEveryAttemptInTranscriptOrder() {
+		assertArrayEquals(new int[] { 0, 4 }, index.withCode("CSC-105"));
+		assertArrayEquals(new int[] { 0, 4 }, index.candidates("CSC-105"));
+		assertArrayEquals(new int[0], index.candidates("CSC-999"));
+	}
+
+	@Test
+	void wildcardsMatchDepartmentExceptHonorsWork() {
+		assertArrayEquals(new int[] { 0, 3, 4 }, index.candidates("CSC-XXX"));
+		assertArrayEquals(new int[] { 1 }, index.candidates("MTH-XXX"));
+		assertArrayEquals(new int[0], index.candidates("PHY-XXX"));
+	}
+
+	@Test
+	void levelsAreParsedOnce() {
+		assertEquals(105, index.getLevel(0));
+		assertEquals(110, index.getLevel(1));
+		assertEquals(332, index.getLevel(3));
+		assertThrows(NumberFormatException.class, () -> new CourseIndex(List.of(course("CSC-1XX"))).getLevel(0));
+	}
+
+	private static Course course(String code) {
+		return new Course("FA", "23", code, code, new ArrayList<>(), 4, "A");
+	}
+
+}
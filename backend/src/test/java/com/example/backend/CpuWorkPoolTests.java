@@ -0,0 +1,90 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CpuWorkPoolTests {
+
+	private final CpuWorkPool pool = new CpuWorkPool(1, 1);
+
+	@AfterEach
+	void stop() {
+		pool.stop();
+	}
+
+	@Test
+	void runsWorkOnPlatformPoolThreads() throws Exception {
+		String[] worker = new String[1];
+		boolean[] virtual = new boolean[1];
+		Thread caller = Thread.ofVirtual().start(() -> {
+			try {
+				pool.call(() -> {
+					worker[0] = Thread.currentThread().getName();
+					virtual[0] = Thread.currentThread().isVirtual();
+					return null;
+				});
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		caller.join();
+
+		assertEquals("cpu-worker-1", worker[0]);
+		assertFalse(virtual[0]);
+	}
+
+	@Test
+	void rethrowsTaskExceptionsUnwrapped() {
+		IOException thrown = assertThrows(IOException.class, () -> pool.call(() -> {
+			throw new IOException("bad pdf");
+		}));
+		assertEquals("bad pdf", thrown.getMessage());
+	}
+
+	@Test
+	void fullQueueMakesCallerWaitInsteadOfRunningTask() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		pool.submit(() -> await(release));
+		pool.submit(() -> "queued");
+
+		CompletableFuture<Thread> third = new CompletableFuture<>();
+		Thread submitter = Thread.ofVirtual().start(() -> pool.submit(() -> third.complete(Thread.currentThread())));
+
+		submitter.join(200);
+		assertTrue(submitter.isAlive(), "submit should block while the queue is full");
+
+		release.countDown();
+		assertNotEquals(submitter, third.get(5, TimeUnit.SECONDS));
+		assertTrue(third.get().getName().startsWith("cpu-worker-"));
+	}
+
+	@Test
+	void trySubmitIsRejectedInsteadOfWaiting() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		pool.submit(() -> await(release));
+		CompletableFuture<String> queued = pool.trySubmit(() -> "queued");
+
+		assertThrows(RejectedExecutionException.class, () -> pool.trySubmit(() -> "rejected"));
+
+		release.countDown();
+		assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+		assertEquals("room again", pool.trySubmit(() -> "room again").get(5, TimeUnit.SECONDS));
+	}
+
+	private static String await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "released";
+	}
+
+}
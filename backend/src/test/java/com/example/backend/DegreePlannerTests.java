@@ -0,0 +1,225 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DegreePlannerTests {
+
+	private static final Term START = Term.parse("Fall 2025");
+	private static final Term GRADUATION = Term.graduation(2026);
+	private static final Duration PLENTY = Duration.ofSeconds(30);
+
+	@TempDir
+	Path dir;
+
+	private final CpuWorkPool pool = new CpuWorkPool(4, 64);
+
+	@AfterEach
+	void stop() {
+		pool.stop();
+	}
+
+	@Test
+	void plansEveryUnmetRequirementIntoTheRemainingTerms() throws Exception {
+		RequirementsCatalog requirements = requirements(
+				new Object[] { "Major", "CSC-120, CSC-250", 2, "Core", null, null, null },
+				new Object[] { "Major", "CSC-XXX", 2, "Electives", "2 (>= 300)", null, null },
+				new Object[] { "Major", "(MTH-113, MTH-115 | 2); (PHY-120, PHY-130 | 2)", 1, "Sequence", null, null, null },
+				new Object[] { "Major", "CSC-488", 1, "Capstone", null, null, null });
+		CourseCatalog catalog = courses(
+				new Object[] { "Fall", "CSC-120" }, new Object[] { "Spring", "CSC-250" },
+				new Object[] { "Fall", "CSC-310" }, new Object[] { "Winter", "CSC-320" },
+				new Object[] { "Winter", "CSC-230" }, new Object[] { "Fall", "MTH-113" },
+				new Object[] { "Winter", "MTH-115" }, new Object[] { "Fall", "PHY-120" },
+				new Object[] { "Spring", "PHY-130" });
+		Student student = student(requirements, List.of("Major"), List.of(), course("CSC-120"));
+
+		DegreePlanner.Result result = new DegreePlanner(catalog, 2, PLENTY, 3, null).plan(student, START, GRADUATION, null);
+
+		assertTrue(result.exhaustive());
+		assertEquals("Spring 2026", result.graduation());
+		// CSC-488 isn't offered, so the capstone can't be planned
+		assertEquals(List.of("Major: Major - Capstone"), result.unplanned());
+		DegreePlan best = result.plans().get(0);
+		assertEquals(3, best.completed());
+		assertEquals(5, best.courses());
+		assertEquals(List.of("Major: Major - Capstone"), best.unmet());
+		assertEquals(List.of("Fall 2025", "Winter 2026", "Spring 2026"),
+				best.terms().stream().map(DegreePlan.PlannedTerm::term).toList());
+		for (DegreePlan.PlannedTerm term : best.terms()) {
+			assertTrue(term.units() <= 2);
+		}
+		// Each course is planned in a term it is offered in
+		assertEquals(List.of("CSC-310", "MTH-113"), codes(best.terms().get(0)));
+		assertEquals(List.of("CSC-320", "MTH-115"), codes(best.terms().get(1)));
+		assertEquals(List.of("CSC-250"), codes(best.terms().get(2)));
+		assertEquals(List.of("Major: Major - Sequence"), best.terms().get(0).courses().get(1).requirements());
+	}
+
+	@Test
+	void reachingTheSamePicksInAnotherOrderIsSearchedOnce() throws Exception {
+		// Both programs pick one of the same four courses, so {a, b} is reached as a-then-b and b-then-a
+		RequirementsCatalog requirements = requirements(
+				new Object[] { "First", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Second", "CSC-XXX", 1, "Elective", null, null, null });
+		Student student = student(requirements, List.of("First"), List.of("Second"));
+
+		DegreePlanner.Result result = new DegreePlanner(electives(4), 2, PLENTY, 100, null).plan(student, START, GRADUATION, null);
+
+		assertTrue(result.exhaustive());
+		// The root, four first picks, then four single-course and six two-course picks rather than sixteen
+		assertEquals(1 + 4 + 4 + 6, result.statesExplored());
+		assertEquals(1, result.plans().get(0).courses());
+	}
+
+	@Test
+	void branchesThatCantBeatTheWorstPlanKeptArePruned() throws Exception {
+		RequirementsCatalog requirements = requirements(
+				new Object[] { "First", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Second", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Third", "CSC-XXX", 1, "Elective", null, null, null });
+		Student student = student(requirements, List.of("First", "Second", "Third"), List.of());
+
+		DegreePlanner.Result unbounded = new DegreePlanner(electives(4), 2, PLENTY, 100, null).plan(student, START, GRADUATION, null);
+		DegreePlanner.Result bounded = new DegreePlanner(electives(4), 2, PLENTY, 1, null).plan(student, START, GRADUATION, null);
+
+		assertTrue(bounded.exhaustive());
+		assertTrue(bounded.statesExplored() < unbounded.statesExplored(),
+				bounded.statesExplored() + " states with a bound, " + unbounded.statesExplored() + " without");
+		assertEquals(unbounded.plans().get(0), bounded.plans().get(0));
+		assertEquals(1, bounded.plans().get(0).courses());
+	}
+
+	@Test
+	void returnsTheBestPlansFoundWhenTheBudgetRunsOut() throws Exception {
+		// Six programs in different departments, each picking three of many courses, is far too much to search
+		List<Object[]> rows = new ArrayList<>();
+		List<Object[]> offered = new ArrayList<>();
+		List<String> majors = new ArrayList<>();
+		for (int p = 0; p < 6; p++) {
+			String department = SyntheticData.DEPARTMENTS[p];
+			majors.add(department);
+			rows.add(new Object[] { department, department + "-XXX", 3, "Electives", null, null, null });
+			for (int c = 0; c < 20; c++) {
+				offered.add(new Object[] { "Fall", department + "-" + (300 + c) });
+				offered.add(new Object[] { "Winter", department + "-" + (300 + c) });
+			}
+		}
+		Student student = student(requirements(rows.toArray(Object[][]::new)), majors, List.of());
+		Duration budget = Duration.ofMillis(200);
+		DegreePlanner planner = new DegreePlanner(courses(offered.toArray(Object[][]::new)), 9, budget, 5, null);
+
+		long started = System.nanoTime();
+		DegreePlanner.Result result = planner.plan(student, START, GRADUATION, null);
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+		assertFalse(result.exhaustive());
+		assertFalse(result.plans().isEmpty());
+		assertEquals(6, result.plans().get(0).completed());
+		// Checking the plans again is part of the budget; the rest allows for a slow machine
+		assertTrue(elapsed.compareTo(budget.plusMillis(150)) < 0, "took " + elapsed.toMillis() + "ms");
+	}
+
+	@Test
+	void parallelSearchFindsTheSamePlansAsSequential() throws Exception {
+		RequirementsCatalog requirements = requirements(
+				new Object[] { "First", "CSC-XXX", 2, "Electives", "1 (>= 300)", null, null },
+				new Object[] { "First", "(MTH-113, MTH-115 | 2); (PHY-120, PHY-130 | 2)", 1, "Sequence", null, null, null },
+				new Object[] { "Second", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Second", "MTH-XXX", 2, "Math", null, null, null },
+				new Object[] { "Third", "CSC-XXX, PHY-XXX", 2, "Related", null, null, null });
+		CourseCatalog catalog = courses(
+				new Object[] { "Fall", "CSC-210" }, new Object[] { "Winter", "CSC-310" },
+				new Object[] { "Spring", "CSC-320" }, new Object[] { "Fall", "CSC-330" },
+				new Object[] { "Fall", "MTH-113" }, new Object[] { "Winter", "MTH-115" },
+				new Object[] { "Spring", "MTH-210" }, new Object[] { "Fall", "PHY-120" },
+				new Object[] { "Spring", "PHY-130" });
+		Student student = student(requirements, List.of("First", "Second"), List.of("Third"));
+		DegreePlanner planner = new DegreePlanner(catalog, 3, PLENTY, 4, null);
+
+		DegreePlanner.Result sequential = planner.plan(student, START, GRADUATION, null);
+		DegreePlanner.Result parallel = planner.plan(student, START, GRADUATION, pool);
+
+		assertTrue(sequential.exhaustive());
+		assertTrue(parallel.exhaustive());
+		assertEquals(4, sequential.plans().size());
+		assertEquals(sequential.plans(), parallel.plans());
+	}
+
+	@Test
+	void plannerEvaluationsAreProfiled() throws Exception {
+		RequirementsCatalog requirements = requirements(
+				new Object[] { "Major", "CSC-XXX", 1, "Elective", null, null, null });
+		Student student = student(requirements, List.of("Major"), List.of());
+		EvaluationProfiler profiler = new EvaluationProfiler(true);
+
+		DegreePlanner.Result result = new DegreePlanner(electives(2), 2, PLENTY, 5, profiler)
+				.plan(student, START, GRADUATION, null);
+
+		// The student as they are, then with each of the two plans added
+		assertEquals(2, result.plans().size());
+		assertEquals(3, profiler.getProfile(100).concentrations().get(0).evaluations());
+	}
+
+	private RequirementsCatalog requirements(Object[]... rows) throws Exception {
+		Workbook workbook = new XSSFWorkbook();
+		Sheet sheet = workbook.createSheet("requirements");
+		SyntheticData.addRow(sheet, "Major Name", "Courses", "Num Needed", "Title", "Number Requirements", "Type Requirements", "Min Grade");
+		for (Object[] row : rows) {
+			SyntheticData.addRow(sheet, row);
+		}
+		Path path = dir.resolve("requirements-" + System.nanoTime() + ".xlsx");
+		SyntheticData.write(workbook, path);
+		return RequirementsCatalog.load(path.toString(), path.toString());
+	}
+
+	// Each row is a season and a course code, worth one unit
+	private static CourseCatalog courses(Object[]... rows) throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet("courses");
+			for (Object[] row : rows) {
+				SyntheticData.addRow(sheet, row[0] + " 2024", row[1], row[1], null, 1);
+			}
+			return CourseCatalog.fromSheet(sheet);
+		}
+	}
+
+	private static CourseCatalog electives(int count) throws Exception {
+		Object[][] rows = new Object[count][];
+		for (int c = 0; c < count; c++) {
+			rows[c] = new Object[] { "Fall", "CSC-" + (300 + c) };
+		}
+		return courses(rows);
+	}
+
+	private static Student student(RequirementsCatalog catalog, List<String> majors, List<String> minors, Course... courses) {
+		ArrayList<Concentration> majorList = new ArrayList<>();
+		for (String major : majors) {
+			majorList.add(new Concentration(false, major, catalog));
+		}
+		ArrayList<Concentration> minorList = new ArrayList<>();
+		for (String minor : minors) {
+			minorList.add(new Concentration(true, minor, catalog));
+		}
+		return new Student(2026, new ArrayList<>(List.of(courses)), majorList, minorList);
+	}
+
+	private static Course course(String code) {
+		return new Course("FA", "24", code, code, new ArrayList<>(), 1, "A");
+	}
+
+	private static List<String> codes(DegreePlan.PlannedTerm term) {
+		return term.courses().stream().map(DegreePlan.PlannedCourse::code).toList();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DriverTests {
+
+	@Test
+	void graduationIsFourAcademicYearsAfterTheFirstTerm() {
+		assertEquals(2027, Driver.estimateGradYr(List.of(course("SP", "24"), course("FA", "23")), LocalDate.of(2025, 2, 14)));
+		assertEquals(2028, Driver.estimateGradYr(List.of(course("WI", "25"), course("SP", "25")), LocalDate.of(2025, 2, 14)));
+		assertEquals(2029, Driver.estimateGradYr(List.of(course("FA", "25")), LocalDate.of(2025, 10, 1)));
+	}
+
+	@Test
+	void transferCoursesDoNotStartTheClock() {
+		assertEquals(2029, Driver.estimateGradYr(List.of(new Course("CHM-101", 4), course("FA", "25")), LocalDate.of(2025, 10, 1)));
+	}
+
+	@Test
+	void studentsWithoutTermsStartWithTheNextTerm() {
+		assertEquals(2030, Driver.estimateGradYr(List.of(), LocalDate.of(2026, 7, 1)));
+		assertEquals(2029, Driver.estimateGradYr(List.of(new Course("CHM-101", 4)), LocalDate.of(2026, 2, 1)));
+	}
+
+	@Test
+	void generatedStudentsGetTheirOwnGraduationYear() {
+		Student student = Driver.generatePlanner(List.of(course("FA", "24")), new ArrayList<>(), new ArrayList<>());
+
+		assertEquals(2028, student.getGradYr());
+	}
+
+	private static Course course(String term, String year) {
+		return new Course(term, year, "CSC-105", "CSC-105", new ArrayList<>(), 4, "A");
+	}
+
+}
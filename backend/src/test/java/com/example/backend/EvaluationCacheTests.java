@@ -0,0 +1,111 @@
+package com.example.backend;
+
+import static com.example.backend.SyntheticData.course;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EvaluationCacheTests {
+
+	private final RequirementsCatalog catalog = RequirementsCatalog.load(
+			"src/main/resources/Major-Requirements.xlsx", "src/main/resources/Minor-Requirements.xlsx");
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final TranscriptMetrics metrics = new TranscriptMetrics(registry, false);
+
+	@Test
+	void sameTranscriptAndSelectionsShareOneEvaluation() {
+		EvaluationCache cache = new EvaluationCache(10, new EvaluationProfiler(false), metrics);
+
+		ProgressReport first = cache.getReport(student("Computer Science", course("CSC-105", "A")));
+		ProgressReport second = cache.getReport(student("Computer Science", course("CSC-105", "A")));
+
+		assertSame(first, second);
+		assertEquals(1, cache.getStats().hits());
+		assertEquals(1, cache.getStats().misses());
+		// Only the miss is timed as an evaluation
+		assertEquals(1, registry.get("transcript.stage").tag("stage", "evaluate").timer().count());
+	}
+
+	@Test
+	void fingerprintCoversWhatEvaluationReads() {
+		String fingerprint = EvaluationCache.fingerprint(student("Computer Science", course("CSC-105", "A")));
+
+		assertEquals(fingerprint, EvaluationCache.fingerprint(student("Computer Science", new Course("SP", "24", "CSC-105", "Renamed", new ArrayList<>(), 3, "A"))));
+		assertNotEquals(fingerprint, EvaluationCache.fingerprint(student("Computer Science", course("CSC-105", "B"))));
+		assertNotEquals(fingerprint, EvaluationCache.fingerprint(student("Managerial Economics", course("CSC-105", "A"))));
+		assertNotEquals(fingerprint, EvaluationCache.fingerprint(student("Computer Science", course("CSC-105", "A"), course("CSC-120", "A"))));
+		assertNotEquals(EvaluationCache.fingerprint(student("Computer Science", course("CSC-105", "A"), course("CSC-120", "A"))),
+				EvaluationCache.fingerprint(student("Computer Science", course("CSC-120", "A"), course("CSC-105", "A"))));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedReport() {
+		EvaluationCache cache = new EvaluationCache(2, new EvaluationProfiler(false), metrics);
+		Student first = student("Computer Science", course("CSC-105", "A"));
+		Student second = student("Computer Science", course("CSC-105", "B"));
+
+		cache.getReport(first);
+		cache.getReport(second);
+		cache.getReport(first);
+		cache.getReport(student("Computer Science", course("CSC-105", "C")));
+
+		assertEquals(1, cache.getStats().evictions());
+		cache.getReport(first);
+		assertEquals(2, cache.getStats().hits());
+		cache.getReport(second);
+		assertEquals(4, cache.getStats().misses());
+	}
+
+	@Test
+	void reportsWhoseSearchRanOutOfTimeAreNotCached() {
+		EvaluationCache cache = new EvaluationCache(10, new EvaluationProfiler(false), metrics);
+		Student student = student("Computer Science", course("CSC-105", "A"));
+		// Expires before the search starts, while the core sequence is still unmet
+		student.setAssignmentBudget(Duration.ofNanos(1));
+
+		ProgressReport first = cache.getReport(student);
+		ProgressReport second = cache.getReport(student);
+
+		assertTrue(first.assignmentCutShort());
+		assertNotSame(first, second);
+		assertEquals(0, cache.getStats().size());
+		assertEquals(2, cache.getStats().uncached());
+		assertEquals(0, cache.getStats().hits());
+	}
+
+	@Test
+	void profilerRecordsEachRequirementOfAnEvaluatedConcentration() {
+		EvaluationProfiler profiler = new EvaluationProfiler(true);
+		EvaluationCache cache = new EvaluationCache(10, profiler, metrics);
+
+		cache.getReport(student("Computer Science", course("CSC-105", "A"), course("CSC-120", "A")));
+		cache.getReport(student("Computer Science", course("CSC-105", "A"), course("CSC-120", "A")));
+
+		EvaluationProfiler.Profile profile = profiler.getProfile(100);
+		assertEquals(1, profile.concentrations().size());
+		EvaluationProfiler.ConcentrationProfile cs = profile.concentrations().get(0);
+		assertEquals("Major: Computer Science", cs.concentration());
+		assertEquals(1, cs.evaluations());
+		assertTrue(cs.scanned() > 0);
+		assertEquals(2, cs.matched());
+		assertEquals(cs.requirements(), profile.requirements().size());
+		assertTrue(profile.requirements().stream().allMatch(r -> r.evaluations() >= 1));
+		assertEquals(cs.scanned(), profile.requirements().stream().mapToLong(EvaluationProfiler.RequirementProfile::scanned).sum());
+
+		profiler.setEnabled(false);
+		cache.getReport(student("Computer Science", course("CSC-105", "B")));
+		assertEquals(1, profiler.getProfile(100).concentrations().get(0).evaluations());
+		profiler.reset();
+		assertTrue(profiler.getProfile(100).concentrations().isEmpty());
+	}
+
+	private Student student(String major, Course... courses) {
+		return new Student(2027, new ArrayList<>(List.of(courses)), new ArrayList<>(List.of(new Concentration(false, major, catalog))),
+				new ArrayList<>());
+	}
+
+}
@@ -0,0 +1,382 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jayway.jsonpath.JsonPath;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class FileUploadControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private CpuWorkPool cpuWorkPool;
+
+	@Test
+	void dropdownOptionsCarryStrongETag() throws Exception {
+		mockMvc.perform(get("/api/dropdown-options"))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"[0-9a-f]{32}\"")))
+			.andExpect(header().exists(FileUploadController.CATALOG_VERSION_HEADER))
+			.andExpect(jsonPath("$.dropdown1[0]").value("Africana Studies"))
+			.andExpect(jsonPath("$.dropdown2").isArray());
+	}
+
+	@Test
+	void dropdownOptionsHonorIfNoneMatch() throws Exception {
+		String eTag = mockMvc.perform(get("/api/dropdown-options"))
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/dropdown-options").header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+
+		mockMvc.perform(get("/api/dropdown-options").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void unknownSessionIsRejected() throws Exception {
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, "no-such-session"))
+			.andExpect(status().isNotFound())
+			.andExpect(content().string(containsString("Please upload your transcript first")));
+		mockMvc.perform(get("/api/student-progress.json").header(FileUploadController.SESSION_HEADER, "no-such-session"))
+			.andExpect(status().isNotFound())
+			.andExpect(content().string(containsString("Please upload your transcript first")));
+
+		mockMvc.perform(post("/api/submit-selections")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": []}"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void uploadSelectAndReadProgressWithinOneSession() throws Exception {
+		String sessionId = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": [\"Mathematics\"]}"))
+			.andExpect(status().isOk())
+			.andExpect(header().exists(FileUploadController.CATALOG_VERSION_HEADER));
+
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, sessionId))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("[X] Introductory Course (Completed)")))
+			.andExpect(content().string(containsString("Minor: Mathematics")))
+			.andExpect(content().string(containsString("Shared Courses:\n   MTH-199: Major: Computer Science; Minor: Mathematics\n")));
+
+		mockMvc.perform(get("/api/transcript.xlsx").header(FileUploadController.SESSION_HEADER, sessionId))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void progressIsAlsoServedAsJson() throws Exception {
+		String sessionId = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": [\"Mathematics\"]}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/student-progress.json").header(FileUploadController.SESSION_HEADER, sessionId))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.programs[0].kind").value("Major"))
+			.andExpect(jsonPath("$.programs[0].requirements[0].status").value("COMPLETED"))
+			.andExpect(jsonPath("$.programs[0].requirements[0].fulfilledBy[0]").value("CSC-105"))
+			.andExpect(jsonPath("$.programs[0].requirements[1].remaining").value(2))
+			.andExpect(jsonPath("$.programs[1].name").value("Mathematics"))
+			.andExpect(jsonPath("$.sharedCourses[0].course").value("MTH-199"));
+	}
+
+	@Test
+	void whatIfReturnsOnlyTheRequirementsAChangeAffects() throws Exception {
+		String sessionId = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": [\"Mathematics\"]}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/what-if")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"action\": \"ADD\", \"code\": \"CSC-488\", \"grade\": \"A\"}]"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.reevaluated").value(contains("Major: Computer Science")))
+			.andExpect(jsonPath("$.changes.length()").value(1))
+			.andExpect(jsonPath("$.changes[0].after.title").value("Capstone Project"))
+			.andExpect(jsonPath("$.changes[0].before.status").value("NOT_COMPLETED"))
+			.andExpect(jsonPath("$.changes[0].after.status").value("COMPLETED"))
+			.andExpect(jsonPath("$.sharedCourses").doesNotExist());
+
+		mockMvc.perform(post("/api/what-if")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"action\": \"REMOVE\", \"code\": \"CSC-999\"}]"))
+			.andExpect(status().isBadRequest());
+
+		// The session itself is unchanged
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, sessionId))
+			.andExpect(content().string(containsString("[ ] Capstone Project (Not Completed)")));
+	}
+
+	@Test
+	void degreePlanSchedulesTheUnmetRequirementsByGraduation() throws Exception {
+		String sessionId = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": [\"Mathematics\"]}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/degree-plan")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.param("start", "Spring 2025"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.graduation").value("Spring 2027"))
+			.andExpect(jsonPath("$.plans[0].terms[0].term").value("Spring 2025"))
+			.andExpect(jsonPath("$.plans[0].terms[*].units").value(everyItem(lessThanOrEqualTo(4.0))))
+			// CSC-488 isn't in the course list, so the capstone can't be planned
+			.andExpect(jsonPath("$.unplanned").value(contains("Major: Computer Science - Capstone Project")))
+			.andExpect(jsonPath("$.plans[0].unmet").value(contains("Major: Computer Science - Capstone Project")));
+
+		// A student staying a year longer gets a plan through their own graduation
+		mockMvc.perform(get("/api/degree-plan")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.param("start", "Spring 2025")
+				.param("gradYear", "2028"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.graduation").value("Spring 2028"));
+
+		mockMvc.perform(get("/api/degree-plan")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.param("start", "Fall"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void sessionsDoNotSeeEachOthersResults() throws Exception {
+		String first = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+		String second = upload("Cavalluzzi_Annie_2687199_2_24_2025.pdf");
+
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, first)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": []}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, second))
+			.andExpect(status().isConflict())
+			.andExpect(content().string("Please submit your selections first."));
+		mockMvc.perform(get("/api/student-progress.json").header(FileUploadController.SESSION_HEADER, second))
+			.andExpect(status().isConflict())
+			.andExpect(content().string("Please submit your selections first."));
+	}
+
+	@Test
+	void batchUploadParsesPdfsAndZipEntries() throws Exception {
+		ByteArrayOutputStream zip = new ByteArrayOutputStream();
+		try (ZipOutputStream out = new ZipOutputStream(zip)) {
+			out.putNextEntry(new ZipEntry("cohort/Cavalluzzi_Annie_2687199_2_24_2025.pdf"));
+			out.write(Files.readAllBytes(Paths.get("src/main/resources/Cavalluzzi_Annie_2687199_2_24_2025.pdf")));
+			out.putNextEntry(new ZipEntry("cohort/readme.txt"));
+			out.write("not a transcript".getBytes());
+		}
+
+		String body = mockMvc.perform(multipart("/api/upload-batch")
+				.file(new MockMultipartFile("files", "Secrist_Liam_2686252_2_14_2025.pdf", "application/pdf",
+						Files.readAllBytes(Paths.get("src/main/resources/Secrist_Liam_2686252_2_14_2025.pdf"))))
+				.file(new MockMultipartFile("files", "broken.pdf", "application/pdf", "%PDF-1.4 truncated".getBytes()))
+				.file(new MockMultipartFile("files", "cohort.zip", "application/zip", zip.toByteArray())))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.succeeded").value(2))
+			.andExpect(jsonPath("$.failed").value(1))
+			.andExpect(jsonPath("$.files[0].courseCount").value(24))
+			.andExpect(jsonPath("$.files[1].sessionId").doesNotExist())
+			.andExpect(jsonPath("$.files[1].error").isString())
+			.andExpect(jsonPath("$.files[2].fileName").value("cohort.zip!/cohort/Cavalluzzi_Annie_2687199_2_24_2025.pdf"))
+			.andReturn().getResponse().getContentAsString();
+
+		// The session exists but has no selections yet
+		String sessionId = JsonPath.read(body, "$.files[2].sessionId");
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, sessionId))
+			.andExpect(status().isConflict());
+	}
+
+	@Test
+	void uploadWithSelectionsRunsAsEvaluatedJob() throws Exception {
+		String jobId = queue(multipart("/api/upload").file(pdf("Secrist_Liam_2686252_2_14_2025.pdf"))
+				.param("dropdown1", "Computer Science"));
+
+		String body = awaitJob(jobId);
+		assertEquals("EVALUATED", JsonPath.read(body, "$.state"));
+		assertEquals(24, (int) JsonPath.read(body, "$.courseCount"));
+
+		MvcResult events = mockMvc.perform(get("/api/jobs/" + jobId + "/events"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		assertTrue(events.getResponse().getContentAsString().contains("event:status"));
+		assertTrue(events.getResponse().getContentAsString().contains("\"state\":\"EVALUATED\""));
+
+		// The job already evaluated the transcript, so its report is served from the cache
+		int misses = JsonPath.read(mockMvc.perform(get("/api/admin/evaluation-cache")).andReturn().getResponse().getContentAsString(), "$.misses");
+		mockMvc.perform(get("/api/student-progress").header(FileUploadController.SESSION_HEADER, JsonPath.<String>read(body, "$.sessionId")))
+			.andExpect(content().string(containsString("[X] Introductory Course (Completed)")));
+		mockMvc.perform(get("/api/admin/evaluation-cache"))
+			.andExpect(jsonPath("$.misses").value(misses));
+	}
+
+	@Test
+	void unreadableUploadEndsInFailedJob() throws Exception {
+		String jobId = queue(multipart("/api/upload")
+				.file(new MockMultipartFile("file", "broken.pdf", "application/pdf", "not a pdf".getBytes())));
+
+		String body = awaitJob(jobId);
+		assertEquals("FAILED", JsonPath.read(body, "$.state"));
+		assertNull(JsonPath.read(body, "$.sessionId"));
+
+		mockMvc.perform(get("/api/jobs/no-such-job"))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void uploadIsTurnedAwayWhileTheCpuQueueIsFullOfOtherWork() throws Exception {
+		// Occupy every worker and fill the queue, as a burst of batch uploads and what-ifs would
+		CountDownLatch release = new CountDownLatch(1);
+		List<CompletableFuture<Boolean>> work = new ArrayList<>();
+		try {
+			while (true) {
+				work.add(cpuWorkPool.trySubmit(() -> awaitQuietly(release)));
+			}
+		} catch (RejectedExecutionException full) {
+			// The queue has no room left
+		}
+
+		try {
+			mockMvc.perform(multipart("/api/upload").file(pdf("Secrist_Liam_2686252_2_14_2025.pdf")))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+				.andExpect(jsonPath("$.message").value(containsString("Server is busy")));
+		} finally {
+			release.countDown();
+			CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).join();
+		}
+	}
+
+	@Test
+	void pipelineStagesArePublishedForPrometheus() throws Exception {
+		String sessionId = upload("Secrist_Liam_2686252_2_14_2025.pdf");
+		mockMvc.perform(post("/api/submit-selections")
+				.header(FileUploadController.SESSION_HEADER, sessionId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"dropdown1\": [\"Computer Science\"], \"dropdown2\": []}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("transcript_stage_seconds_count{stage=\"extract\"}")))
+			.andExpect(content().string(containsString("transcript_stage_seconds_count{stage=\"evaluate\"}")))
+			.andExpect(content().string(matchesPattern("(?s).*transcript_courses_total [1-9].*")))
+			.andExpect(content().string(containsString("transcript_lines_rejected_total")));
+	}
+
+	@Test
+	void evaluationProfileCanBeToggledAndRead() throws Exception {
+		mockMvc.perform(put("/api/admin/evaluation-profile").param("enabled", "true"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.enabled").value(true));
+		try {
+			mockMvc.perform(get("/api/admin/evaluation-profile").param("limit", "5"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.enabled").value(true))
+				.andExpect(jsonPath("$.concentrations").isArray())
+				.andExpect(jsonPath("$.requirements").isArray());
+			mockMvc.perform(delete("/api/admin/evaluation-profile"))
+				.andExpect(status().isNoContent());
+		} finally {
+			mockMvc.perform(put("/api/admin/evaluation-profile").param("enabled", "false"))
+				.andExpect(jsonPath("$.enabled").value(false));
+		}
+	}
+
+	private String upload(String transcript) throws Exception {
+		String body = awaitJob(queue(multipart("/api/upload").file(pdf(transcript))));
+		assertEquals("PARSED", JsonPath.read(body, "$.state"));
+		return JsonPath.read(body, "$.sessionId");
+	}
+
+	private String queue(RequestBuilder upload) throws Exception {
+		String body = mockMvc.perform(upload)
+			.andExpect(status().isAccepted())
+			.andExpect(header().string(HttpHeaders.LOCATION, matchesPattern("/api/jobs/.+")))
+			.andReturn().getResponse().getContentAsString();
+		return JsonPath.read(body, "$.jobId");
+	}
+
+	private String awaitJob(String jobId) throws Exception {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			String body = mockMvc.perform(get("/api/jobs/" + jobId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+			if (JsonPath.<Boolean>read(body, "$.finished") || System.currentTimeMillis() > deadline) {
+				return body;
+			}
+			Thread.sleep(20);
+		}
+	}
+
+	private static MockMultipartFile pdf(String transcript) throws Exception {
+		return new MockMultipartFile("file", transcript, "application/pdf",
+				Files.readAllBytes(Paths.get("src/main/resources", transcript)));
+	}
+
+	private static boolean awaitQuietly(CountDownLatch latch) {
+		try {
+			return latch.await(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PDFParserTests {
+
+	private static final String TRANSCRIPT = "src/main/resources/Secrist_Liam_2686252_2_14_2025.pdf";
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void parsesTranscriptIntoCourses() throws Exception {
+		List<Course> courses = parse(TRANSCRIPT);
+
+		assertEquals(24, courses.size());
+
+		Course transfer = courses.get(0);
+		assertEquals("CSC-105", transfer.getCode());
+		assertEquals("T", transfer.getGrade());
+		assertNull(transfer.getTerm());
+		assertEquals(List.of("JDQR", "JETS", "QMR", "SET"), transfer.getTypes());
+
+		Course taken = courses.get(6);
+		assertEquals("ATH-100", taken.getCode());
+		assertEquals("A", taken.getGrade());
+		assertEquals("23", taken.getYear());
+		assertEquals("FA", taken.getTerm());
+		assertEquals(1, taken.getCredits());
+	}
+
+	@Test
+	void parsesCourseTypesByWholeCode() throws Exception {
+		List<Course> courses = parse(TRANSCRIPT);
+
+		Course research = courses.stream().filter(c -> c.getCode().equals("CSC-380")).findFirst().orElseThrow();
+		assertEquals(List.of("WAC-R"), research.getTypes());
+		assertFalse(research.hasType(CourseType.WAC));
+
+		Course writing = courses.stream().filter(c -> c.getCode().equals("CSC-250")).findFirst().orElseThrow();
+		assertEquals(CourseType.WAC.bit(), writing.getTypeMask());
+
+		// Transcripts print a Spanish LCC course as "LCCS"
+		assertEquals(CourseType.LCC, CourseType.fromTranscriptCode("LCCS"));
+		assertNull(CourseType.fromTranscriptCode("ENS"));
+	}
+
+	@Test
+	void exportedSheetReadsBackToSameCourses() throws Exception {
+		List<Course> courses = parse(TRANSCRIPT);
+		Path sheet = dir.resolve("ParsedTranscript.xlsx");
+		try (Workbook workbook = PDFParser.createWorkbook(courses); FileOutputStream out = new FileOutputStream(sheet.toFile())) {
+			workbook.write(out);
+		}
+
+		List<Course> readBack = Driver.readCourses(sheet.toString());
+
+		assertEquals(courses.size(), readBack.size());
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(courses.get(i).getCode(), readBack.get(i).getCode());
+			assertEquals(courses.get(i).getGrade(), readBack.get(i).getGrade());
+			assertEquals(courses.get(i).getTypes(), readBack.get(i).getTypes());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { TRANSCRIPT, "src/main/resources/Cavalluzzi_Annie_2687199_2_24_2025.pdf" })
+	void streamingParseMatchesWholeTextParse(String path) throws Exception {
+		try (PDDocument document = PDDocument.load(new File(path))) {
+			List<Course> whole = PDFParser.parseCourses(PDFParser.extractLines(document));
+			List<Course> streamed = TranscriptStreamParser.parse(document);
+
+			assertFalse(streamed.isEmpty());
+			assertEquals(describe(whole), describe(streamed));
+		}
+	}
+
+	@Test
+	void streamingParseCountsWhatItRead() throws Exception {
+		try (PDDocument document = PDDocument.load(new File(TRANSCRIPT))) {
+			TranscriptStreamParser.Stats stats = new TranscriptStreamParser.Stats();
+			List<Course> courses = TranscriptStreamParser.parse(document, stats);
+
+			assertEquals(document.getNumberOfPages(), stats.getPages());
+			assertEquals(courses.size(), stats.getCourses());
+			assertTrue(stats.getLines() > courses.size());
+			assertTrue(stats.getRejectedLines() > 0);
+			assertTrue(stats.getExtractNanos() > 0);
+			assertTrue(stats.getClassifyNanos() > 0);
+		}
+	}
+
+	@Test
+	void classifiesEachLineOnce() {
+		assertEquals(TranscriptLine.Kind.COURSE, PDFParser.classify("MTH 110P AP Calc 1: Differential Cal           1.00 DNS"));
+		assertEquals(TranscriptLine.Kind.TERM_HEADER, PDFParser.classify("Fall Term 2023             (09/06/2023 - 11/21/2023)"));
+		assertEquals(TranscriptLine.Kind.COURSE_TYPE, PDFParser.classify("WAC-"));
+		assertEquals(TranscriptLine.Kind.OTHER, PDFParser.classify("TERM . . . . . . . . . GPA  3.900"));
+		assertEquals(TranscriptLine.Kind.OTHER, PDFParser.classify("CSC 10 Intro"));
+		assertEquals(TranscriptLine.Kind.OTHER, PDFParser.classify("WACWACW"));
+		assertTrue(PDFParser.isCourseType("  SOCS\r"));
+	}
+
+	private static List<String> describe(List<Course> courses) {
+		return courses.stream()
+				.map(c -> String.join("|", c.getCode(), c.getTitle(), c.getGrade(), String.valueOf(c.getTerm()),
+						String.valueOf(c.getYear()), String.valueOf(c.getCredits()), String.valueOf(c.getTypes())))
+				.toList();
+	}
+
+	static List<Course> parse(String path) throws Exception {
+		try (InputStream in = new FileInputStream(path)) {
+			return PDFParser.parseTranscript(in);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RequirementsCatalogTests {
+
+	private final RequirementsCatalog catalog = RequirementsCatalog.load(
+			"src/main/resources/Major-Requirements.xlsx", "src/main/resources/Minor-Requirements.xlsx");
+
+	@Test
+	void indexesRequirementsByConcentrationName() {
+		List<Requirement> reqs = catalog.getRequirements(false, "Computer Science");
+		assertEquals(7, reqs.size());
+		assertEquals("Introductory Course", reqs.get(0).getTitle());
+		assertTrue(reqs.get(4).isSeq());
+		assertEquals(3, reqs.get(4).getSequences().size());
+	}
+
+	@Test
+	void matchesNamesIgnoringCase() {
+		assertSame(catalog.getRequirements(true, "Mathematics"), catalog.getRequirements(true, "mathematics "));
+	}
+
+	@Test
+	void unknownConcentrationHasNoRequirements() {
+		assertTrue(catalog.getRequirements(false, "Underwater Basket Weaving").isEmpty());
+		assertTrue(catalog.getRequirements(true, "Computer Science").isEmpty());
+	}
+
+	@Test
+	void sharedRequirementListsAreImmutable() {
+		List<Requirement> reqs = catalog.getRequirements(false, "Computer Science");
+		assertThrows(UnsupportedOperationException.class, () -> reqs.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> reqs.get(0).getCourseGroups().clear());
+	}
+
+	@Test
+	void compilesConstraintsWhenBuilt() {
+		Requirement req = Requirement.fromCourseGroups("Electives", List.of("CSC-XXX", "MTH-231"), 4,
+				"4 (>= 200), 2 (>= 300)", "1 (WAC), 1 (QMR)", "C-");
+		assertTrue(req.isWildcardGroup(0));
+		assertEquals("CSC", req.getGroupKey(0));
+		assertEquals("MTH-231", req.getGroupKey(1));
+		assertArrayEquals(new int[] { 4, 2 }, req.copyNumberCounts());
+		assertEquals(300, req.getNumberLevel(1));
+		assertArrayEquals(new int[] { 1, 1 }, req.copyTypeCounts());
+		assertEquals("QMR", req.getTypeName(1));
+		assertEquals(Grade.C_MINUS.getRank(), req.getMinimumGradeRank());
+		assertThrows(NumberFormatException.class,
+				() -> Requirement.fromCourseGroups("Broken", List.of("CSC-XXX"), 1, "some (>= 300)", "", ""));
+	}
+
+	@Test
+	void minimumGradesCompareByRank() {
+		Requirement req = Requirement.fromCourseGroups("Core", List.of("CSC-120"), 1, "", "", "C");
+		assertTrue(new Course(null, null, "CSC-120", "", null, 1, "C+ ").getGradeRank() >= req.getMinimumGradeRank());
+		assertTrue(new Course(null, null, "CSC-120", "", null, 1, "T").getGradeRank() >= req.getMinimumGradeRank());
+		assertFalse(new Course(null, null, "CSC-120", "", null, 1, "C-").getGradeRank() >= req.getMinimumGradeRank());
+		assertFalse(new Course(null, null, "CSC-120", "", null, 1, "P").getGradeRank() >= req.getMinimumGradeRank());
+		assertTrue(Grade.fromCode("P").meets(Grade.fromCode("P")));
+	}
+
+}
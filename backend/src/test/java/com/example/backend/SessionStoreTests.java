@@ -0,0 +1,82 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SessionStoreTests {
+
+	private SessionStore store;
+
+	@AfterEach
+	void stop() {
+		store.stop();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedSessionWhenFull() {
+		store = new SessionStore(2, Long.MAX_VALUE, Duration.ofHours(1));
+		AdvisingSession first = store.create(courses(3));
+		AdvisingSession second = store.create(courses(3));
+
+		store.get(first.getId());
+		store.create(courses(3));
+
+		assertNotNull(store.get(first.getId()));
+		assertNull(store.get(second.getId()));
+		assertEquals(2, store.size());
+		assertEquals(1, store.getEvictions());
+	}
+
+	@Test
+	void evictsWhenEstimatedBytesExceedBudget() {
+		long oneSession = new AdvisingSession("00000000-0000-0000-0000-000000000000", courses(10)).getEstimatedBytes();
+		store = new SessionStore(100, oneSession * 2 + oneSession / 2, Duration.ofHours(1));
+
+		AdvisingSession first = store.create(courses(10));
+		store.create(courses(10));
+		assertEquals(oneSession * 2, store.getTotalBytes());
+
+		store.create(courses(10));
+		assertNull(store.get(first.getId()));
+		assertEquals(oneSession * 2, store.getTotalBytes());
+	}
+
+	@Test
+	void updateReplacesSessionAndReaccountsBytes() {
+		store = new SessionStore(10, Long.MAX_VALUE, Duration.ofHours(1));
+		AdvisingSession session = store.create(courses(2));
+		Student student = new Student(2027, new ArrayList<>(session.getCourses()), new ArrayList<>(), new ArrayList<>());
+
+		AdvisingSession updated = store.update(session.getId(), s -> s.withStudent(student));
+
+		assertSame(student, store.get(session.getId()).getStudent());
+		assertEquals(updated.getEstimatedBytes(), store.getTotalBytes());
+		assertNull(store.update("unknown", s -> s));
+	}
+
+	@Test
+	void dropsIdleSessions() throws InterruptedException {
+		store = new SessionStore(10, Long.MAX_VALUE, Duration.ofMillis(50));
+		AdvisingSession session = store.create(courses(1));
+
+		Thread.sleep(100);
+		store.evictIdle();
+
+		assertNull(store.get(session.getId()));
+		assertEquals(0, store.getTotalBytes());
+	}
+
+	private static List<Course> courses(int n) {
+		List<Course> courses = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			courses.add(new Course("FA", "24", "CSC-" + (100 + i), "Course " + i, new ArrayList<>(List.of("WAC")), 1, "A"));
+		}
+		return courses;
+	}
+
+}
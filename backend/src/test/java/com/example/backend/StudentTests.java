@@ -0,0 +1,142 @@
+package com.example.backend;
+
+import static com.example.backend.SyntheticData.course;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StudentTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void searchCompletesWhatInOrderMatchingLeavesUnmet() throws Exception {
+		// The elective and core requirements AssignmentSolverTests reserves courses for
+		RequirementsCatalog catalog = catalog(
+				new Object[] { "Test", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Test", "CSC-120", 1, "Core", null, null, null });
+
+		Student searched = student(catalog, course("CSC-120", "A"), course("CSC-250", "A"));
+		ProgressReport.ProgramProgress program = searched.getProgressReport().programs().get(0);
+		assertEquals(2, program.completed());
+		assertEquals(List.of("CSC-250"), program.requirements().get(0).fulfilledBy());
+		assertEquals(List.of("CSC-120"), program.requirements().get(1).fulfilledBy());
+
+		Student inOrder = student(catalog, course("CSC-120", "A"), course("CSC-250", "A"));
+		inOrder.setAssignmentBudget(Duration.ZERO);
+		program = inOrder.getProgressReport().programs().get(0);
+		assertEquals(1, program.completed());
+		assertEquals(List.of("CSC-120"), program.requirements().get(0).fulfilledBy());
+		assertFalse(program.requirements().get(1).completed());
+	}
+
+	@Test
+	void codesWithoutCourseNumberDoNotCountTowardNumberConstraints() throws Exception {
+		RequirementsCatalog catalog = catalog(
+				new Object[] { "Test", "CSC-XXX", 2, "Electives", "2 (>= 200)", null, null },
+				new Object[] { "Test", "CSC-HON", 1, "Honors", null, null, null });
+
+		Student student = student(catalog, course("CSC-HON", "A"), course("CSC-250", "A"), course("CSC-310", "B"));
+		ProgressReport.ProgramProgress program = student.getProgressReport().programs().get(0);
+
+		assertEquals(2, program.completed());
+		assertEquals(List.of("CSC-250", "CSC-310"), program.requirements().get(0).fulfilledBy());
+		assertEquals(List.of("CSC-HON"), program.requirements().get(1).fulfilledBy());
+	}
+
+	@Test
+	void sharedCoursesCountTowardMoreThanOneProgram() throws Exception {
+		RequirementsCatalog catalog = catalog(
+				new Object[] { "Major", "CSC-120", 1, "Core", null, null, null },
+				new Object[] { "Major", "MTH-113", 1, "Calculus", null, null, null },
+				new Object[] { "Major", "ECO-101", 1, "Economics", null, null, null },
+				new Object[] { "Minor", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Minor", "(MTH-113, MTH-115 | 2); (PHY-120, PHY-130 | 2)", 1, "Sequence", null, null, null });
+		Student student = new Student(2027,
+				new ArrayList<>(List.of(course("CSC-120", "A"), course("MTH-113", "B"), course("ECO-101", "A"))),
+				new ArrayList<>(List.of(new Concentration(false, "Major", catalog))),
+				new ArrayList<>(List.of(new Concentration(true, "Minor", catalog))));
+
+		// MTH-113 only starts the minor's sequence, so it counts toward the major alone
+		assertEquals(List.of(new ProgressReport.SharedCourse("CSC-120", List.of("Major: Major", "Minor: Minor"))),
+				student.getSharedCourses());
+
+		student.getCourses().add(course("MTH-115", "B"));
+		Student completed = new Student(2027, student.getCourses(), student.getMajors(), student.getMinors());
+		assertEquals(List.of("CSC-120", "MTH-113"),
+				completed.getSharedCourses().stream().map(ProgressReport.SharedCourse::course).toList());
+	}
+
+	@Test
+	void singleProgramSharesNothing() throws Exception {
+		RequirementsCatalog catalog = catalog(new Object[] { "Test", "CSC-120", 1, "Core", null, null, null });
+
+		assertEquals(List.of(), student(catalog, course("CSC-120", "A")).getSharedCourses());
+	}
+
+	@Test
+	void whatIfDoesNotCompareAgainstABaselineThatRanOutOfTime() throws Exception {
+		RequirementsCatalog catalog = catalog(
+				new Object[] { "Test", "CSC-XXX", 1, "Elective", null, null, null },
+				new Object[] { "Test", "CSC-120", 1, "Core", null, null, null });
+		Student student = student(catalog, course("CSC-120", "A"), course("CSC-250", "A"));
+
+		// Under load the search gets no time, leaving the core requirement unmet
+		student.setAssignmentBudget(Duration.ofNanos(1));
+		assertTrue(student.getProgressReport().assignmentCutShort());
+		student.setAssignmentBudget(Duration.ofSeconds(5));
+
+		// A regrade that changes nothing mustn't show the search finishing as the change's doing
+		ProgressDelta delta = student.whatIf(List.of(
+				new CourseChange(CourseChange.Action.CHANGE_GRADE, "CSC-250", "B", null, null, 0)));
+		assertEquals(List.of("Major: Test"), delta.reevaluated());
+		assertEquals(List.of(), delta.changes());
+	}
+
+	@Test
+	void whatIfRecordsTheProgramsItReevaluatesWithTheProfiler() throws Exception {
+		RequirementsCatalog catalog = catalog(
+				new Object[] { "Test", "CSC-120", 1, "Core", null, null, null },
+				new Object[] { "Other", "MTH-113", 1, "Calculus", null, null, null });
+		Student student = new Student(2027, new ArrayList<>(List.of(course("CSC-120", "A"))),
+				new ArrayList<>(List.of(new Concentration(false, "Test", catalog))),
+				new ArrayList<>(List.of(new Concentration(true, "Other", catalog))));
+		EvaluationProfiler profiler = new EvaluationProfiler(true);
+
+		student.getProgressReport();
+		assertTrue(profiler.getProfile(100).concentrations().isEmpty());
+
+		student.whatIf(List.of(new CourseChange(CourseChange.Action.ADD, "MTH-113", "A", null, null, 4)), profiler);
+		List<EvaluationProfiler.ConcentrationProfile> profiled = profiler.getProfile(100).concentrations();
+		assertEquals(1, profiled.size());
+		assertEquals("Minor: Other", profiled.get(0).concentration());
+		assertEquals(1, profiled.get(0).evaluations());
+	}
+
+	private RequirementsCatalog catalog(Object[]... rows) throws Exception {
+		Workbook workbook = new XSSFWorkbook();
+		Sheet sheet = workbook.createSheet("requirements");
+		SyntheticData.addRow(sheet, "Major Name", "Courses", "Num Needed", "Title", "Number Requirements", "Type Requirements", "Min Grade");
+		for (Object[] row : rows) {
+			SyntheticData.addRow(sheet, row);
+		}
+		Path path = dir.resolve("requirements-" + System.nanoTime() + ".xlsx");
+		SyntheticData.write(workbook, path);
+		return RequirementsCatalog.load(path.toString(), path.toString());
+	}
+
+	private static Student student(RequirementsCatalog catalog, Course... courses) {
+		return new Student(2027, new ArrayList<>(List.of(courses)),
+				new ArrayList<>(List.of(new Concentration(false, "Test", catalog))), new ArrayList<>());
+	}
+
+}
@@ -0,0 +1,368 @@
+package com.example.backend;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Generates transcripts and requirement catalogs of any size, for tests,
+ * benchmarks and load tests. Everything is drawn from one seeded Random, so
+ * the same seed and the same calls give the same data.
+ *
+ * <p>Transcript PDFs are laid out the way {@link PDFParser} reads the
+ * registrar's: two fixed-width columns of monospaced text, each read top to
+ * bottom across every page before the next, with course types after the
+ * first wrapped onto lines of their own. Transcript workbooks are written by
+ * {@link PDFParser#createWorkbook}, in the layout {@link Driver#readCourses}
+ * reads. Requirement workbooks have the columns
+ * {@link RequirementsCatalog} loads, with course lists, sequences, XXX
+ * wildcards, number and type constraints and minimum grades.
+ *
+ * <p>To write a set of files for offline load tests:
+ * mvn test-compile exec:java -Dexec.mainClass=com.example.backend.SyntheticData -Dexec.classpathScope=test
+ * -Dexec.args="target/synthetic 42 100 200 150"
+ * for seed 42, 100 transcripts of 200 courses and 150 majors and minors.
+ */
+final class SyntheticData {
+
+	static final String[] DEPARTMENTS = { "ACC", "AFR", "ANT", "ART", "BIO", "CHM", "CSC", "ECE", "ECO", "EGL",
+			"GEO", "HST", "MTH", "MUS", "PHL", "PHY", "PSC", "PSY", "SOC", "STA" };
+
+	private static final String[] GRADES = { "A", "A", "A-", "A-", "B+", "B", "B", "B-", "C+", "C", "C-", "D+",
+			"D", "F", "W" };
+	private static final double[] GRADE_POINTS = { 4.0, 4.0, 3.7, 3.7, 3.3, 3.0, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3,
+			1.0, 0.0, 0.0 };
+	private static final String[] SEASONS = { "Fall", "Winter", "Spring" };
+	private static final String[] TITLE_WORDS = { "Intro to", "Topics in", "Seminar in", "Methods of", "Studies in" };
+	private static final int FIRST_YEAR = 2021;
+
+	// Column widths of a course line, which PDFParser reads by position
+	private static final int COLUMN_WIDTH = 69;
+	private static final int CODE_WIDTH = 9;
+	private static final int TITLE_WIDTH = 28;
+	private static final int TRANSFER_TITLE_WIDTH = 38;
+	private static final int GRADE_WIDTH = 5;
+	private static final int HOURS_WIDTH = 6;
+	private static final int POINTS_WIDTH = 5;
+	private static final int TRANSFER_CREDITS_WIDTH = 5;
+	private static final int WRAPPED_TYPE_INDENT = 61;
+
+	// Page layout: Courier on a landscape letter page, as the registrar prints it
+	private static final float FONT_SIZE = 7;
+	private static final float LEADING = 8;
+	private static final float MARGIN = 24;
+	private static final String[] PAGE_HEADER = {
+		"Student, Synthetic",
+		"0000000",
+		"DATE: 01/01/2025 TIME: 12:00PM",
+		"                            DNU-UNION UG UNOFFICIAL",
+		" COURSE    Course Title               GRD   ATT  CPT  GRDPT           COURSE    Course Title               GRD   ATT  CPT  GRDPT"
+	};
+
+	private final Random random;
+
+	SyntheticData(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Returns a transcript of {@code count} courses: a tenth of them transfer
+	 * credit, and the rest four a term from Fall 2021 on. Courses in the last
+	 * term are in progress.
+	 */
+	List<Course> transcript(int count) {
+		List<Course> courses = new ArrayList<>(count);
+		int transfers = count / 10;
+		for (int i = 0; i < transfers; i++) {
+			// Transfer lines always list a type, as PDFParser reads their credits up to the type column
+			courses.add(new Course(null, null, courseCode(), title(TRANSFER_TITLE_WIDTH), types(1), 1, "T"));
+		}
+		int graded = count - transfers;
+		int lastTerm = (graded - 1) / 4;
+		for (int i = 0; i < graded; i++) {
+			int term = i / 4;
+			boolean inProgress = term == lastTerm;
+			String grade = inProgress ? "CIP" : GRADES[random.nextInt(GRADES.length)];
+			int credits = inProgress || grade.equals("W") ? 0 : 1;
+			courses.add(new Course(seasonCode(term), yearCode(term), courseCode(), title(TITLE_WIDTH), types(0), credits, grade));
+		}
+		return courses;
+	}
+
+	/**
+	 * Lays out courses as a transcript PDF. Courses with a term must come in
+	 * term order after the transfer credit, as {@link #transcript} returns them.
+	 */
+	byte[] transcriptPdf(List<Course> courses) throws IOException {
+		List<List<String>> blocks = new ArrayList<>();
+		String term = null;
+		for (Course course : courses) {
+			if (course.getTerm() != null && !(course.getYear() + course.getTerm()).equals(term)) {
+				if (term != null) {
+					blocks.add(List.of("      TERM . . . . . . . . . . . . . . . . . . . . . GPA  3.000"));
+				}
+				term = course.getYear() + course.getTerm();
+				blocks.add(List.of("", "           " + termHeader(course)));
+			}
+			blocks.add(courseLines(course));
+		}
+		blocks.add(List.of("", "  ********************END OF RECORD TO DATE********************"));
+
+		// Blocks never straddle columns, so wrapped types stay with their course
+		int rows = (int) ((PDRectangle.LETTER.getWidth() - 2 * MARGIN) / LEADING) - PAGE_HEADER.length;
+		List<List<String>> columns = new ArrayList<>();
+		List<String> column = new ArrayList<>();
+		for (List<String> block : blocks) {
+			if (column.size() + block.size() > rows) {
+				columns.add(column);
+				column = new ArrayList<>();
+			}
+			column.addAll(block);
+		}
+		columns.add(column);
+
+		// PDFParser reads the first column of every page before any second column
+		int pages = (columns.size() + 1) / 2;
+		try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			for (int page = 0; page < pages; page++) {
+				List<String> left = columns.get(page);
+				List<String> right = page + pages < columns.size() ? columns.get(page + pages) : List.of();
+				List<String> lines = new ArrayList<>(List.of(PAGE_HEADER));
+				for (int row = 0; row < Math.max(left.size(), right.size()); row++) {
+					String first = row < left.size() ? left.get(row) : "";
+					String second = row < right.size() ? right.get(row) : "";
+					lines.add(second.isEmpty() ? first : pad(first, COLUMN_WIDTH) + second);
+				}
+				writePage(document, lines);
+			}
+			document.save(out);
+			return out.toByteArray();
+		}
+	}
+
+	/**
+	 * Returns a requirements workbook for {@code count} concentrations named
+	 * "{@code prefix} 1" and on, each based in one department.
+	 */
+	Workbook requirementsWorkbook(String prefix, int count) {
+		Workbook workbook = new XSSFWorkbook();
+		Sheet sheet = workbook.createSheet("requirements");
+		addRow(sheet, "Major Name", "Courses", "Num Needed", "Title", "Number Requirements", "Type Requirements", "Min Grade");
+		for (int i = 0; i < count; i++) {
+			String name = prefix + " " + (i + 1);
+			String department = DEPARTMENTS[i % DEPARTMENTS.length];
+			String other = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+
+			addRow(sheet, name, codes(department, 3, 100), 1, "Introductory Course", null, null, "C-");
+			int core = 3 + random.nextInt(3);
+			addRow(sheet, name, codes(department, core, 200), core, "Core Sequence", null, null, "C-");
+			addRow(sheet, name, "(" + codes(department, 2, 200) + " | 2); (" + codes(other, 2, 100) + " | 2); ("
+					+ codes(other, 1, 300) + " | 1)", 1, "Foundation Sequence", null, null, null);
+			int electives = 3 + random.nextInt(4);
+			addRow(sheet, name, department + "-XXX", electives, "Electives",
+					electives + " (>= 110), " + (electives / 2) + " (>= 300)",
+					"1 (" + CourseType.values()[random.nextInt(CourseType.values().length)].getCode() + ")", null);
+			addRow(sheet, name, department + "-XXX, " + other + "-XXX", 2, "Related Courses", "2 (>= 200)", null, null);
+			addRow(sheet, name, codes(department, 2, 490), 1, "Capstone", null, null, null);
+		}
+		return workbook;
+	}
+
+	/**
+	 * Returns a workbook listing concentration names, as the major and minor
+	 * lists do: each name with its department.
+	 */
+	static Workbook namesWorkbook(String prefix, int count) {
+		Workbook workbook = new XSSFWorkbook();
+		Sheet sheet = workbook.createSheet("names");
+		for (int i = 0; i < count; i++) {
+			addRow(sheet, prefix + " " + (i + 1), DEPARTMENTS[i % DEPARTMENTS.length]);
+		}
+		return workbook;
+	}
+
+	static void write(Workbook workbook, Path path) throws IOException {
+		try (workbook; OutputStream out = Files.newOutputStream(path)) {
+			workbook.write(out);
+		}
+	}
+
+	/**
+	 * Writes transcripts and a catalog for load tests: args are the output
+	 * directory, the seed, the number of transcripts, the courses in each and
+	 * the number of majors and of minors.
+	 */
+	public static void main(String[] args) throws IOException {
+		Path dir = Paths.get(args.length > 0 ? args[0] : "target/synthetic");
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+		int transcripts = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		int courses = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+		int concentrations = args.length > 4 ? Integer.parseInt(args[4]) : 150;
+
+		Files.createDirectories(dir);
+		SyntheticData data = new SyntheticData(seed);
+		write(data.requirementsWorkbook("Synthetic Major", concentrations), dir.resolve("Major-Requirements.xlsx"));
+		write(data.requirementsWorkbook("Synthetic Minor", concentrations), dir.resolve("Minor-Requirements.xlsx"));
+		write(namesWorkbook("Synthetic Major", concentrations), dir.resolve("Major-List.xlsx"));
+		write(namesWorkbook("Synthetic Minor", concentrations), dir.resolve("Minor-List.xlsx"));
+		for (int i = 0; i < transcripts; i++) {
+			List<Course> transcript = data.transcript(courses);
+			Files.write(dir.resolve("transcript-" + i + ".pdf"), data.transcriptPdf(transcript));
+			write(PDFParser.createWorkbook(transcript), dir.resolve("transcript-" + i + ".xlsx"));
+		}
+		System.out.println("Wrote " + transcripts + " transcripts and " + concentrations + " majors and minors to " + dir);
+	}
+
+	private List<String> courseLines(Course course) {
+		String code = course.getCode().replace('-', ' ');
+		List<String> types = new ArrayList<>();
+		for (String type : course.getTypes()) {
+			// Transcripts cut WAC-R short; PDFParser expands it again
+			types.add(type.equals(CourseType.WAC_R.getCode()) ? "WAC-" : type);
+		}
+		// PDFParser only takes types of three letters or more on a line of their own
+		types.sort((a, b) -> Boolean.compare(a.length() >= 3, b.length() >= 3));
+
+		StringBuilder line = new StringBuilder("  ").append(pad(code, CODE_WIDTH));
+		if (course.getTerm() == null) {
+			line.append(pad(course.getTitle(), TRANSFER_TITLE_WIDTH))
+					.append(pad(String.format(Locale.ROOT, "%.2f", (double) course.getCredits()), TRANSFER_CREDITS_WIDTH));
+		} else {
+			int grade = indexOf(GRADES, course.getGrade());
+			boolean inProgress = grade < 0;
+			line.append(pad(course.getTitle(), TITLE_WIDTH))
+					.append(pad(course.getGrade(), GRADE_WIDTH))
+					.append(pad(inProgress ? "" : "1.00", HOURS_WIDTH))
+					.append(pad(inProgress ? "" : String.format(Locale.ROOT, "%.2f", (double) course.getCredits()), HOURS_WIDTH))
+					.append(pad(String.format(Locale.ROOT, "%.2f", inProgress ? 0 : GRADE_POINTS[grade]), POINTS_WIDTH));
+		}
+		if (!types.isEmpty()) {
+			line.append(types.get(0));
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add(line.toString());
+		for (int t = 1; t < types.size(); t++) {
+			lines.add(" ".repeat(WRAPPED_TYPE_INDENT) + types.get(t));
+		}
+		return lines;
+	}
+
+	private static String termHeader(Course course) {
+		int year = 2000 + Integer.parseInt(course.getYear());
+		String season = switch (course.getTerm()) {
+			case "FA" -> "Fall";
+			case "WI" -> "Winter";
+			default -> "Spring";
+		};
+		return pad(season + " Term " + year, 27) + "(01/01/" + year + " - 03/01/" + year + ")";
+	}
+
+	private static void writePage(PDDocument document, List<String> lines) throws IOException {
+		PDPage page = new PDPage(new PDRectangle(PDRectangle.LETTER.getHeight(), PDRectangle.LETTER.getWidth()));
+		document.addPage(page);
+		try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+			content.beginText();
+			content.setFont(PDType1Font.COURIER, FONT_SIZE);
+			content.setLeading(LEADING);
+			content.newLineAtOffset(MARGIN, page.getMediaBox().getHeight() - MARGIN);
+			for (String line : lines) {
+				content.showText(line);
+				content.newLine();
+			}
+			content.endText();
+		}
+	}
+
+	private String courseCode() {
+		String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+		int level = 100 + random.nextInt(400);
+		// A few honors projects, which XXX wildcards don't match
+		return department + "-" + level + (random.nextInt(50) == 0 ? "H" : "");
+	}
+
+	private String title(int width) {
+		String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]
+				+ " " + (1 + random.nextInt(99));
+		return title.length() > width ? title.substring(0, width).trim() : title;
+	}
+
+	private ArrayList<String> types(int min) {
+		ArrayList<String> types = new ArrayList<>();
+		CourseType[] all = CourseType.values();
+		for (int t = min + random.nextInt(4 - min); t > 0; t--) {
+			String code = all[random.nextInt(all.length)].getCode();
+			if (!types.contains(code)) {
+				types.add(code);
+			}
+		}
+		// In column order, which is how PDFParser and the workbook return them
+		return CourseType.codes(CourseType.mask(types));
+	}
+
+	private String codes(String department, int count, int fromLevel) {
+		List<String> codes = new ArrayList<>(count);
+		int level = fromLevel + random.nextInt(10);
+		for (int i = 0; i < count; i++) {
+			codes.add(department + "-" + (level + i));
+		}
+		return String.join(", ", codes);
+	}
+
+	private static String seasonCode(int term) {
+		return SEASONS[term % SEASONS.length].substring(0, 2).toUpperCase();
+	}
+
+	private static String yearCode(int term) {
+		// Fall starts the academic year; Winter and Spring fall in the next calendar year
+		int year = FIRST_YEAR + (term + 2) / SEASONS.length;
+		return Integer.toString(year % 100);
+	}
+
+	/**
+	 * Returns a four-credit course taken in Fall 2023, titled with its code.
+	 */
+	static Course course(String code, String grade) {
+		return new Course("FA", "23", code, code, new ArrayList<>(), 4, grade);
+	}
+
+	static void addRow(Sheet sheet, Object... values) {
+		Row row = sheet.createRow(sheet.getPhysicalNumberOfRows());
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] instanceof Number number) {
+				row.createCell(i).setCellValue(number.doubleValue());
+			} else if (values[i] != null) {
+				row.createCell(i).setCellValue(values[i].toString());
+			}
+		}
+	}
+
+	private static int indexOf(String[] values, String value) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i].equals(value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static String pad(String text, int width) {
+		return text.length() >= width ? text.substring(0, width) : text + " ".repeat(width - text.length());
+	}
+}
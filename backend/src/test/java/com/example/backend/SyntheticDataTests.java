@@ -0,0 +1,106 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SyntheticDataTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void transcriptPdfParsesBackIntoTheSameCourses() throws Exception {
+		SyntheticData data = new SyntheticData(7);
+		List<Course> courses = data.transcript(200);
+
+		List<Course> parsed = PDFParser.parseTranscript(new ByteArrayInputStream(data.transcriptPdf(courses)));
+
+		assertEquals(courses.size(), parsed.size());
+		for (int i = 0; i < courses.size(); i++) {
+			assertSameCourse(courses.get(i), parsed.get(i), true);
+		}
+		assertTrue(courses.stream().anyMatch(c -> c.getTypes().size() > 1), "some types are wrapped");
+		assertTrue(courses.stream().anyMatch(c -> c.getGrade().equals("CIP")));
+	}
+
+	@Test
+	void transcriptWorkbookReadsBackIntoTheSameCourses() throws Exception {
+		List<Course> courses = new SyntheticData(7).transcript(200);
+		Path path = dir.resolve("transcript.xlsx");
+		SyntheticData.write(PDFParser.createWorkbook(courses), path);
+
+		List<Course> read = Driver.readCourses(path.toString());
+
+		assertEquals(courses.size(), read.size());
+		for (int i = 0; i < courses.size(); i++) {
+			assertSameCourse(courses.get(i), read.get(i), false);
+		}
+	}
+
+	@Test
+	void sameSeedGivesTheSameData() {
+		List<Course> first = new SyntheticData(11).transcript(300);
+		List<Course> second = new SyntheticData(11).transcript(300);
+		List<Course> other = new SyntheticData(12).transcript(300);
+
+		for (int i = 0; i < first.size(); i++) {
+			assertSameCourse(first.get(i), second.get(i), true);
+		}
+		assertNotEquals(codes(first), codes(other));
+	}
+
+	@Test
+	void requirementsWorkbookLoadsAsACatalog() throws Exception {
+		SyntheticData data = new SyntheticData(7);
+		Path majors = dir.resolve("Major-Requirements.xlsx");
+		Path minors = dir.resolve("Minor-Requirements.xlsx");
+		Path majorList = dir.resolve("Major-List.xlsx");
+		Path minorList = dir.resolve("Minor-List.xlsx");
+		SyntheticData.write(data.requirementsWorkbook("Synthetic Major", 150), majors);
+		SyntheticData.write(data.requirementsWorkbook("Synthetic Minor", 40), minors);
+		SyntheticData.write(SyntheticData.namesWorkbook("Synthetic Major", 150), majorList);
+		SyntheticData.write(SyntheticData.namesWorkbook("Synthetic Minor", 40), minorList);
+
+		RequirementsCatalog catalog = RequirementsCatalog.load(majors.toString(), minors.toString(),
+				majorList.toString(), minorList.toString(), 1);
+
+		assertEquals(150, catalog.getMajorCount());
+		assertEquals(40, catalog.getMinorCount());
+		assertEquals("Synthetic Major 150", catalog.getMajorNames().get(149));
+		List<Requirement> reqs = catalog.getRequirements(false, "Synthetic Major 150");
+		assertEquals(6, reqs.size());
+		assertTrue(reqs.get(2).isSeq());
+		assertEquals(3, reqs.get(2).getSequences().size());
+		assertTrue(reqs.get(3).isWildcardGroup(0));
+		assertEquals(2, reqs.get(3).copyNumberCounts().length);
+		assertEquals(1, reqs.get(3).copyTypeCounts().length);
+		assertEquals(Grade.C_MINUS.getRank(), reqs.get(1).getMinimumGradeRank());
+
+		ArrayList<Course> courses = new ArrayList<>(data.transcript(500));
+		Student student = Driver.generatePlanner(courses, List.of("Synthetic Major 1", "Synthetic Major 2"),
+				List.of("Synthetic Minor 3"), catalog);
+		assertFalse(student.getProgressReport().programs().isEmpty());
+	}
+
+	private static void assertSameCourse(Course expected, Course actual, boolean withCredits) {
+		assertEquals(expected.getCode(), actual.getCode());
+		assertEquals(expected.getTitle(), actual.getTitle());
+		assertEquals(expected.getGrade(), actual.getGrade());
+		assertEquals(expected.getTypes(), actual.getTypes(), expected.getCode());
+		if (withCredits) {
+			assertEquals(expected.getCredits(), actual.getCredits(), expected.getCode());
+			assertEquals(expected.getTerm(), actual.getTerm());
+			assertEquals(expected.getYear(), actual.getYear());
+		}
+	}
+
+	private static List<String> codes(List<Course> courses) {
+		return courses.stream().map(Course::getCode).toList();
+	}
+}
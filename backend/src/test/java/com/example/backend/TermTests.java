@@ -0,0 +1,65 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TermTests {
+
+	@Test
+	void termsStartAfterTheDate() {
+		assertEquals(Term.parse("Spring 2025"), Term.after(LocalDate.of(2025, 1, 10)));
+		assertEquals(Term.parse("Spring 2025"), Term.after(LocalDate.of(2025, 3, 31)));
+		assertEquals(Term.parse("Fall 2025"), Term.after(LocalDate.of(2025, 4, 1)));
+		// Summer isn't planned into, so a summer date is followed by fall
+		assertEquals(Term.parse("Fall 2025"), Term.after(LocalDate.of(2025, 7, 15)));
+		assertEquals(Term.parse("Winter 2026"), Term.after(LocalDate.of(2025, 9, 1)));
+		assertEquals(Term.parse("Winter 2026"), Term.after(LocalDate.of(2025, 12, 31)));
+	}
+
+	@Test
+	void nextSkipsSummerAndRollsOverTheYear() {
+		assertEquals(Term.parse("Winter 2026"), Term.parse("Fall 2025").next());
+		assertEquals(Term.parse("Spring 2026"), Term.parse("Winter 2026").next());
+		assertEquals(Term.parse("Fall 2026"), Term.parse("Spring 2026").next());
+		assertEquals(Term.parse("Fall 2026"), Term.parse("Summer 2026").next());
+	}
+
+	@Test
+	void throughListsRegularTermsInOrder() {
+		assertEquals(List.of(Term.parse("Fall 2025"), Term.parse("Winter 2026"), Term.parse("Spring 2026"),
+				Term.parse("Fall 2026"), Term.parse("Winter 2027"), Term.parse("Spring 2027")),
+				Term.parse("Fall 2025").through(Term.graduation(2027)));
+		assertEquals(List.of(Term.parse("Fall 2026"), Term.parse("Winter 2027"), Term.parse("Spring 2027")),
+				Term.parse("Summer 2026").through(Term.graduation(2027)));
+		assertEquals(List.of(Term.parse("Spring 2027")), Term.parse("Spring 2027").through(Term.graduation(2027)));
+		assertEquals(List.of(), Term.parse("Fall 2027").through(Term.graduation(2027)));
+	}
+
+	@Test
+	void termsOrderWithinTheCalendarYear() {
+		assertTrue(Term.parse("Winter 2026").compareTo(Term.parse("Spring 2026")) < 0);
+		assertTrue(Term.parse("Spring 2026").compareTo(Term.parse("Summer 2026")) < 0);
+		assertTrue(Term.parse("Summer 2026").compareTo(Term.parse("Fall 2026")) < 0);
+		assertTrue(Term.parse("Fall 2025").compareTo(Term.parse("Winter 2026")) < 0);
+	}
+
+	@Test
+	void parsesTermsAndTranscriptCodes() {
+		assertEquals(new Term(Term.Season.FALL, 2025), Term.parse(" fall  2025 "));
+		assertEquals("Summer 2026", Term.parse("Summer 2026").toString());
+		assertThrows(IllegalArgumentException.class, () -> Term.parse("Fall"));
+		assertThrows(IllegalArgumentException.class, () -> Term.parse("Autumn 2025"));
+		assertThrows(IllegalArgumentException.class, () -> Term.parse("Fall 25"));
+
+		assertEquals(Term.parse("Winter 2024"), Term.fromTranscript("WI", "24"));
+		assertEquals(Term.parse("Summer 2024"), Term.fromTranscript("SU", "24"));
+		assertNull(Term.fromTranscript(null, null));
+		assertNull(Term.fromTranscript("XX", "24"));
+		assertEquals(2025, Term.parse("Spring 2026").academicYear());
+		assertEquals(2025, Term.parse("Fall 2025").academicYear());
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class TranscriptBatchServiceTests {
+
+	private final CpuWorkPool pool = new CpuWorkPool(2, 8);
+	private final SessionStore sessions = new SessionStore(10, 1 << 24, Duration.ofMinutes(5));
+
+	@AfterEach
+	void stop() {
+		pool.stop();
+		sessions.stop();
+	}
+
+	@Test
+	void oversizedTranscriptsAreReportedWhetherUploadedDirectlyOrZipped() throws Exception {
+		byte[] transcript = Files.readAllBytes(Paths.get("src/main/resources/Secrist_Liam_2686252_2_14_2025.pdf"));
+		TranscriptBatchService batches = new TranscriptBatchService(sessions, pool,
+				new TranscriptMetrics(new SimpleMeterRegistry(), false), 10, transcript.length - 1);
+
+		TranscriptBatchService.BatchResult result = batches.ingest(List.of(
+				new MockMultipartFile("files", "direct.pdf", "application/pdf", transcript),
+				new MockMultipartFile("files", "cohort.zip", "application/zip", zip("zipped.pdf", transcript)),
+				new MockMultipartFile("files", "small.pdf", "application/pdf", "not a pdf".getBytes())));
+
+		String tooLarge = "File is larger than " + (transcript.length - 1) + " bytes";
+		assertEquals(3, result.files().size());
+		assertEquals(new TranscriptBatchService.FileResult("direct.pdf", null, 0, tooLarge), result.files().get(0));
+		assertEquals(new TranscriptBatchService.FileResult("cohort.zip!/zipped.pdf", null, 0, tooLarge),
+				result.files().get(1));
+		// Files under the limit are still parsed
+		assertTrue(result.files().get(2).error().startsWith("Error processing file"));
+		assertEquals(0, result.succeeded());
+	}
+
+	private static byte[] zip(String name, byte[] content) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+			out.putNextEntry(new ZipEntry(name));
+			out.write(content);
+			out.closeEntry();
+		}
+		return bytes.toByteArray();
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.example.backend;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class TranscriptJobServiceTests {
+
+	private final CpuWorkPool pool = new CpuWorkPool(1, 4);
+	private final SessionStore sessions = new SessionStore(10, 1 << 20, Duration.ofMinutes(5));
+
+	@AfterEach
+	void stop() {
+		pool.stop();
+		sessions.stop();
+	}
+
+	@Test
+	void rejectsUploadsOnceQueueIsFull() throws Exception {
+		TranscriptJobService jobs = new TranscriptJobService(pool, sessions, null, null,
+				new TranscriptMetrics(new SimpleMeterRegistry(), false), 1, Duration.ofMinutes(1), Duration.ofSeconds(7));
+
+		// Hold the only worker so the first job stays queued
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> blocker = pool.submit(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		});
+
+		TranscriptJob queued = jobs.submit("a.pdf", "not a pdf".getBytes(), List.of(), List.of());
+		assertEquals(TranscriptJob.State.QUEUED, queued.getStatus().state());
+		assertEquals(1, jobs.getPendingCount());
+		assertThrows(RejectedExecutionException.class, () -> jobs.submit("b.pdf", new byte[0], List.of(), List.of()));
+
+		release.countDown();
+		blocker.join();
+		while (!queued.getStatus().finished()) {
+			Thread.sleep(10);
+		}
+		assertEquals(TranscriptJob.State.FAILED, queued.getStatus().state());
+		assertEquals(0, jobs.getPendingCount());
+		assertNotNull(jobs.submit("c.pdf", new byte[0], List.of(), List.of()));
+	}
+
+	@Test
+	void stalledSubscriberHoldsUpNeitherTheWorkerNorStatus() throws Exception {
+		TranscriptJob job = new TranscriptJob("job", "a.pdf", true);
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<TranscriptJob.State> sent = new CopyOnWriteArrayList<>();
+		CountDownLatch completed = new CountDownLatch(1);
+		SseEmitter emitter = new SseEmitter() {
+			@Override
+			public void send(SseEventBuilder builder) throws java.io.IOException {
+				// Stalls like a client whose TCP window is full
+				sending.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+					if (data.getData() instanceof TranscriptJob.Status status) {
+						sent.add(status.state());
+					}
+				}
+			}
+
+			@Override
+			public void complete() {
+				completed.countDown();
+			}
+		};
+		job.subscribe(emitter);
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+		// The worker moves the job all the way along while the first send is still stuck
+		Thread worker = Thread.ofPlatform().start(() -> {
+			job.parsing();
+			job.parsed("session", 3);
+			job.evaluated();
+		});
+		try {
+			worker.join(5000);
+			assertFalse(worker.isAlive());
+			assertEquals(TranscriptJob.State.EVALUATED, job.getStatus().state());
+		} finally {
+			release.countDown();
+		}
+
+		assertTrue(completed.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(TranscriptJob.State.QUEUED, TranscriptJob.State.PARSING, TranscriptJob.State.PARSED,
+				TranscriptJob.State.EVALUATED), sent);
+	}
+
+}